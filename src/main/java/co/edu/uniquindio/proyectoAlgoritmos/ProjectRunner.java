@@ -3,28 +3,37 @@ package co.edu.uniquindio.proyectoAlgoritmos;
 import co.edu.uniquindio.proyectoAlgoritmos.dto.ProcessingResultDto;
 import co.edu.uniquindio.proyectoAlgoritmos.service.DataUnificationService;
 import co.edu.uniquindio.proyectoAlgoritmos.service.SortingAnalysisService;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.OutputFileWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.PrintWriter;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import javax.imageio.ImageIO;
 
 @Component
+@Profile("!loadtest")
 @Slf4j
 @RequiredArgsConstructor
 public class ProjectRunner implements CommandLineRunner {
 
     private final DataUnificationService dataUnificationService;
     private final SortingAnalysisService sortingAnalysisService;
+    private final OutputFileWriter outputFileWriter;
+
+    @Value("${app.file-storage.output-path:src/main/resources/data/output}")
+    private String outputPath;
 
     @Override
     public void run(String... args) throws Exception {
@@ -53,16 +62,16 @@ public class ProjectRunner implements CommandLineRunner {
         System.out.println("\n=== TOP 15 AUTORES POR APARICIONES ===");
         topAuthors.forEach(a -> System.out.printf("   • %-30s %d%n", a.getKey(), a.getValue()));
 
-        generateAuthorsBarChart(topAuthors, "src/main/resources/data/output/top_authors.png");
-        exportTopAuthorsToCsv(topAuthors, "src/main/resources/data/output/top_authors.csv");
+        generateAuthorsBarChart(topAuthors, Path.of(outputPath, "top_authors.png"));
+        exportTopAuthorsToCsv(topAuthors, Path.of(outputPath, "top_authors.csv"));
 
         log.info("✅ Comparativa autores: top_authors.png y top_authors.csv generados");
 
         // Guardar gráfico
-        generateBarChart(sortingTimes, "src/main/resources/data/output/sorting_times.png");
+        generateBarChart(sortingTimes, Path.of(outputPath, "sorting_times.png"));
 
         // Guardar CSV
-        exportSortingTimesToCsv(sortingTimes, "src/main/resources/data/output/sorting_times.csv");
+        exportSortingTimesToCsv(sortingTimes, Path.of(outputPath, "sorting_times.csv"));
 
         log.info("✅ Resultados gráficos: sorting_times.png");
         log.info("✅ Resultados tabla: sorting_times.csv");
@@ -86,6 +95,7 @@ public class ProjectRunner implements CommandLineRunner {
             System.out.println("   • Registros de DBLP: " + stats.getRecordsFromSource1());
             System.out.println("   • Registros de OpenAlex: " + stats.getRecordsFromSource2());
             System.out.println("   • Porcentaje duplicados: " + String.format("%.2f%%", stats.getDuplicatePercentage()));
+            System.out.println("   • Nuevos desde la última ejecución: " + stats.getNewRecordsSinceLastRun());
         }
 
         System.out.println("\n📁 ARCHIVOS GENERADOS:");
@@ -125,7 +135,7 @@ public class ProjectRunner implements CommandLineRunner {
         return data;
     }
 
-    private void generateBarChart(Map<String, Long> sortingTimes, String outputPath) {
+    private void generateBarChart(Map<String, Long> sortingTimes, Path outputFile) {
         int width = 1000;
         int height = 600;
         int padding = 60;
@@ -165,27 +175,32 @@ public class ProjectRunner implements CommandLineRunner {
         g2d.dispose();
 
         try {
-            File outFile = new File(outputPath);
-            outFile.getParentFile().mkdirs();
-            ImageIO.write(chartImage, "png", outFile);
+            outputFileWriter.write(outputFile, out -> ImageIO.write(chartImage, "png", out));
         } catch (Exception e) {
             log.error("Error generando el diagrama de barras: {}", e.getMessage());
         }
     }
 
-    private void exportSortingTimesToCsv(Map<String, Long> sortingTimes, String outputPath) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(outputPath))) {
-            writer.println("Método de ordenamiento,Tamaño,Tiempo (ms)");
-            for (Map.Entry<String, Long> entry : sortingTimes.entrySet()) {
-                writer.printf("%s,%d,%.4f%n", entry.getKey(), 5000, entry.getValue() / 1_000_000.0);
-            }
+    private void exportSortingTimesToCsv(Map<String, Long> sortingTimes, Path outputFile) {
+        try {
+            outputFileWriter.write(outputFile, out -> {
+                // BufferedWriter y no PrintWriter: este último se traga los IOException de escritura
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                writer.write("Método de ordenamiento,Tamaño,Tiempo (ms)");
+                writer.newLine();
+                for (Map.Entry<String, Long> entry : sortingTimes.entrySet()) {
+                    writer.write(String.format("%s,%d,%.4f", entry.getKey(), 5000, entry.getValue() / 1_000_000.0));
+                    writer.newLine();
+                }
+                writer.flush();
+            });
         } catch (Exception e) {
             log.error("Error escribiendo CSV de resultados: {}", e.getMessage());
         }
     }
 
     private void generateAuthorsBarChart(
-            java.util.List<Map.Entry<String, Long>> topAuthors, String outputPath) {
+            java.util.List<Map.Entry<String, Long>> topAuthors, Path outputFile) {
 
         int width = 1000;
         int height = 600;
@@ -224,20 +239,24 @@ public class ProjectRunner implements CommandLineRunner {
         g2d.dispose();
 
         try {
-            File outFile = new File(outputPath);
-            outFile.getParentFile().mkdirs();
-            ImageIO.write(chartImage, "png", outFile);
+            outputFileWriter.write(outputFile, out -> ImageIO.write(chartImage, "png", out));
         } catch (Exception e) {
             log.error("Error generando gráfico de autores: {}", e.getMessage());
         }
     }
 
-    private void exportTopAuthorsToCsv(java.util.List<Map.Entry<String, Long>> topAuthors, String outputPath) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(outputPath))) {
-            writer.println("Autor,Apariciones");
-            for (Map.Entry<String, Long> entry : topAuthors) {
-                writer.printf("%s,%d%n", entry.getKey(), entry.getValue());
-            }
+    private void exportTopAuthorsToCsv(java.util.List<Map.Entry<String, Long>> topAuthors, Path outputFile) {
+        try {
+            outputFileWriter.write(outputFile, out -> {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                writer.write("Autor,Apariciones");
+                writer.newLine();
+                for (Map.Entry<String, Long> entry : topAuthors) {
+                    writer.write(entry.getKey() + "," + entry.getValue());
+                    writer.newLine();
+                }
+                writer.flush();
+            });
         } catch (Exception e) {
             log.error("Error guardando CSV de autores: {}", e.getMessage());
         }
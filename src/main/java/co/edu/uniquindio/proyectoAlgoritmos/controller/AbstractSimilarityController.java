@@ -0,0 +1,33 @@
+package co.edu.uniquindio.proyectoAlgoritmos.controller;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.RelatedPaperDto;
+import co.edu.uniquindio.proyectoAlgoritmos.service.AbstractSimilarityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/abstracts")
+@RequiredArgsConstructor
+public class AbstractSimilarityController {
+
+    private final AbstractSimilarityService abstractSimilarityService;
+
+    /**
+     * Ej: GET /proyecto-algoritmos/api/abstracts/related?recordId=https://openalex.org/W123&k=10
+     * o   GET /proyecto-algoritmos/api/abstracts/related?text=diffusion models for image synthesis
+     */
+    @GetMapping("/related")
+    public List<RelatedPaperDto> findRelated(@RequestParam(required = false) String recordId,
+                                             @RequestParam(required = false) String text,
+                                             @RequestParam(defaultValue = "10") int k) {
+        if (recordId != null && !recordId.isBlank()) {
+            return abstractSimilarityService.findRelated(recordId, k);
+        }
+        return abstractSimilarityService.findRelatedToText(text, k);
+    }
+}
@@ -0,0 +1,34 @@
+package co.edu.uniquindio.proyectoAlgoritmos.controller;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.RecordSearchResultDto;
+import co.edu.uniquindio.proyectoAlgoritmos.service.RecordQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/records")
+@RequiredArgsConstructor
+public class RecordQueryController {
+
+    private final RecordQueryService recordQueryService;
+
+    /**
+     * Ej: GET /proyecto-algoritmos/api/records/search?fromYear=2020&toYear=2023&source=OPENALEX&page=0&size=20
+     * Filtros opcionales: fromYear, toYear, venue, source, documentType, author; sort = corpus | year_asc | year_desc
+     */
+    @GetMapping("/search")
+    public RecordSearchResultDto search(@RequestParam(required = false) Integer fromYear,
+                                        @RequestParam(required = false) Integer toYear,
+                                        @RequestParam(required = false) String venue,
+                                        @RequestParam(required = false) String source,
+                                        @RequestParam(required = false) String documentType,
+                                        @RequestParam(required = false) String author,
+                                        @RequestParam(required = false) String sort,
+                                        @RequestParam(defaultValue = "0") int page,
+                                        @RequestParam(defaultValue = "20") int size) {
+        return recordQueryService.search(fromYear, toYear, venue, source, documentType, author, sort, page, size);
+    }
+}
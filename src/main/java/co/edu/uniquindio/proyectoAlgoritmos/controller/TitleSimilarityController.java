@@ -0,0 +1,29 @@
+package co.edu.uniquindio.proyectoAlgoritmos.controller;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.SimilarTitleDto;
+import co.edu.uniquindio.proyectoAlgoritmos.service.TitleSimilarityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/titles")
+@RequiredArgsConstructor
+public class TitleSimilarityController {
+
+    private final TitleSimilarityService titleSimilarityService;
+
+    /**
+     * Ej: GET /proyecto-algoritmos/api/titles/similar?title=generative adversarial networks&threshold=0.8&k=10
+     */
+    @GetMapping("/similar")
+    public List<SimilarTitleDto> findSimilar(@RequestParam String title,
+                                             @RequestParam(defaultValue = "0.8") double threshold,
+                                             @RequestParam(defaultValue = "10") int k) {
+        return titleSimilarityService.findSimilar(title, threshold, k);
+    }
+}
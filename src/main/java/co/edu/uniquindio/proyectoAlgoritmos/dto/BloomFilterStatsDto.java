@@ -0,0 +1,22 @@
+package co.edu.uniquindio.proyectoAlgoritmos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BloomFilterStatsDto {
+    private long recordsOffered;
+    private long distinctKeys;
+    private long repeatedKeys;
+    private int candidates;
+    private int definitelyUnique;
+    private double configuredFalsePositiveRate;
+    private double estimatedFalsePositiveRate;
+    private long memoryBytes;
+    private int stages;
+}
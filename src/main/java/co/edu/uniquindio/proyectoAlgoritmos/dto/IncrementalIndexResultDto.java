@@ -0,0 +1,19 @@
+package co.edu.uniquindio.proyectoAlgoritmos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncrementalIndexResultDto {
+    private int newRecords;
+    private int knownRecords;
+    private int clustersCreated;
+    private int clustersMerged;
+    private int totalClusters;
+    private long elapsedMillis;
+}
@@ -0,0 +1,20 @@
+package co.edu.uniquindio.proyectoAlgoritmos.dto;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionResultDto {
+    private List<ScientificRecord> records;
+    private List<ScientificRecord> duplicateCandidates;
+    private List<ScientificRecord> definitelyUnique;
+    private BloomFilterStatsDto screeningStats;
+}
@@ -0,0 +1,25 @@
+package co.edu.uniquindio.proyectoAlgoritmos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordSearchResultDto {
+    private int total;
+    private int page;
+    private int size;
+    private int totalPages;
+    private List<RecordSummaryDto> results;
+    private Map<Integer, Integer> yearFacets;
+    private Map<String, Integer> sourceFacets;
+    private Map<String, Integer> venueFacets;
+    private long elapsedMicros;
+}
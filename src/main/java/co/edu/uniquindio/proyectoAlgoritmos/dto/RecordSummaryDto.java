@@ -0,0 +1,23 @@
+package co.edu.uniquindio.proyectoAlgoritmos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordSummaryDto {
+    private String recordId;
+    private String title;
+    private List<String> authors;
+    private int year;
+    private String venue;
+    private String source;
+    private String documentType;
+    private String doi;
+}
@@ -0,0 +1,18 @@
+package co.edu.uniquindio.proyectoAlgoritmos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedPaperDto {
+    private String recordId;
+    private String title;
+    private int year;
+    private String source;
+    private double cosineSimilarity;
+}
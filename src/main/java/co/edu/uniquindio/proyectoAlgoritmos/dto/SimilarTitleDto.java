@@ -0,0 +1,21 @@
+package co.edu.uniquindio.proyectoAlgoritmos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarTitleDto {
+    private String recordId;
+    private String title;
+    private int year;
+    private String source;
+    private double score;
+    private double qgramJaccard;
+    private double tokenJaccard;
+    private double levenshtein;
+}
@@ -16,4 +16,5 @@ public class UnificationStatsDto {
     private int recordsFromSource1;
     private int recordsFromSource2;
     private double duplicatePercentage;
+    private int newRecordsSinceLastRun;
 }
\ No newline at end of file
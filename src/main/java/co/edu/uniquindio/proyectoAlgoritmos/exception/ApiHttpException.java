@@ -0,0 +1,26 @@
+package co.edu.uniquindio.proyectoAlgoritmos.exception;
+
+import java.io.IOException;
+
+/**
+ * Respuesta HTTP no exitosa de una API externa
+ */
+public class ApiHttpException extends IOException {
+
+    private final int statusCode;
+    private final String url;
+
+    public ApiHttpException(int statusCode, String url) {
+        super("HTTP " + statusCode + " en " + url);
+        this.statusCode = statusCode;
+        this.url = url;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+}
@@ -0,0 +1,155 @@
+package co.edu.uniquindio.proyectoAlgoritmos.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitador de tasa por host compartido por todos los readers (lo aplica {@link ApiHttpClient} antes
+ * de cada petición real). Cada host tiene un token bucket cuya tasa se ajusta con AIMD: cada respuesta
+ * correcta suma additive-increase / tasa (unas additive-increase peticiones/s más por segundo a plena
+ * tasa) hasta el máximo del host, y un 429 o 503 la multiplica por decrease-factor (una vez por ráfaga).
+ * Un Retry-After pausa el bucket del host hasta que se cumpla; las peticiones en espera salen después
+ * espaciadas a la tasa reducida.
+ */
+@Component
+@Slf4j
+public class AdaptiveRateLimiter {
+
+    private final double initialRate;
+    private final double minRate;
+    private final double defaultMaxRate;
+    private final double additiveIncrease;
+    private final double decreaseFactor;
+    private final double burst;
+
+    private final Map<String, Double> maxRates = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public AdaptiveRateLimiter(@Value("${api.rate-limit.initial-requests-per-second:4}") double initialRate,
+                               @Value("${api.rate-limit.min-requests-per-second:0.5}") double minRate,
+                               @Value("${api.rate-limit.max-requests-per-second:20}") double defaultMaxRate,
+                               @Value("${api.rate-limit.additive-increase:1}") double additiveIncrease,
+                               @Value("${api.rate-limit.decrease-factor:0.5}") double decreaseFactor,
+                               @Value("${api.rate-limit.burst:2}") double burst) {
+        this.minRate = Math.max(0.01, minRate);
+        this.defaultMaxRate = Math.max(this.minRate, defaultMaxRate);
+        this.initialRate = Math.max(this.minRate, initialRate);
+        this.additiveIncrease = Math.max(0, additiveIncrease);
+        this.decreaseFactor = Math.min(1, Math.max(0.05, decreaseFactor));
+        this.burst = Math.max(1, burst);
+    }
+
+    /**
+     * Tasa máxima (peticiones/s) hacia el host de la URL; los readers la fijan al iniciar
+     */
+    public void setMaxRate(String url, double requestsPerSecond) {
+        String host = SourceHealthRegistry.hostOf(url);
+        maxRates.put(host, Math.max(minRate, requestsPerSecond));
+        Bucket bucket = buckets.get(host);
+        if (bucket != null) {
+            synchronized (bucket) {
+                bucket.maxRate = maxRates.get(host);
+                bucket.rate = Math.min(bucket.rate, bucket.maxRate);
+            }
+        }
+    }
+
+    /**
+     * Reserva un turno para el host y duerme hasta que llegue
+     */
+    public void acquire(String host) throws InterruptedException {
+        long wait = bucket(host).reserve();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    public void onSuccess(String host) {
+        Bucket bucket = bucket(host);
+        synchronized (bucket) {
+            bucket.rate = Math.min(bucket.maxRate, bucket.rate + additiveIncrease / bucket.rate);
+        }
+    }
+
+    /**
+     * Respuesta 429/503: reduce la tasa del host y, si hay Retry-After, lo pausa
+     * @param retryAfterNanos espera pedida por el servidor (0 si no la indicó)
+     */
+    public void onThrottle(String host, long retryAfterNanos) {
+        Bucket bucket = bucket(host);
+        synchronized (bucket) {
+            long now = System.nanoTime();
+            // Las respuestas de peticiones ya en vuelo pertenecen a la misma ráfaga: una sola reducción
+            if (now - bucket.lastDecrease > (long) (TimeUnit.SECONDS.toNanos(1) / bucket.rate)) {
+                double previous = bucket.rate;
+                bucket.rate = Math.max(minRate, bucket.rate * decreaseFactor);
+                bucket.lastDecrease = now;
+                log.info("Límite de tasa para {}: {} -> {} peticiones/s", host,
+                        format(previous), format(bucket.rate));
+            }
+            if (retryAfterNanos > 0) {
+                bucket.nextRefill = Math.max(bucket.nextRefill, now + retryAfterNanos);
+                bucket.tokens = Math.min(bucket.tokens, 0);
+            }
+        }
+    }
+
+    public double getRate(String host) {
+        Bucket bucket = buckets.get(host);
+        if (bucket == null) return initialRate;
+        synchronized (bucket) {
+            return bucket.rate;
+        }
+    }
+
+    private Bucket bucket(String host) {
+        return buckets.computeIfAbsent(host, h -> {
+            double maxRate = maxRates.getOrDefault(h, defaultMaxRate);
+            return new Bucket(Math.min(initialRate, maxRate), maxRate);
+        });
+    }
+
+    private static String format(double rate) {
+        return String.format(Locale.ROOT, "%.2f", rate);
+    }
+
+    private final class Bucket {
+        private double rate;
+        private double maxRate;
+        // Puede quedar negativo: son turnos ya reservados por hilos que esperan
+        private double tokens;
+        // Instante desde el que se acumulan tokens (en el futuro durante una pausa por Retry-After)
+        private long nextRefill = System.nanoTime();
+        private long lastDecrease;
+
+        private Bucket(double rate, double maxRate) {
+            this.rate = rate;
+            this.maxRate = maxRate;
+            this.tokens = burst;
+            this.lastDecrease = nextRefill - TimeUnit.SECONDS.toNanos(60);
+        }
+
+        /**
+         * @return nanosegundos que el llamador debe esperar antes de su petición
+         */
+        private synchronized long reserve() {
+            long now = System.nanoTime();
+            if (now > nextRefill) {
+                tokens = Math.min(burst, tokens + (now - nextRefill) * rate / TimeUnit.SECONDS.toNanos(1));
+                nextRefill = now;
+            }
+            tokens -= 1;
+            long wait = nextRefill - now;
+            if (tokens < 0) {
+                wait += (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+            }
+            return wait;
+        }
+    }
+}
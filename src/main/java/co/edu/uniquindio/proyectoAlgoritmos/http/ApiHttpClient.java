@@ -0,0 +1,273 @@
+package co.edu.uniquindio.proyectoAlgoritmos.http;
+
+import co.edu.uniquindio.proyectoAlgoritmos.exception.ApiHttpException;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.HttpResponseCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Cliente HTTP compartido por todos los {@link co.edu.uniquindio.proyectoAlgoritmos.reader.ApiDatasetReader}.
+ * Usa un único {@link HttpClient} (HTTP/2 con respaldo a HTTP/1.1 y conexiones keep-alive reutilizadas),
+ * negocia gzip/deflate y descomprime la respuesta, aplica tiempos límite de conexión y de respuesta
+ * y limita las peticiones simultáneas a max-connections.
+ * Las respuestas pasan por {@link HttpResponseCache}: las vigentes se sirven desde disco, las vencidas
+ * se revalidan con peticiones condicionales y en modo offline no se usa la red.
+ * El resultado de cada petición real se reporta a {@link SourceHealthRegistry}; si el circuito del
+ * host está abierto la petición falla de inmediato sin usar la red.
+ * Cada petición real pasa por {@link AdaptiveRateLimiter} y los errores de red, 5xx y 429 se
+ * reintentan hasta max-retries veces con backoff exponencial con jitter.
+ */
+@Component
+@Slf4j
+public class ApiHttpClient {
+
+    private final HttpClient httpClient;
+    private final Semaphore connectionPermits;
+    private final Duration requestTimeout;
+    private final boolean compression;
+    private final String userAgent;
+    private final HttpResponseCache cache;
+    private final SourceHealthRegistry healthRegistry;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final int maxRetries;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+
+    public ApiHttpClient(HttpResponseCache cache,
+                         SourceHealthRegistry healthRegistry,
+                         AdaptiveRateLimiter rateLimiter,
+                         @Value("${api.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+                         @Value("${api.http.request-timeout-ms:30000}") long requestTimeoutMs,
+                         @Value("${api.http.max-connections:8}") int maxConnections,
+                         @Value("${api.http.compression:true}") boolean compression,
+                         @Value("${api.http.user-agent:proyecto-algoritmos/1.0}") String userAgent,
+                         @Value("${api.http.max-retries:3}") int maxRetries,
+                         @Value("${api.http.backoff-base-ms:500}") long backoffBaseMillis,
+                         @Value("${api.http.backoff-max-ms:30000}") long backoffMaxMillis) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.connectionPermits = new Semaphore(Math.max(1, maxConnections), true);
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.compression = compression;
+        this.userAgent = userAgent;
+        this.cache = cache;
+        this.healthRegistry = healthRegistry;
+        this.rateLimiter = rateLimiter;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoffBaseMillis = Math.max(1, backoffBaseMillis);
+        this.backoffMaxMillis = Math.max(this.backoffBaseMillis, backoffMaxMillis);
+    }
+
+    /**
+     * Manejador del cuerpo de la respuesta (ya descomprimido)
+     */
+    @FunctionalInterface
+    public interface BodyHandler<T> {
+        T handle(InputStream body) throws IOException;
+    }
+
+    /**
+     * Ejecuta un GET y entrega el cuerpo en streaming al manejador; el flujo se cierra al terminar
+     * @throws ApiHttpException si la respuesta no es 2xx
+     */
+    public <T> T get(String url, BodyHandler<T> handler) throws IOException {
+        return get(url, handler, true, false);
+    }
+
+    public String getString(String url) throws IOException {
+        return get(url, body -> new String(body.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Petición de sondeo: siempre va a la red (sin caché), así refleja el estado actual de la API.
+     * Con el circuito semiabierto el sondeo es la prueba que ya reservó
+     * {@link SourceHealthRegistry#isAvailable}, así que su primer intento no pide permiso al circuito.
+     */
+    public String probe(String url) throws IOException {
+        return get(url, body -> new String(body.readAllBytes(), StandardCharsets.UTF_8), false, true);
+    }
+
+    private <T> T get(String url, BodyHandler<T> handler, boolean useCache, boolean trial) throws IOException {
+        HttpResponseCache.Entry cached = useCache ? cache.lookup(url) : null;
+        if (useCache && cache.isOffline()) {
+            if (cached == null) {
+                throw new IOException("Modo offline: no hay respuesta en caché para " + url);
+            }
+            return replay(cached, handler);
+        }
+        if (cached != null && cache.isFresh(cached)) {
+            return replay(cached, handler);
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("User-Agent", userAgent)
+                .header("Accept", "application/json")
+                .GET();
+        if (compression) {
+            request.header("Accept-Encoding", "gzip, deflate");
+        }
+        if (cached != null) {
+            if (cached.etag() != null) request.header("If-None-Match", cached.etag());
+            if (cached.lastModified() != null) request.header("If-Modified-Since", cached.lastModified());
+        }
+
+        String host = SourceHealthRegistry.hostOf(url);
+        HttpResponse<InputStream> response;
+        try {
+            response = send(request.build(), host, url, trial);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrumpido descargando " + url);
+        }
+
+        try (InputStream body = decode(response)) {
+            if (response.statusCode() == 304 && cached != null) {
+                log.debug("Caché HTTP revalidada: {}", url);
+                cached = cache.revalidated(cached);
+            } else if (response.statusCode() / 100 != 2) {
+                throw new ApiHttpException(response.statusCode(), url);
+            } else if (!useCache || !cache.isEnabled()) {
+                return handler.handle(body);
+            } else {
+                try (HttpResponseCache.CacheWriter writer = cache.writer(url,
+                        response.headers().firstValue("ETag").orElse(null),
+                        response.headers().firstValue("Last-Modified").orElse(null))) {
+                    T result = handler.handle(writer.tee(body));
+                    writer.commit();
+                    return result;
+                }
+            }
+        } finally {
+            connectionPermits.release();
+        }
+        return replay(cached, handler);
+    }
+
+    /**
+     * Envía la petición respetando el limitador de tasa del host y reintenta los errores de red,
+     * 5xx y 429 con backoff exponencial con jitter (al menos el Retry-After del servidor).
+     * Retorna con un permiso de conexión tomado, que el llamador libera al terminar de leer el cuerpo.
+     * @param trial la petición ya es la prueba del circuito semiabierto: su primer intento no
+     *              consulta {@link SourceHealthRegistry#allowRequest} (los reintentos sí)
+     */
+    private HttpResponse<InputStream> send(HttpRequest request, String host, String url, boolean trial)
+            throws IOException, InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            if (!(trial && attempt == 0) && !healthRegistry.allowRequest(host)) {
+                throw new IOException("Circuito abierto para " + host + ", petición omitida");
+            }
+            rateLimiter.acquire(host);
+            connectionPermits.acquire();
+
+            long retryAfterNanos;
+            String reason;
+            try {
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                int status = response.statusCode();
+                if (status != 429 && status < 500) {
+                    healthRegistry.recordSuccess(host);
+                    rateLimiter.onSuccess(host);
+                    return response;
+                }
+
+                // El 429 lo regula el limitador; al circuit breaker solo llegan los fallos del servidor
+                retryAfterNanos = retryAfterNanos(response);
+                reason = "HTTP " + status;
+                if (status == 429 || status == 503) {
+                    rateLimiter.onThrottle(host, retryAfterNanos);
+                }
+                if (status != 429) {
+                    healthRegistry.recordFailure(host, reason);
+                }
+                if (attempt >= maxRetries) {
+                    return response;
+                }
+                response.body().close();
+            } catch (InterruptedIOException e) {
+                connectionPermits.release();
+                throw e;
+            } catch (IOException e) {
+                connectionPermits.release();
+                healthRegistry.recordFailure(host, e.toString());
+                if (attempt >= maxRetries) throw e;
+                retryAfterNanos = 0;
+                reason = e.toString();
+                sleepBeforeRetry(url, attempt, retryAfterNanos, reason);
+                continue;
+            } catch (RuntimeException | InterruptedException e) {
+                connectionPermits.release();
+                throw e;
+            }
+
+            connectionPermits.release();
+            sleepBeforeRetry(url, attempt, retryAfterNanos, reason);
+        }
+    }
+
+    private void sleepBeforeRetry(String url, int attempt, long retryAfterNanos, String reason)
+            throws InterruptedException {
+        long ceiling = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(attempt, 20));
+        long backoff = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        long delay = Math.min(backoffMaxMillis, Math.max(backoff, TimeUnit.NANOSECONDS.toMillis(retryAfterNanos)));
+        log.debug("Reintento {}/{} de {} en {} ms ({})", attempt + 1, maxRetries, url, delay, reason);
+        Thread.sleep(delay);
+    }
+
+    /**
+     * Retry-After en segundos o como fecha HTTP; 0 si no viene o no se entiende
+     */
+    private static long retryAfterNanos(HttpResponse<?> response) {
+        String value = response.headers().firstValue("Retry-After").orElse(null);
+        if (value == null || value.isBlank()) return 0;
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                long millis = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant().toEpochMilli() - System.currentTimeMillis();
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    private <T> T replay(HttpResponseCache.Entry cached, BodyHandler<T> handler) throws IOException {
+        try (InputStream body = cache.open(cached)) {
+            return handler.handle(body);
+        }
+    }
+
+    private InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("").trim().toLowerCase();
+        InputStream body = response.body();
+        return switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, 1 << 16);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> body;
+        };
+    }
+}
@@ -0,0 +1,202 @@
+package co.edu.uniquindio.proyectoAlgoritmos.http;
+
+import co.edu.uniquindio.proyectoAlgoritmos.reader.ApiDatasetReader;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.HttpResponseCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Estado de salud por host de API con circuit breaker.
+ * {@link ApiHttpClient} reporta el resultado de cada petición real (salud pasiva): los errores de red
+ * y 5xx cuentan como fallo (los 429 los regula {@link AdaptiveRateLimiter}) y failure-threshold
+ * fallos seguidos abren el circuito. Con el circuito
+ * abierto las peticiones fallan de inmediato; pasado open-seconds el circuito pasa a semiabierto y
+ * deja pasar una sola prueba: el sondeo de {@link #isAvailable(ApiDatasetReader)} o la primera
+ * petición real. Mientras esa prueba no termina las demás se tratan como con el circuito abierto;
+ * su resultado cierra o vuelve a abrir el circuito (si nunca informa, p. ej. por un 429, tras otro
+ * open-seconds se permite otra prueba). Un éxito (pasivo o sondeo) vale por probe-ttl-seconds,
+ * así que las descargas seguidas no vuelven a sondear la API.
+ */
+@Component
+@Slf4j
+public class SourceHealthRegistry {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final HttpResponseCache cache;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final long probeTtlMillis;
+    private final long probeTimeoutMillis;
+
+    private final Map<String, Health> hosts = new ConcurrentHashMap<>();
+    private final ExecutorService probeExecutor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "api-health-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SourceHealthRegistry(HttpResponseCache cache,
+                                @Value("${api.health.failure-threshold:3}") int failureThreshold,
+                                @Value("${api.health.open-seconds:60}") long openSeconds,
+                                @Value("${api.health.probe-ttl-seconds:300}") long probeTtlSeconds,
+                                @Value("${api.health.probe-timeout-ms:5000}") long probeTimeoutMillis) {
+        this.cache = cache;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openSeconds * 1000;
+        this.probeTtlMillis = probeTtlSeconds * 1000;
+        this.probeTimeoutMillis = probeTimeoutMillis;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    /**
+     * Indica si conviene descargar desde el reader. Solo sondea la API si no hay un resultado
+     * reciente o si el circuito abierto cumplió su tiempo de espera.
+     */
+    public boolean isAvailable(ApiDatasetReader reader) {
+        if (cache.isOffline()) return true; // las respuestas salen de la caché
+
+        String host = hostOf(reader.getBaseUrl());
+        Health health = health(host);
+        synchronized (health) {
+            long now = System.currentTimeMillis();
+            if (health.state == State.CLOSED && now - health.lastSuccessAt < probeTtlMillis) {
+                return true;
+            }
+            if (health.state != State.CLOSED && !tryStartTrialLocked(health, host, now)) {
+                log.debug("Circuito abierto para {} (o con una prueba en curso), se omite la descarga", host);
+                return false;
+            }
+        }
+
+        boolean available = probe(reader);
+        if (available) {
+            recordSuccess(host);
+        } else {
+            open(host, "sondeo fallido");
+        }
+        return available;
+    }
+
+    /**
+     * Peticiones permitidas hacia el host: todas con el circuito cerrado; con el circuito abierto
+     * ninguna, salvo la única prueba del estado semiabierto, que debe informar su resultado con
+     * {@link #recordSuccess} o {@link #recordFailure}
+     */
+    public boolean allowRequest(String host) {
+        Health health = hosts.get(host);
+        if (health == null) return true;
+        synchronized (health) {
+            return health.state == State.CLOSED || tryStartTrialLocked(health, host, System.currentTimeMillis());
+        }
+    }
+
+    public void recordSuccess(String host) {
+        Health health = health(host);
+        synchronized (health) {
+            if (health.state != State.CLOSED) {
+                log.info("Circuito cerrado para {}", host);
+            }
+            health.state = State.CLOSED;
+            health.trialInFlight = false;
+            health.consecutiveFailures = 0;
+            health.lastSuccessAt = System.currentTimeMillis();
+        }
+    }
+
+    public void recordFailure(String host, String reason) {
+        Health health = health(host);
+        synchronized (health) {
+            health.consecutiveFailures++;
+            if (health.state == State.HALF_OPEN || health.consecutiveFailures >= failureThreshold) {
+                openLocked(health, host, reason);
+            }
+        }
+    }
+
+    public State stateOf(ApiDatasetReader reader) {
+        Health health = hosts.get(hostOf(reader.getBaseUrl()));
+        if (health == null) return State.CLOSED;
+        synchronized (health) {
+            return health.state;
+        }
+    }
+
+    private void open(String host, String reason) {
+        Health health = health(host);
+        synchronized (health) {
+            openLocked(health, host, reason);
+        }
+    }
+
+    private void openLocked(Health health, String host, String reason) {
+        if (health.state != State.OPEN) {
+            log.warn("Circuito abierto para {} durante {} s ({})", host, openMillis / 1000, reason);
+        }
+        health.state = State.OPEN;
+        health.trialInFlight = false;
+        health.openedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Reserva la prueba del estado semiabierto: pasa de abierto a semiabierto cuando se cumple
+     * open-seconds, y en semiabierto solo la concede si no hay otra en curso (o si la anterior lleva
+     * open-seconds sin informar su resultado)
+     */
+    private boolean tryStartTrialLocked(Health health, String host, long now) {
+        if (health.state == State.OPEN) {
+            if (now - health.openedAt < openMillis) return false;
+            health.state = State.HALF_OPEN;
+            log.info("Circuito semiabierto para {}: probando", host);
+        } else if (health.trialInFlight && now - health.trialStartedAt < openMillis) {
+            return false;
+        }
+        health.trialInFlight = true;
+        health.trialStartedAt = now;
+        return true;
+    }
+
+    private boolean probe(ApiDatasetReader reader) {
+        Future<Boolean> future = probeExecutor.submit(reader::isApiAvailable);
+        try {
+            return future.get(probeTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Sondeo de {} sin respuesta en {} ms", reader.getSourceName(), probeTimeoutMillis);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    private Health health(String host) {
+        return hosts.computeIfAbsent(host, h -> new Health());
+    }
+
+    static String hostOf(String url) {
+        String host = URI.create(url).getHost();
+        return host != null ? host.toLowerCase() : url;
+    }
+
+    private static final class Health {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private long lastSuccessAt;
+        private boolean trialInFlight; // solo en HALF_OPEN
+        private long trialStartedAt;
+    }
+}
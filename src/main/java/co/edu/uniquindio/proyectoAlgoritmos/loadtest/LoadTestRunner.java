@@ -0,0 +1,169 @@
+package co.edu.uniquindio.proyectoAlgoritmos.loadtest;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.ProcessingResultDto;
+import co.edu.uniquindio.proyectoAlgoritmos.dto.UnificationStatsDto;
+import co.edu.uniquindio.proyectoAlgoritmos.service.DataUnificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prueba de carga de la ingesta (perfil loadtest): ejecuta el flujo completo de
+ * {@link DataUnificationService#processAndUnifyData(String)} contra {@link MockApiServer}
+ * y reporta registros por segundo, percentiles de latencia de las páginas servidas y memoria heap.
+ * Las primeras iteraciones de calentamiento no entran en el resumen.
+ */
+@Component
+@Profile("loadtest")
+@Slf4j
+@RequiredArgsConstructor
+public class LoadTestRunner implements CommandLineRunner {
+
+    private final MockApiServer mockServer;
+    private final DataUnificationService dataUnificationService;
+    private final ApplicationContext applicationContext;
+
+    @Value("${loadtest.query:generative artificial intelligence}")
+    private String query;
+
+    @Value("${loadtest.iterations:3}")
+    private int iterations;
+
+    @Value("${loadtest.warmup-iterations:1}")
+    private int warmupIterations;
+
+    @Value("${loadtest.report-path:src/main/resources/data/output/loadtest_report.csv}")
+    private String reportPath;
+
+    @Value("${loadtest.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) throws Exception {
+        log.info("=== PRUEBA DE CARGA DE INGESTA ({} iteraciones + {} de calentamiento) ===",
+                iterations, warmupIterations);
+
+        List<IterationResult> results = new ArrayList<>();
+        for (int i = 0; i < warmupIterations + iterations; i++) {
+            boolean warmup = i < warmupIterations;
+            IterationResult result = runIteration(i + 1, warmup);
+            log.info("{}", result.describe());
+            if (!warmup) {
+                results.add(result);
+            }
+        }
+
+        printSummary(results);
+        writeReport(results);
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private IterationResult runIteration(int number, boolean warmup) throws Exception {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        mockServer.resetStats();
+
+        long start = System.nanoTime();
+        ProcessingResultDto processingResult = dataUnificationService.processAndUnifyData(query).get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        long heapAfter = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        UnificationStatsDto stats = processingResult.getStats();
+
+        return new IterationResult(
+                number,
+                warmup,
+                String.valueOf(processingResult.getStatus()),
+                seconds,
+                stats != null ? stats.getTotalRecordsProcessed() : 0,
+                stats != null ? stats.getUniqueRecords() : 0,
+                stats != null ? stats.getDuplicatesFound() : 0,
+                mockServer.getPagesServed(),
+                mockServer.getRateLimited(),
+                mockServer.getErrors(),
+                mockServer.latencyPercentile(50),
+                mockServer.latencyPercentile(90),
+                mockServer.latencyPercentile(99),
+                mockServer.latencyPercentile(100),
+                peakHeap / (1024.0 * 1024.0),
+                heapAfter / (1024.0 * 1024.0));
+    }
+
+    private void printSummary(List<IterationResult> results) {
+        if (results.isEmpty()) return;
+
+        double recordsPerSecond = results.stream().mapToDouble(IterationResult::recordsPerSecond).average().orElse(0);
+        double seconds = results.stream().mapToDouble(IterationResult::seconds).average().orElse(0);
+        double p50 = results.stream().mapToDouble(IterationResult::p50Ms).average().orElse(0);
+        double p99 = results.stream().mapToDouble(IterationResult::p99Ms).average().orElse(0);
+        double peakHeap = results.stream().mapToDouble(IterationResult::peakHeapMb).max().orElse(0);
+
+        System.out.println("\n=== RESUMEN PRUEBA DE CARGA ===");
+        System.out.printf(Locale.ROOT, "   • Iteraciones medidas: %d%n", results.size());
+        System.out.printf(Locale.ROOT, "   • Tiempo medio: %.2f s%n", seconds);
+        System.out.printf(Locale.ROOT, "   • Throughput medio: %.1f registros/s%n", recordsPerSecond);
+        System.out.printf(Locale.ROOT, "   • Latencia de página media: p50 %.1f ms, p99 %.1f ms%n", p50, p99);
+        System.out.printf(Locale.ROOT, "   • Pico de heap: %.1f MB%n", peakHeap);
+    }
+
+    private void writeReport(List<IterationResult> results) {
+        File file = new File(reportPath);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            writer.println("iteration,status,seconds,records,unique,duplicates,records_per_second,pages,"
+                    + "rate_limited,errors,p50_ms,p90_ms,p99_ms,max_ms,peak_heap_mb,heap_after_mb");
+            for (IterationResult r : results) {
+                writer.printf(Locale.ROOT, "%d,%s,%.3f,%d,%d,%d,%.1f,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                        r.number(), r.status(), r.seconds(), r.records(), r.unique(), r.duplicates(),
+                        r.recordsPerSecond(), r.pages(), r.rateLimited(), r.errors(),
+                        r.p50Ms(), r.p90Ms(), r.p99Ms(), r.maxMs(), r.peakHeapMb(), r.heapAfterMb());
+            }
+            log.info("Reporte de la prueba de carga: {}", file.getPath());
+        } catch (Exception e) {
+            log.error("Error escribiendo el reporte de la prueba de carga: {}", e.getMessage());
+        }
+    }
+
+    private record IterationResult(int number, boolean warmup, String status, double seconds,
+                                   int records, int unique, int duplicates,
+                                   long pages, long rateLimited, long errors,
+                                   double p50Ms, double p90Ms, double p99Ms, double maxMs,
+                                   double peakHeapMb, double heapAfterMb) {
+
+        double recordsPerSecond() {
+            return seconds > 0 ? records / seconds : 0;
+        }
+
+        String describe() {
+            return String.format(Locale.ROOT,
+                    "%s %d [%s]: %d registros (%d únicos) en %.2f s = %.1f registros/s | %d páginas, "
+                            + "latencia p50 %.1f / p90 %.1f / p99 %.1f / máx %.1f ms | 429: %d, 5xx: %d | heap pico %.1f MB",
+                    warmup ? "Calentamiento" : "Iteración", number, status, records, unique, seconds,
+                    recordsPerSecond(), pages, p50Ms, p90Ms, p99Ms, maxMs, rateLimited, errors, peakHeapMb);
+        }
+    }
+}
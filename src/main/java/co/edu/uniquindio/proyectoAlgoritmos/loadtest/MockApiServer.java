@@ -0,0 +1,398 @@
+package co.edu.uniquindio.proyectoAlgoritmos.loadtest;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servidor HTTP embebido que imita las APIs de DBLP (/dblp/search/publ/api, paginación por offset)
+ * y OpenAlex (/openalex/works, paginación por cursor) con páginas sintéticas deterministas.
+ * Permite configurar latencia, tamaño máximo de página, respuestas 429 y errores 500 inyectados.
+ * Una fracción de los works de OpenAlex repite DOI y título de un hit de DBLP para que la
+ * unificación tenga duplicados que detectar. Registra la latencia de cada página servida.
+ */
+@Component
+@Profile("loadtest")
+@Slf4j
+public class MockApiServer {
+
+    private static final String[] TOPICS = {
+            "generative adversarial networks", "large language models", "diffusion models",
+            "variational autoencoders", "neural machine translation", "reinforcement learning"};
+    private static final String[] WORDS = {
+            "we", "propose", "a", "novel", "approach", "for", "generative", "models", "that", "improves",
+            "quality", "and", "efficiency", "experiments", "show", "results", "on", "benchmark", "datasets",
+            "with", "state", "of", "the", "art", "performance", "training", "data", "evaluation"};
+    private static final int AUTHOR_POOL = 5000;
+
+    @Value("${loadtest.mock.port:18080}")
+    private int port;
+
+    @Value("${loadtest.mock.threads:16}")
+    private int threads;
+
+    @Value("${loadtest.mock.latency-ms:50}")
+    private long latencyMs;
+
+    @Value("${loadtest.mock.latency-jitter-ms:20}")
+    private long latencyJitterMs;
+
+    @Value("${loadtest.mock.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${loadtest.mock.dblp-records:5000}")
+    private int dblpRecords;
+
+    // Works por cada combinación distinta de filtro/búsqueda (cada shard recibe datos distintos)
+    @Value("${loadtest.mock.openalex-records-per-query:2000}")
+    private int openAlexRecordsPerQuery;
+
+    @Value("${loadtest.mock.duplicate-ratio:0.3}")
+    private double duplicateRatio;
+
+    @Value("${loadtest.mock.rate-limit-rate:0.0}")
+    private double rateLimitRate;
+
+    @Value("${loadtest.mock.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${loadtest.mock.gzip:true}")
+    private boolean gzip;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final AtomicLong pagesServed = new AtomicLong();
+    private final AtomicLong recordsServed = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private long[] latencies = new long[1024];
+    private int latencyCount;
+
+    @PostConstruct
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 256);
+        executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        server.setExecutor(executor);
+        server.createContext("/dblp/search/publ/api", exchange -> handle(exchange, this::writeDblpPage));
+        server.createContext("/openalex/works", exchange -> handle(exchange, this::writeOpenAlexPage));
+        server.start();
+        log.info("Servidor mock de APIs en http://127.0.0.1:{} (latencia {}±{} ms, 429 {}, errores {})",
+                port, latencyMs, latencyJitterMs, rateLimitRate, errorRate);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) server.stop(0);
+        if (executor != null) executor.shutdownNow();
+    }
+
+    public String getDblpBaseUrl() {
+        return "http://127.0.0.1:" + port + "/dblp/search/publ/api";
+    }
+
+    public String getOpenAlexBaseUrl() {
+        return "http://127.0.0.1:" + port + "/openalex/works";
+    }
+
+    public synchronized void resetStats() {
+        pagesServed.set(0);
+        recordsServed.set(0);
+        rateLimited.set(0);
+        errors.set(0);
+        latencyCount = 0;
+    }
+
+    public long getPagesServed() {
+        return pagesServed.get();
+    }
+
+    public long getRecordsServed() {
+        return recordsServed.get();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Percentil (0-100) de la latencia de las páginas servidas desde el último reset, en ms
+     */
+    public synchronized double latencyPercentile(double percentile) {
+        if (latencyCount == 0) return 0;
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * latencyCount) - 1;
+        return sorted[Math.max(0, Math.min(latencyCount - 1, index))] / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface PageWriter {
+        int write(Map<String, String> query, JsonGenerator generator) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, PageWriter pageWriter) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            long delay = latencyMs + (latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(-latencyJitterMs, latencyJitterMs + 1) : 0);
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < rateLimitRate) {
+                rateLimited.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            if (roll < rateLimitRate + errorRate) {
+                errors.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            boolean compress = gzip && String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")).contains("gzip");
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (compress) {
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, 0);
+
+            OutputStream body = compress ? new GZIPOutputStream(exchange.getResponseBody(), 1 << 16) : exchange.getResponseBody();
+            try (JsonGenerator generator = jsonFactory.createGenerator(body, JsonEncoding.UTF8)) {
+                recordsServed.addAndGet(pageWriter.write(query, generator));
+            }
+            pagesServed.incrementAndGet();
+            recordLatency(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        if (latencyCount == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencyCount * 2);
+        }
+        latencies[latencyCount++] = nanos;
+    }
+
+    // ========== DBLP ==========
+
+    private int writeDblpPage(Map<String, String> query, JsonGenerator generator) throws IOException {
+        int pageSize = Math.min(parseInt(query.get("h"), 30), maxPageSize);
+        int first = parseInt(query.get("f"), 0);
+        int end = Math.min(dblpRecords, first + pageSize);
+        int sent = Math.max(0, end - first);
+
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("result");
+        generator.writeObjectFieldStart("hits");
+        generator.writeStringField("@total", Integer.toString(dblpRecords));
+        generator.writeStringField("@sent", Integer.toString(sent));
+        generator.writeStringField("@first", Integer.toString(first));
+        if (sent > 0) {
+            generator.writeArrayFieldStart("hit");
+            for (int paper = first; paper < end; paper++) {
+                generator.writeStartObject();
+                generator.writeStringField("@id", Integer.toString(paper));
+                generator.writeObjectFieldStart("info");
+                generator.writeObjectFieldStart("authors");
+                generator.writeArrayFieldStart("author");
+                for (String author : authorsOf(paper)) {
+                    generator.writeStartObject();
+                    generator.writeStringField("text", author);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.writeStringField("title", titleOf(paper) + ".");
+                generator.writeStringField("venue", venueOf(paper));
+                generator.writeStringField("year", Integer.toString(yearOf(paper)));
+                generator.writeStringField("type", paper % 2 == 0 ? "Journal Articles" : "Conference and Workshop Papers");
+                generator.writeStringField("key", "synthetic/" + paper);
+                generator.writeStringField("doi", doiOf(paper));
+                generator.writeStringField("ee", "https://doi.org/" + doiOf(paper));
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndObject();
+        return sent;
+    }
+
+    // ========== OpenAlex ==========
+
+    private int writeOpenAlexPage(Map<String, String> query, JsonGenerator generator) throws IOException {
+        int pageSize = Math.min(parseInt(query.get("per_page"), 25), Math.min(200, maxPageSize));
+        String cursor = query.getOrDefault("cursor", "*");
+        int first = cursor.startsWith("o") ? parseInt(cursor.substring(1), 0) : 0;
+        int end = Math.min(openAlexRecordsPerQuery, first + pageSize);
+        int partition = Math.floorMod((query.getOrDefault("filter", "") + "|" + query.getOrDefault("search", "")).hashCode(), 1 << 20);
+        String select = query.get("select");
+        boolean withAbstract = select == null || select.contains("abstract_inverted_index");
+
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("meta");
+        generator.writeNumberField("count", openAlexRecordsPerQuery);
+        generator.writeNumberField("per_page", pageSize);
+        if (end < openAlexRecordsPerQuery) {
+            generator.writeStringField("next_cursor", "o" + end);
+        } else {
+            generator.writeNullField("next_cursor");
+        }
+        generator.writeEndObject();
+
+        generator.writeArrayFieldStart("results");
+        for (int index = first; index < end; index++) {
+            long work = ((long) partition << 32) | index;
+            int paper = sharedPaper(work);
+            generator.writeStartObject();
+            generator.writeStringField("id", "https://openalex.org/W" + work);
+            generator.writeStringField("doi", "https://doi.org/" + doiOf(paper));
+            generator.writeStringField("display_name", titleOf(paper));
+            generator.writeNumberField("publication_year", yearOf(paper));
+            generator.writeStringField("type", "article");
+            generator.writeNumberField("cited_by_count", paper % 97);
+            generator.writeArrayFieldStart("authorships");
+            for (String author : authorsOf(paper)) {
+                generator.writeStartObject();
+                generator.writeObjectFieldStart("author");
+                generator.writeStringField("display_name", author);
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("primary_location");
+            generator.writeStringField("landing_page_url", "https://example.org/paper/" + paper);
+            generator.writeObjectFieldStart("source");
+            generator.writeStringField("display_name", venueOf(paper));
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("open_access");
+            generator.writeNullField("oa_url");
+            generator.writeEndObject();
+            if (withAbstract) {
+                writeInvertedAbstract(generator, paper);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        return Math.max(0, end - first);
+    }
+
+    private void writeInvertedAbstract(JsonGenerator generator, int paper) throws IOException {
+        int length = 60 + paper % 120;
+        Map<String, StringBuilder> positions = new HashMap<>();
+        for (int position = 0; position < length; position++) {
+            String word = WORDS[(int) (mix(paper * 31L + position) % WORDS.length)];
+            StringBuilder list = positions.computeIfAbsent(word, k -> new StringBuilder());
+            if (list.length() > 0) list.append(',');
+            list.append(position);
+        }
+        generator.writeObjectFieldStart("abstract_inverted_index");
+        for (Map.Entry<String, StringBuilder> entry : positions.entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            generator.writeRawValue("[" + entry.getValue() + "]");
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Paper sintético de un work: una fracción duplicate-ratio reutiliza un paper de DBLP
+     */
+    private int sharedPaper(long work) {
+        long hash = mix(work);
+        boolean duplicate = dblpRecords > 0 && (hash >>> 11) * 0x1.0p-53 < duplicateRatio;
+        return duplicate
+                ? (int) (hash % dblpRecords)
+                : dblpRecords + (int) (Math.floorMod(hash, Integer.MAX_VALUE - dblpRecords));
+    }
+
+    // ========== Datos sintéticos deterministas ==========
+
+    private static String titleOf(int paper) {
+        return "Synthetic study " + paper + " of " + TOPICS[paper % TOPICS.length];
+    }
+
+    private static String doiOf(int paper) {
+        return "10.5555/synthetic." + paper;
+    }
+
+    private static int yearOf(int paper) {
+        return 2018 + paper % 8;
+    }
+
+    private static String venueOf(int paper) {
+        return paper % 3 == 0 ? "Proceedings of the Synthetic Conference" : "Journal of Synthetic Research";
+    }
+
+    private static String[] authorsOf(int paper) {
+        int count = 1 + paper % 4;
+        String[] authors = new String[count];
+        for (int i = 0; i < count; i++) {
+            authors[i] = "Author " + (mix(paper * 7L + i) % AUTHOR_POOL);
+        }
+        return authors;
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) & Long.MAX_VALUE;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) return query;
+        for (String parameter : rawQuery.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
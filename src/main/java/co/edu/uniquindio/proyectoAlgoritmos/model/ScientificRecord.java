@@ -58,23 +58,25 @@ public class ScientificRecord {
         this.firstAuthor = authors.isEmpty() ? "" : authors.get(0);
     }
 
-    public List<String> getAuthors() { return new ArrayList<>(authors); }
+    public List<String> getAuthors() { return authors != null ? new ArrayList<>(authors) : new ArrayList<>(); }
     public void setAuthors(List<String> authors) { 
         this.authors = new ArrayList<>(authors);
         this.firstAuthor = authors.isEmpty() ? "" : authors.get(0);
     }
 
-    public Map<String, String> getAdditionalFields() { return new HashMap<>(additionalFields); }
+    public Map<String, String> getAdditionalFields() { return additionalFields != null ? new HashMap<>(additionalFields) : new HashMap<>(); }
     public void setAdditionalFields(Map<String, String> additionalFields) { 
         this.additionalFields = new HashMap<>(additionalFields); 
     }
 
     public void addAdditionalField(String key, String value) {
+        if (this.additionalFields == null) this.additionalFields = new HashMap<>(); // registros creados con builder
         this.additionalFields.put(key, value);
     }
 
     // Métodos utilitarios
     public void addAuthor(String author) {
+        if (this.authors == null) this.authors = new ArrayList<>();
         this.authors.add(author);
         if (this.firstAuthor == null || this.firstAuthor.isEmpty()) {
             this.firstAuthor = author;
@@ -82,6 +84,7 @@ public class ScientificRecord {
     }
 
     public void addKeyword(String keyword) {
+        if (this.keywords == null) this.keywords = new ArrayList<>();
         this.keywords.add(keyword);
     }
 
@@ -4,6 +4,9 @@ import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 /**
  * Interface para lectores que obtienen datos desde APIs REST
@@ -19,6 +22,31 @@ public interface ApiDatasetReader {
      */
     List<ScientificRecord> downloadFromApi(String searchQuery, int maxResults) throws IOException;
 
+    /**
+     * Descarga entregando los registros por páginas a medida que llegan, sin acumular el resultado.
+     * Las llamadas al consumidor nunca son concurrentes; si el consumidor se bloquea, la descarga
+     * se detiene hasta que retorne. La implementación por defecto entrega todo en una sola página.
+     * @param pageConsumer recibe cada página de registros
+     * @throws IOException Si hay error en la conexión o respuesta de la API
+     */
+    default void downloadPages(String searchQuery, int maxResults,
+                               Consumer<List<ScientificRecord>> pageConsumer) throws IOException {
+        List<ScientificRecord> records = downloadFromApi(searchQuery, maxResults);
+        if (!records.isEmpty()) {
+            pageConsumer.accept(records);
+        }
+    }
+
+    /**
+     * Publica las páginas de {@link #downloadPages} como {@link Flow.Publisher} con contrapresión:
+     * la descarga corre en {@code executor} y se frena cuando el suscriptor tiene
+     * {@code maxBufferedPages} páginas sin pedir. Cada suscripción inicia una descarga.
+     */
+    default Flow.Publisher<List<ScientificRecord>> publishPages(String searchQuery, int maxResults,
+                                                                 Executor executor, int maxBufferedPages) {
+        return new PagePublisher(this, searchQuery, maxResults, executor, maxBufferedPages);
+    }
+
     /**
      * Retorna el nombre de la fuente de datos que maneja este lector
      * @return Nombre de la fuente (ej: "DBLP", "OpenAlex")
@@ -26,7 +54,14 @@ public interface ApiDatasetReader {
     String getSourceName();
 
     /**
-     * Verifica si la API está disponible
+     * URL base de la API; su host identifica la fuente para el control de salud
+     * @return URL base (ej: "https://api.openalex.org/works")
+     */
+    String getBaseUrl();
+
+    /**
+     * Verifica si la API está disponible con una petición mínima que no pasa por la caché.
+     * Se usa como sondeo de {@link co.edu.uniquindio.proyectoAlgoritmos.http.SourceHealthRegistry}.
      * @return true si la API responde correctamente
      */
     boolean isApiAvailable();
@@ -1,107 +1,221 @@
 package co.edu.uniquindio.proyectoAlgoritmos.reader;
 
+import co.edu.uniquindio.proyectoAlgoritmos.http.AdaptiveRateLimiter;
+import co.edu.uniquindio.proyectoAlgoritmos.http.ApiHttpClient;
 import co.edu.uniquindio.proyectoAlgoritmos.model.DataSource;
 import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.DownloadCheckpointStore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
- * Lector de datos desde la API de DBLP
+ * Lector de datos desde la API de DBLP (reemplazado por {@link DblpXmlDumpReader} si app.dblp-dump.enabled)
  * API Documentation: https://dblp.org/faq/How+to+use+the+dblp+search+API.html
  */
 @Component
+@Order(1)
+@ConditionalOnProperty(prefix = "app.dblp-dump", name = "enabled", havingValue = "false", matchIfMissing = true)
 @Slf4j
 public class DblpApiReader implements ApiDatasetReader {
 
-    private static final String DBLP_API_BASE = "https://dblp.org/search/publ/api";
+    // Campos de cada hit que se construyen como nodos; el resto se salta en el stream
+    private static final JsonProjection HIT_PROJECTION = JsonProjection.of(
+            "info.title", "info.authors", "info.year", "info.venue", "info.key",
+            "info.doi", "info.ee", "info.type");
+
+    @Value("${api.dblp.base-url:https://dblp.org/search/publ/api}")
+    private String baseUrl;
 
     @Value("${api.dblp.max-results:500}")
     private int defaultMaxResults;
 
-    private final RestTemplate restTemplate;
+    // Páginas pedidas a la vez (1 = una tras otra)
+    @Value("${api.dblp.pipeline-depth:3}")
+    private int pipelineDepth;
+
+    // Tope del limitador adaptativo compartido para el host de DBLP
+    @Value("${api.dblp.requests-per-second:10}")
+    private double requestsPerSecond;
+
+    private ExecutorService fetchExecutor;
+
+    private final ApiHttpClient httpClient;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final DownloadCheckpointStore checkpointStore;
     private final ObjectMapper objectMapper;
 
-    public DblpApiReader() {
-        this.restTemplate = new RestTemplate();
+    public DblpApiReader(ApiHttpClient httpClient, AdaptiveRateLimiter rateLimiter,
+                         DownloadCheckpointStore checkpointStore) {
+        this.httpClient = httpClient;
+        this.rateLimiter = rateLimiter;
+        this.checkpointStore = checkpointStore;
         this.objectMapper = new ObjectMapper();
     }
 
+    @PostConstruct
+    void init() {
+        pipelineDepth = Math.max(1, pipelineDepth);
+        rateLimiter.setMaxRate(baseUrl, requestsPerSecond);
+        AtomicInteger threadCounter = new AtomicInteger();
+        fetchExecutor = Executors.newFixedThreadPool(pipelineDepth, r -> {
+            Thread thread = new Thread(r, "dblp-fetch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
     @Override
     public List<ScientificRecord> downloadFromApi(String searchQuery, int maxResults) throws IOException {
+        List<ScientificRecord> allRecords = new ArrayList<>();
+        downloadPages(searchQuery, maxResults, allRecords::addAll);
+        return allRecords;
+    }
+
+    /**
+     * Pagina por offset entregando cada página al consumidor; los registros de un checkpoint
+     * anterior se entregan primero como una sola página
+     */
+    @Override
+    public void downloadPages(String searchQuery, int maxResults,
+                              Consumer<List<ScientificRecord>> pageConsumer) throws IOException {
         int effectiveMaxResults = (maxResults > 0) ? maxResults : defaultMaxResults;
         log.info("Descargando desde DBLP con query: '{}', max: {}", searchQuery, effectiveMaxResults);
 
-        List<ScientificRecord> allRecords = new ArrayList<>();
         int resultsPerPage = Math.min(maxResults, 1000); // DBLP max 1000 per request
-        int currentResults = 0;
-        int startIndex = 0;
-
-        while (currentResults < maxResults) {
-            try {
-                String encodedQuery = URLEncoder.encode(searchQuery, StandardCharsets.UTF_8);
-                String url = String.format("%s?q=%s&format=json&h=%d&f=%d",
-                        DBLP_API_BASE, encodedQuery, resultsPerPage, startIndex);
-
-                log.debug("Llamando DBLP API: {}", url);
-                String response = restTemplate.getForObject(url, String.class);
+        String encodedQuery = URLEncoder.encode(searchQuery, StandardCharsets.UTF_8);
+
+        // Reanudar desde el último offset confirmado de una descarga interrumpida
+        DownloadCheckpointStore.Checkpoint checkpoint = checkpointStore.open(getSourceName(),
+                String.format("%s?q=%s&format=json&h=%d max=%d", baseUrl, encodedQuery, resultsPerPage, maxResults));
+        List<ScientificRecord> spooled = checkpoint.readSpooled();
+        int currentResults = spooled.size();
+        int startIndex = checkpoint.isResumed() ? Integer.parseInt(checkpoint.getPosition()) : 0;
+        if (checkpoint.isResumed()) {
+            log.info("Reanudando DBLP desde offset {} ({} registros ya descargados)", startIndex, currentResults);
+            pageConsumer.accept(spooled);
+        }
+        boolean failed = false;
 
-                if (response == null || response.trim().isEmpty()) {
-                    log.warn("Respuesta vacía de DBLP API");
-                    break;
+        // Ventana de páginas en vuelo: los offsets se conocen de antemano, así que se piden las
+        // siguientes mientras el hilo actual confirma y entrega las anteriores en orden
+        Deque<PageFetch> inFlight = new ArrayDeque<>();
+        int nextOffset = startIndex;
+        try {
+            while (true) {
+                while (inFlight.size() < pipelineDepth
+                        && currentResults + inFlight.size() * resultsPerPage < maxResults) {
+                    int offset = nextOffset;
+                    inFlight.add(new PageFetch(offset,
+                            fetchExecutor.submit(() -> fetchPage(encodedQuery, resultsPerPage, offset))));
+                    nextOffset += resultsPerPage;
                 }
 
-                List<ScientificRecord> pageRecords = parseResponse(response);
+                PageFetch head = inFlight.poll();
+                if (head == null) break;
+                List<ScientificRecord> pageRecords = head.records().get();
 
                 if (pageRecords.isEmpty()) {
                     log.info("No hay más resultados en DBLP");
                     break;
                 }
 
-                allRecords.addAll(pageRecords);
                 currentResults += pageRecords.size();
-                startIndex += resultsPerPage;
-
-                // Evitar hacer demasiadas requests seguidas
-                Thread.sleep(100);
-
-            } catch (Exception e) {
-                log.error("Error descargando desde DBLP: {}", e.getMessage());
-                break;
+                startIndex = head.offset() + resultsPerPage;
+                checkpoint.appendPage(pageRecords, Integer.toString(startIndex));
+                pageConsumer.accept(pageRecords);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Descarga desde DBLP interrumpida");
+            failed = true;
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Error descargando desde DBLP: {}", cause.getMessage());
+            failed = true;
+        } finally {
+            // Páginas pedidas de más (fin de resultados, maxResults o error) se descartan
+            inFlight.forEach(fetch -> fetch.records().cancel(true));
         }
 
-        log.info("Descargados {} registros desde DBLP", allRecords.size());
-        return allRecords;
+        if (failed) {
+            log.warn("Descarga de DBLP incompleta ({} registros); se reanudará desde el offset {} en la próxima ejecución",
+                    currentResults, startIndex);
+        } else {
+            checkpoint.delete();
+        }
+
+        log.info("Descargados {} registros desde DBLP", currentResults);
     }
 
-    private List<ScientificRecord> parseResponse(String jsonResponse) throws IOException {
-        List<ScientificRecord> records = new ArrayList<>();
+    /**
+     * Pide y parsea una página (en un hilo de fetchExecutor: el parseo avanza a medida que llega el cuerpo)
+     */
+    private List<ScientificRecord> fetchPage(String encodedQuery, int resultsPerPage, int offset) throws IOException {
+        String url = String.format("%s?q=%s&format=json&h=%d&f=%d", baseUrl, encodedQuery, resultsPerPage, offset);
+        log.debug("Llamando DBLP API: {}", url);
+
+        List<ScientificRecord> pageRecords = new ArrayList<>(resultsPerPage);
+        httpClient.get(url, body -> parseResponse(body, pageRecords::add));
+        return pageRecords;
+    }
 
-        JsonNode root = objectMapper.readTree(jsonResponse);
-        JsonNode result = root.path("result");
-        JsonNode hits = result.path("hits").path("hit");
+    /**
+     * Lee la respuesta en streaming directamente desde el cuerpo HTTP: avanza hasta result.hits.hit,
+     * construye solo los campos usados de cada hit y entrega los registros uno a uno
+     * @return número de hits leídos
+     */
+    private int parseResponse(InputStream body, Consumer<ScientificRecord> consumer) throws IOException {
+        int hits = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT
+                    || !JsonProjection.moveTo(parser, "result", "hits", "hit")) {
+                return 0;
+            }
 
-        if (hits.isArray()) {
-            for (JsonNode hit : hits) {
-                JsonNode info = hit.path("info");
-                ScientificRecord record = mapToScientificRecord(info);
+            // Con un único resultado DBLP puede devolver un objeto en vez de un arreglo
+            boolean singleHit = parser.currentToken() == JsonToken.START_OBJECT;
+            while (singleHit || parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode hit = HIT_PROJECTION.read(parser, objectMapper);
+                ScientificRecord record = mapToScientificRecord(hit.path("info"));
                 if (record != null) {
-                    records.add(record);
+                    consumer.accept(record);
                 }
+                hits++;
+                if (singleHit) break;
             }
         }
 
-        return records;
+        return hits;
     }
 
     private ScientificRecord mapToScientificRecord(JsonNode info) {
@@ -166,6 +280,8 @@ public class DblpApiReader implements ApiDatasetReader {
         }
     }
 
+    private record PageFetch(int offset, Future<List<ScientificRecord>> records) {}
+
     private String getTextValue(JsonNode node, String fieldName) {
         JsonNode field = node.path(fieldName);
         if (field.isMissingNode()) {
@@ -196,11 +312,16 @@ public class DblpApiReader implements ApiDatasetReader {
         return DataSource.DBLP.toString();
     }
 
+    @Override
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
     @Override
     public boolean isApiAvailable() {
         try {
-            String testUrl = DBLP_API_BASE + "?q=test&format=json&h=1";
-            String response = restTemplate.getForObject(testUrl, String.class);
+            String testUrl = baseUrl + "?q=test&format=json&h=1";
+            String response = httpClient.probe(testUrl);
             return response != null && !response.trim().isEmpty();
         } catch (Exception e) {
             log.warn("DBLP API no disponible: {}", e.getMessage());
@@ -0,0 +1,301 @@
+package co.edu.uniquindio.proyectoAlgoritmos.reader;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.DataSource;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Lector del volcado completo de DBLP (dblp.xml.gz) como fuente DBLP, para cargas masivas sin el
+ * límite ni la latencia de la API de búsqueda. Se activa con app.dblp-dump.enabled y reemplaza a
+ * {@link DblpApiReader}.
+ * El XML se recorre con StAX en streaming: solo se guarda la publicación en curso, el filtro por
+ * términos del título y rango de años se aplica al cerrar cada elemento y los registros se entregan
+ * en páginas, así la memoria no depende del tamaño del volcado.
+ * Las entidades de caracteres (&amp;auml; etc.) se resuelven con dblp.dtd, que se carga solo desde
+ * dtd-path; cualquier otra entidad externa se rechaza. El volcado tiene millones de referencias a
+ * entidades, por eso se quitan los límites de expansión de JAXP para este parser.
+ */
+@Component
+@Order(1)
+@ConditionalOnProperty(prefix = "app.dblp-dump", name = "enabled", havingValue = "true")
+@Slf4j
+public class DblpXmlDumpReader implements ApiDatasetReader {
+
+    private static final Set<String> PUBLICATION_ELEMENTS = Set.of(
+            "article", "inproceedings", "proceedings", "book", "incollection", "phdthesis", "mastersthesis");
+    private static final String DOI_PREFIX = "https://doi.org/";
+    private static final String[] JAXP_LIMITS = {
+            "http://www.oracle.com/xml/jaxp/properties/entityExpansionLimit",
+            "http://www.oracle.com/xml/jaxp/properties/totalEntitySizeLimit",
+            "http://www.oracle.com/xml/jaxp/properties/maxGeneralEntitySizeLimit"};
+
+    @Value("${app.dblp-dump.path:src/main/resources/data/input/dblp.xml.gz}")
+    private String dumpPath;
+
+    @Value("${app.dblp-dump.dtd-path:src/main/resources/data/input/dblp.dtd}")
+    private String dtdPath;
+
+    // 0 = sin límite de año
+    @Value("${app.dblp-dump.from-year:0}")
+    private int fromYear;
+
+    @Value("${app.dblp-dump.to-year:0}")
+    private int toYear;
+
+    @Value("${app.dblp-dump.page-size:1000}")
+    private int pageSize;
+
+    @Override
+    public List<ScientificRecord> downloadFromApi(String searchQuery, int maxResults) throws IOException {
+        List<ScientificRecord> allRecords = new ArrayList<>();
+        downloadPages(searchQuery, maxResults, allRecords::addAll);
+        return allRecords;
+    }
+
+    /**
+     * Recorre el volcado entregando en páginas las publicaciones cuyo título contiene todos los
+     * términos de la consulta (como prefijo de alguna palabra) y cuyo año está en el rango
+     * @param maxResults máximo de registros a entregar (0 = todos los que cumplan el filtro)
+     */
+    @Override
+    public void downloadPages(String searchQuery, int maxResults,
+                              Consumer<List<ScientificRecord>> pageConsumer) throws IOException {
+        Path dump = Path.of(dumpPath);
+        String[] terms = queryTerms(searchQuery);
+        log.info("Leyendo volcado de DBLP {} con query: '{}', años {}-{}, max: {}", dump, searchQuery,
+                fromYear > 0 ? fromYear : "*", toYear > 0 ? toYear : "*", maxResults > 0 ? maxResults : "todos");
+
+        long start = System.nanoTime();
+        int limit = maxResults > 0 ? maxResults : Integer.MAX_VALUE;
+        int effectivePageSize = Math.max(1, pageSize);
+        List<ScientificRecord> page = new ArrayList<>(effectivePageSize);
+        long scanned = 0;
+        int matched = 0;
+
+        try (InputStream in = openDump(dump)) {
+            XMLStreamReader xml = createInputFactory().createXMLStreamReader(in);
+            try {
+                PublicationBuilder publication = null;
+                String field = null;
+                StringBuilder text = new StringBuilder(256);
+
+                while (xml.hasNext() && matched < limit) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if (publication == null) {
+                            if (PUBLICATION_ELEMENTS.contains(name)) {
+                                publication = new PublicationBuilder(name, xml.getAttributeValue(null, "key"));
+                            }
+                        } else if (field == null) {
+                            field = name;
+                            text.setLength(0);
+                        }
+                        // Elementos dentro de un campo (<i>, <sub>...) solo aportan su texto
+                    } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                        if (field != null) {
+                            text.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && publication != null) {
+                        String name = xml.getLocalName();
+                        if (name.equals(field)) {
+                            publication.set(field, text.toString().trim());
+                            field = null;
+                        } else if (field == null && name.equals(publication.type)) {
+                            scanned++;
+                            if (matches(publication, terms)) {
+                                page.add(publication.build());
+                                matched++;
+                                if (page.size() == effectivePageSize) {
+                                    pageConsumer.accept(page);
+                                    page = new ArrayList<>(effectivePageSize);
+                                }
+                            }
+                            publication = null;
+                        }
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Error leyendo el volcado de DBLP después de " + scanned + " publicaciones: "
+                    + e.getMessage(), e);
+        }
+
+        if (!page.isEmpty()) {
+            pageConsumer.accept(page);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Volcado de DBLP: {} publicaciones recorridas, {} seleccionadas en {} s ({} publicaciones/s)",
+                scanned, matched, String.format(Locale.ROOT, "%.1f", seconds),
+                String.format(Locale.ROOT, "%.0f", seconds > 0 ? scanned / seconds : 0));
+    }
+
+    private InputStream openDump(Path dump) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(dump), 1 << 16);
+        return dump.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in;
+    }
+
+    private XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+
+        // La única entidad externa permitida es la DTD de DBLP, leída desde dtd-path
+        Path dtd = Path.of(dtdPath);
+        factory.setXMLResolver((publicId, systemId, baseUri, namespace) -> {
+            if (systemId != null && systemId.endsWith(dtd.getFileName().toString())) {
+                try {
+                    return new BufferedInputStream(Files.newInputStream(dtd));
+                } catch (IOException e) {
+                    throw new XMLStreamException("No se pudo leer la DTD de DBLP " + dtd + ": " + e.getMessage());
+                }
+            }
+            throw new XMLStreamException("Entidad externa no permitida: " + systemId);
+        });
+
+        for (String limit : JAXP_LIMITS) {
+            try {
+                factory.setProperty(limit, "0");
+            } catch (IllegalArgumentException e) {
+                log.debug("El parser StAX no soporta la propiedad {}", limit);
+            }
+        }
+        return factory;
+    }
+
+    private boolean matches(PublicationBuilder publication, String[] terms) {
+        if (publication.title == null || publication.title.isEmpty()) return false;
+        if (fromYear > 0 && publication.year < fromYear) return false;
+        if (toYear > 0 && (publication.year == 0 || publication.year > toYear)) return false;
+        if (terms.length == 0) return true;
+
+        String[] words = publication.title.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        for (String term : terms) {
+            boolean found = false;
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    private static String[] queryTerms(String searchQuery) {
+        if (searchQuery == null || searchQuery.isBlank()) return new String[0];
+        return Arrays.stream(searchQuery.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Campos de la publicación en curso
+     */
+    private static final class PublicationBuilder {
+        private final String type;
+        private final String key;
+        private final List<String> authors = new ArrayList<>(4);
+        private final List<String> editors = new ArrayList<>(0);
+        private String title;
+        private int year;
+        private String journal;
+        private String booktitle;
+        private String doi;
+        private String url;
+
+        private PublicationBuilder(String type, String key) {
+            this.type = type;
+            this.key = key;
+        }
+
+        private void set(String field, String value) {
+            if (value.isEmpty()) return;
+            switch (field) {
+                case "author" -> authors.add(value);
+                case "editor" -> editors.add(value); // autores de los proceedings
+                case "title" -> title = value.endsWith(".") ? value.substring(0, value.length() - 1) : value;
+                case "year" -> {
+                    try {
+                        year = Integer.parseInt(value);
+                    } catch (NumberFormatException ignored) {}
+                }
+                case "journal" -> journal = value;
+                case "booktitle" -> booktitle = value;
+                case "ee" -> {
+                    if (value.startsWith(DOI_PREFIX)) {
+                        if (doi == null) doi = value.substring(DOI_PREFIX.length());
+                    }
+                    if (url == null) url = value;
+                }
+                default -> {
+                    // Campos que no se usan (pages, volume, crossref...)
+                }
+            }
+        }
+
+        private ScientificRecord build() {
+            return ScientificRecord.builder()
+                    .id(key)
+                    .title(title)
+                    .authors(authors.isEmpty() ? editors : authors)
+                    .journal(journal)
+                    .conference(journal == null ? booktitle : null)
+                    .year(year)
+                    .doi(doi)
+                    .url(url)
+                    .documentType(type)
+                    .source(DataSource.DBLP.toString())
+                    .build();
+        }
+    }
+
+    @Override
+    public String getSourceName() {
+        return DataSource.DBLP.toString();
+    }
+
+    @Override
+    public String getBaseUrl() {
+        return Path.of(dumpPath).toUri().toString();
+    }
+
+    /**
+     * El volcado está disponible si el archivo y su DTD se pueden leer
+     */
+    @Override
+    public boolean isApiAvailable() {
+        boolean available = Files.isReadable(Path.of(dumpPath)) && Files.isReadable(Path.of(dtdPath));
+        if (!available) {
+            log.warn("Volcado de DBLP no disponible: {} / {}", dumpPath, dtdPath);
+        }
+        return available;
+    }
+}
@@ -0,0 +1,121 @@
+package co.edu.uniquindio.proyectoAlgoritmos.reader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Reconstrucción del abstract a partir del abstract_inverted_index de OpenAlex
+ * ({"palabra": [posiciones...]}). Se guardan las palabras una vez y los pares (posición, palabra)
+ * en arreglos int; al final se coloca cada palabra en un arreglo de tokens de tamaño
+ * posición máxima + 1 y se concatena. Tiempo lineal en el número de posiciones.
+ */
+final class InvertedIndexAbstract {
+
+    // Límite de seguridad ante índices malformados (los abstracts reales tienen pocos cientos de palabras)
+    private static final int MAX_POSITION = 100_000;
+
+    private String[] words = new String[64];
+    private int wordCount;
+    private int[] positions = new int[256];
+    private int[] owners = new int[256];
+    private int count;
+    private int maxPosition = -1;
+
+    private InvertedIndexAbstract() {
+    }
+
+    /**
+     * Lee el índice invertido en streaming desde el token actual del parser (START_OBJECT).
+     * Al terminar el parser queda en el END_OBJECT del índice.
+     * @return el abstract o null si el índice está vacío o no es un objeto
+     */
+    static String read(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        InvertedIndexAbstract builder = new InvertedIndexAbstract();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String word = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            int wordId = builder.addWord(word);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    builder.addPosition(parser.getIntValue(), wordId);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return builder.assemble();
+    }
+
+    /**
+     * Igual que {@link #read(JsonParser)} sobre un nodo ya construido
+     */
+    static String reconstruct(JsonNode invertedIndex) {
+        if (invertedIndex == null || !invertedIndex.isObject()) return null;
+
+        InvertedIndexAbstract builder = new InvertedIndexAbstract();
+        for (Map.Entry<String, JsonNode> field : invertedIndex.properties()) {
+            if (!field.getValue().isArray()) continue;
+            int wordId = builder.addWord(field.getKey());
+            for (JsonNode position : field.getValue()) {
+                if (position.canConvertToInt()) {
+                    builder.addPosition(position.intValue(), wordId);
+                }
+            }
+        }
+        return builder.assemble();
+    }
+
+    private int addWord(String word) {
+        if (wordCount == words.length) {
+            words = Arrays.copyOf(words, wordCount * 2);
+        }
+        words[wordCount] = word;
+        return wordCount++;
+    }
+
+    private void addPosition(int position, int wordId) {
+        if (position < 0 || position > MAX_POSITION) return;
+        if (count == positions.length) {
+            positions = Arrays.copyOf(positions, count * 2);
+            owners = Arrays.copyOf(owners, count * 2);
+        }
+        positions[count] = position;
+        owners[count++] = wordId;
+        if (position > maxPosition) maxPosition = position;
+    }
+
+    private String assemble() {
+        if (count == 0) return null;
+
+        String[] tokens = new String[maxPosition + 1];
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            String previous = tokens[positions[i]];
+            String word = words[owners[i]];
+            tokens[positions[i]] = word;
+            length += word.length() - (previous != null ? previous.length() : 0);
+        }
+
+        StringBuilder text = new StringBuilder(length + tokens.length);
+        for (String token : tokens) {
+            if (token == null) continue; // posiciones sin palabra
+            if (text.length() > 0) text.append(' ');
+            text.append(token);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package co.edu.uniquindio.proyectoAlgoritmos.reader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lectura en streaming de solo una parte de un objeto JSON.
+ * Se define con rutas separadas por punto (ej: "authorships.author.display_name"); los arreglos
+ * se recorren aplicando la misma proyección a cada elemento. Los campos que no están en la
+ * proyección se saltan con {@link JsonParser#skipChildren()} sin construir nodos, y los campos con
+ * un {@link ValueReader} se leen directamente desde el parser.
+ */
+final class JsonProjection {
+
+    private final Map<String, JsonProjection> children = new HashMap<>();
+    private final Map<String, ValueReader> readers = new HashMap<>();
+
+    /**
+     * Lector propio para el valor de un campo (en lugar de construir su subárbol)
+     */
+    @FunctionalInterface
+    interface ValueReader {
+        JsonNode read(JsonParser parser) throws IOException;
+    }
+
+    private JsonProjection() {
+    }
+
+    static JsonProjection of(String... paths) {
+        JsonProjection root = new JsonProjection();
+        for (String path : paths) {
+            JsonProjection current = root;
+            for (String field : path.split("\\.")) {
+                current = current.children.computeIfAbsent(field, k -> new JsonProjection());
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Lee el campo directo {@code field} con el lector dado; su resultado reemplaza al valor original
+     */
+    JsonProjection withReader(String field, ValueReader reader) {
+        readers.put(field, reader);
+        return this;
+    }
+
+    /**
+     * Lee el valor en el token actual del parser aplicando la proyección.
+     * Al terminar el parser queda en el último token del valor.
+     */
+    JsonNode read(JsonParser parser, ObjectMapper objectMapper) throws IOException {
+        JsonToken token = parser.currentToken();
+
+        if ((children.isEmpty() && readers.isEmpty()) || token.isScalarValue()) {
+            return objectMapper.readTree(parser);
+        }
+
+        if (token == JsonToken.START_ARRAY) {
+            ArrayNode array = JsonNodeFactory.instance.arrayNode();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                array.add(read(parser, objectMapper));
+            }
+            return array;
+        }
+
+        ObjectNode object = JsonNodeFactory.instance.objectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            ValueReader reader = readers.get(name);
+            JsonProjection child = children.get(name);
+            if (reader != null) {
+                JsonNode value = reader.read(parser);
+                if (value != null) object.set(name, value);
+            } else if (child == null) {
+                parser.skipChildren();
+            } else {
+                object.set(name, child.read(parser, objectMapper));
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Avanza desde el inicio de un objeto hasta el valor de la ruta dada, saltando los demás campos.
+     * @return false si la ruta no existe (el parser queda al final del objeto que la debía contener)
+     */
+    static boolean moveTo(JsonParser parser, String... path) throws IOException {
+        for (String field : path) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) return false;
+
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (name.equals(field)) {
+                    found = true;
+                    break;
+                }
+                parser.skipChildren();
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+}
@@ -1,30 +1,71 @@
 package co.edu.uniquindio.proyectoAlgoritmos.reader;
 
+import co.edu.uniquindio.proyectoAlgoritmos.http.AdaptiveRateLimiter;
+import co.edu.uniquindio.proyectoAlgoritmos.http.ApiHttpClient;
 import co.edu.uniquindio.proyectoAlgoritmos.model.DataSource;
 import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.DownloadCheckpointStore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Lector de datos desde la API de OpenAlex con búsqueda semántica por conceptos
  * Ejecuta múltiples queries (una por concept ID) y unifica resultados
+ * (reemplazado por {@link OpenAlexSnapshotReader} si app.openalex-snapshot.enabled)
  * API Documentation: https://docs.openalex.org/
  */
 @Component
+@Order(2)
+@ConditionalOnProperty(prefix = "app.openalex-snapshot", name = "enabled", havingValue = "false", matchIfMissing = true)
 @Slf4j
 public class OpenAlexApiReader implements ApiDatasetReader {
 
-    private static final String OPENALEX_API_BASE = "https://api.openalex.org/works";
+    // Campos raíz pedidos a la API con select= (OpenAlex solo proyecta campos de primer nivel)
+    private static final String SELECT_FIELDS = "id,display_name,authorships,publication_year,primary_location,"
+            + "doi,open_access,type,cited_by_count";
+    static final String ABSTRACT_FIELD = "abstract_inverted_index";
+
+    // Campos de cada work que se construyen como nodos; el resto se salta en el stream
+    static final String[] WORK_FIELDS = {
+            "id", "display_name", "authorships.author.display_name", "publication_year",
+            "primary_location.source.display_name", "primary_location.landing_page_url",
+            "doi", "open_access.oa_url", "type", "cited_by_count"};
+    private static final JsonProjection WORK_PROJECTION = JsonProjection.of(WORK_FIELDS);
+    // El índice invertido del abstract se reconstruye a texto durante el stream, sin construir su árbol
+    static final JsonProjection.ValueReader ABSTRACT_READER = parser -> {
+        String text = InvertedIndexAbstract.read(parser);
+        return text != null ? TextNode.valueOf(text) : null;
+    };
+    private static final JsonProjection WORK_PROJECTION_WITH_ABSTRACT = JsonProjection.of(WORK_FIELDS)
+            .withReader(ABSTRACT_FIELD, ABSTRACT_READER);
+
+    @Value("${api.openalex.base-url:https://api.openalex.org/works}")
+    private String baseUrl;
 
     @Value("${api.openalex.max-results:1000}")
     private int defaultMaxResults;
@@ -45,185 +86,413 @@ public class OpenAlexApiReader implements ApiDatasetReader {
     @Value("${api.openalex.concept-ids-csv:}")
     private String conceptIdsCsv;
 
-    private final RestTemplate restTemplate;
+    // Fetch paralelo por shards (concept ID x rango de fechas) con un límite de tasa compartido
+    @Value("${api.openalex.parallel-shards:4}")
+    private int parallelShards;
+
+    @Value("${api.openalex.date-shard-years:1}")
+    private int dateShardYears;
+
+    // Tope del limitador adaptativo compartido para el host de OpenAlex
+    @Value("${api.openalex.requests-per-second:8}")
+    private double requestsPerSecond;
+
+    // Páginas pedidas a la vez por shard (1 = una tras otra)
+    @Value("${api.openalex.pipeline-depth:2}")
+    private int pipelineDepth;
+
+    // Reconstruir abstracts desde abstract_inverted_index (false = ni se piden ni se leen)
+    @Value("${api.openalex.include-abstracts:true}")
+    private boolean includeAbstracts;
+
+    private ExecutorService shardExecutor;
+    private ExecutorService fetchExecutor;
+
+    private final ApiHttpClient httpClient;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final DownloadCheckpointStore checkpointStore;
     private final ObjectMapper objectMapper;
 
-    public OpenAlexApiReader() {
-        this.restTemplate = new RestTemplate();
+    public OpenAlexApiReader(ApiHttpClient httpClient, AdaptiveRateLimiter rateLimiter,
+                             DownloadCheckpointStore checkpointStore) {
+        this.httpClient = httpClient;
+        this.rateLimiter = rateLimiter;
+        this.checkpointStore = checkpointStore;
         this.objectMapper = new ObjectMapper();
     }
 
+    @PostConstruct
+    void init() {
+        rateLimiter.setMaxRate(baseUrl, requestsPerSecond);
+        AtomicInteger threadCounter = new AtomicInteger();
+        shardExecutor = Executors.newFixedThreadPool(Math.max(1, parallelShards), r -> {
+            Thread thread = new Thread(r, "openalex-shard-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pipelineDepth = Math.max(1, pipelineDepth);
+        AtomicInteger fetchCounter = new AtomicInteger();
+        fetchExecutor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "openalex-fetch-" + fetchCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        shardExecutor.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+
     @Override
     public List<ScientificRecord> downloadFromApi(String searchQuery, int maxResults) throws IOException {
+        List<Shard> shards = planShards(searchQuery, maxResults);
+
+        // Cada shard llena su propia lista y se unen en el orden de los shards
+        List<List<ScientificRecord>> shardRecords = new ArrayList<>();
+        shards.forEach(shard -> shardRecords.add(new ArrayList<>()));
+        downloadShards(shards, (index, page) -> shardRecords.get(index).addAll(page));
+
+        List<ScientificRecord> allRecords = new ArrayList<>();
+        shardRecords.forEach(allRecords::addAll);
+
+        if (hasValidConceptIds()) {
+            // Eliminar duplicados por ID de OpenAlex
+            allRecords = removeDuplicates(allRecords);
+            log.info("Después de eliminar duplicados: {} registros únicos", allRecords.size());
+        }
+
+        log.info("Total descargados desde OpenAlex: {} registros", allRecords.size());
+        return allRecords;
+    }
+
+    /**
+     * Entrega las páginas de todos los shards a medida que llegan (en el orden en que terminan).
+     * Como los concept IDs pueden compartir works, de cada ID de OpenAlex se entrega solo la
+     * primera aparición en vez de elegir al final el registro más completo.
+     */
+    @Override
+    public void downloadPages(String searchQuery, int maxResults,
+                              Consumer<List<ScientificRecord>> pageConsumer) throws IOException {
+        List<Shard> shards = planShards(searchQuery, maxResults);
+        Set<String> seenIds = new HashSet<>();
+        AtomicInteger delivered = new AtomicInteger();
+
+        downloadShards(shards, (index, page) -> {
+            synchronized (seenIds) {
+                List<ScientificRecord> fresh = new ArrayList<>(page.size());
+                for (ScientificRecord record : page) {
+                    String id = record.getId();
+                    if (id == null || id.isBlank() || seenIds.add(id)) {
+                        fresh.add(record);
+                    }
+                }
+                if (!fresh.isEmpty()) {
+                    delivered.addAndGet(fresh.size());
+                    pageConsumer.accept(fresh);
+                }
+            }
+        });
+
+        log.info("Total entregados desde OpenAlex: {} registros", delivered.get());
+    }
+
+    /**
+     * Reparte la descarga en shards: concept ID (o búsqueda por texto) x tramo de fechas.
+     * El máximo de cada concept ID (o de la búsqueda) se divide en partes iguales entre sus tramos
+     * y los tramos comparten un {@link ShardBudget} para pasarse lo que no usen.
+     */
+    private List<Shard> planShards(String searchQuery, int maxResults) {
         int effectiveMaxResults = (maxResults > 0) ? maxResults : defaultMaxResults;
 
         log.info("Descargando desde OpenAlex con query: '{}', max: {}", searchQuery, effectiveMaxResults);
 
-        List<ScientificRecord> allRecords = new ArrayList<>();
+        List<String[]> dateRanges = splitDateRange();
+        List<Shard> shards = new ArrayList<>();
 
         if (hasValidConceptIds()) {
-            // Modo semántico: ejecutar una query por cada concept ID
+            // Modo semántico: una query por cada concept ID, partida en rangos de fechas
             List<String> conceptIds = getConceptIds();
             log.info("Ejecutando {} queries semánticas separadas para concept IDs: {}", conceptIds.size(), conceptIds);
 
             // Dividir maxResults entre las queries
             int maxPerConcept = effectiveMaxResults / conceptIds.size();
             if (maxPerConcept < 100) maxPerConcept = 100; // Mínimo 100 por concepto
+            int maxPerShard = (int) Math.ceil((double) maxPerConcept / dateRanges.size());
 
             for (String conceptId : conceptIds) {
-                try {
-                    log.info("Descargando para concept ID: {}", conceptId);
-                    List<ScientificRecord> conceptRecords = downloadForSingleConcept(conceptId, maxPerConcept);
-                    allRecords.addAll(conceptRecords);
-                    log.info("Obtenidos {} registros para concept {}", conceptRecords.size(), conceptId);
-
-                    // Rate limiting entre concepts
-                    Thread.sleep(200);
-                } catch (Exception e) {
-                    log.error("Error descargando concept {}: {}", conceptId, e.getMessage());
+                ShardBudget budget = new ShardBudget();
+                for (String[] range : dateRanges) {
+                    shards.add(new Shard("concepts.id:" + conceptId, null, range[0], range[1], maxPerShard, budget));
                 }
             }
-
-            // Eliminar duplicados por ID de OpenAlex
-            allRecords = removeDuplicates(allRecords);
-            log.info("Después de eliminar duplicados: {} registros únicos", allRecords.size());
-
         } else {
             // Modo fallback: búsqueda por texto
-            log.info("No hay concept IDs válidos, usando búsqueda por texto: {}", fallbackQuery);
-            allRecords = downloadWithTextSearch(searchQuery != null ? searchQuery : fallbackQuery, effectiveMaxResults);
+            String query = searchQuery != null ? searchQuery : fallbackQuery;
+            log.info("No hay concept IDs válidos, usando búsqueda por texto: {}", query);
+            int maxPerShard = (int) Math.ceil((double) effectiveMaxResults / dateRanges.size());
+            ShardBudget budget = new ShardBudget();
+            for (String[] range : dateRanges) {
+                shards.add(new Shard(null, query, range[0], range[1], maxPerShard, budget));
+            }
         }
-
-        log.info("Total descargados desde OpenAlex: {} registros", allRecords.size());
-        return allRecords;
+        return shards;
     }
 
     /**
-     * Descarga registros para un solo concept ID
+     * Descarga los shards en paralelo (todos comparten el limitador de tasa) entregando cada
+     * página con el índice de su shard. Cada shard reanuda desde su checkpoint; si todos
+     * terminan se borran los checkpoints, si no se conservan para la siguiente ejecución.
      */
-    private List<ScientificRecord> downloadForSingleConcept(String conceptId, int maxResults) throws IOException {
-        List<ScientificRecord> records = new ArrayList<>();
-        int resultsPerPage = Math.min(maxResults, 200); // OpenAlex max 200 per request
-        int currentResults = 0;
-        int page = 1;
+    private void downloadShards(List<Shard> shards, BiConsumer<Integer, List<ScientificRecord>> onPage) {
+        log.info("Descargando {} shards de OpenAlex con {} hilos", shards.size(), parallelShards);
+
+        List<DownloadCheckpointStore.Checkpoint> checkpoints = new ArrayList<>();
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            Shard shard = shards.get(i);
+            int index = i;
+            DownloadCheckpointStore.Checkpoint checkpoint =
+                    checkpointStore.open(getSourceName(), buildUrl(shard, "*", pageSize(shard)));
+            checkpoints.add(checkpoint);
+            futures.add(shardExecutor.submit(() -> downloadShard(shard, checkpoint, page -> onPage.accept(index, page))));
+        }
 
-        while (currentResults < maxResults) {
+        for (int i = 0; i < futures.size(); i++) {
             try {
-                String url = buildConceptUrl(conceptId, page, resultsPerPage);
-                log.debug("OpenAlex URL para {}: {}", conceptId, url);
+                int shardRecords = futures.get(i).get();
+                log.info("Obtenidos {} registros para {}", shardRecords, shards.get(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                log.error("Error descargando {}: {}", shards.get(i), e.getCause().getMessage());
+            }
+        }
 
-                String response = restTemplate.getForObject(url, String.class);
+        long incomplete = checkpoints.stream().filter(checkpoint -> !checkpoint.isComplete()).count();
+        if (incomplete == 0) {
+            checkpoints.forEach(DownloadCheckpointStore.Checkpoint::delete);
+        } else {
+            log.warn("{} de {} shards de OpenAlex quedaron incompletos; el resultado es parcial y se reanudarán "
+                    + "desde su checkpoint en la próxima ejecución", incomplete, shards.size());
+        }
+    }
 
-                if (response == null || response.trim().isEmpty()) {
-                    log.warn("Respuesta vacía de OpenAlex API para concept {}", conceptId);
-                    break;
-                }
+    /**
+     * Descarga un shard con paginación por cursor (sin el límite de 10.000 resultados de page=N),
+     * continuando desde el checkpoint y confirmando cada página en él antes de entregarla.
+     * Al llegar a su máximo sigue página a página mientras haya cupo sobrante en su grupo; si se
+     * acaban los resultados antes, devuelve al grupo lo que no usó.
+     * @return número de registros del shard
+     */
+    private int downloadShard(Shard shard, DownloadCheckpointStore.Checkpoint checkpoint,
+                              Consumer<List<ScientificRecord>> onPage) throws IOException {
+        List<ScientificRecord> spooled = checkpoint.readSpooled();
+        int records = spooled.size();
+        if (!spooled.isEmpty()) {
+            onPage.accept(spooled);
+        }
+        if (checkpoint.isComplete()) {
+            log.info("Shard {} ya descargado ({} registros), se reutiliza su checkpoint", shard, records);
+            shard.budget().release(shard.maxResults() - records);
+            return records;
+        }
+
+        int resultsPerPage = pageSize(shard);
+        // Un checkpoint sin posición después de alguna página significa que ya no había más páginas
+        String cursor = checkpoint.isResumed() ? checkpoint.getPosition() : "*";
+        if (checkpoint.isResumed()) {
+            log.info("Reanudando {} desde checkpoint: {} registros ya descargados", shard, records);
+        }
+        int page = 1;
+        int limit = shard.maxResults();
+        boolean failed = false;
 
-                List<ScientificRecord> pageRecords = parseResponse(response);
+        CursorPipeline pipeline = new CursorPipeline(shard, resultsPerPage, records);
+        try {
+            pipeline.request(cursor);
+            Future<FetchedPage> next;
+            while ((next = pipeline.next()) != null) {
+                FetchedPage result = next.get();
 
-                if (pageRecords.isEmpty()) {
-                    log.debug("No hay más resultados para concept {}", conceptId);
+                if (result.workCount() == 0) {
+                    log.debug("No hay más resultados para {}", shard);
                     break;
                 }
 
-                records.addAll(pageRecords);
-                currentResults += pageRecords.size();
+                records += result.records().size();
+                cursor = result.nextCursor();
+                checkpoint.appendPage(result.records(), cursor);
+                onPage.accept(result.records());
+                pipeline.consumed(records);
                 page++;
 
-                // Rate limiting
-                Thread.sleep(120);
-
-            } catch (Exception e) {
-                log.error("Error en página {} para concept {}: {}", page, conceptId, e.getMessage());
-                break;
+                if (cursor == null) break;
+                if (records >= limit) {
+                    // Máximo propio alcanzado: seguir solo con cupo que otros tramos no usaron, tomando
+                    // también lo que la última página ya pasó del límite
+                    int extra = shard.budget().claim(records - limit + resultsPerPage);
+                    if (extra == 0) break;
+                    limit += extra;
+                    pipeline.extendLimit(limit);
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Error en página {} para {}: {}", page, shard, cause.getMessage());
+            failed = true;
+        } finally {
+            pipeline.cancel();
         }
 
+        if (!failed) {
+            checkpoint.markComplete();
+            shard.budget().release(limit - records);
+        }
         return records;
     }
 
     /**
-     * Descarga con búsqueda por texto (fallback)
+     * Páginas de un shard encadenadas por cursor. El cursor siguiente llega en meta, antes que los
+     * works, así que en cuanto se lee se pide la página siguiente mientras se terminan de leer los
+     * works de la actual. Como mucho pipeline-depth páginas pedidas y aún no entregadas, y no se
+     * piden más de las que faltan para el límite del shard (su máximo más el cupo tomado del grupo).
      */
-    private List<ScientificRecord> downloadWithTextSearch(String query, int maxResults) throws IOException {
-        List<ScientificRecord> records = new ArrayList<>();
-        int resultsPerPage = Math.min(maxResults, 200);
-        int currentResults = 0;
-        int page = 1;
-
-        while (currentResults < maxResults) {
-            try {
-                String url = buildTextSearchUrl(query, page, resultsPerPage);
-                log.debug("OpenAlex URL (texto): {}", url);
-
-                String response = restTemplate.getForObject(url, String.class);
+    private final class CursorPipeline {
+        private final Shard shard;
+        private final int resultsPerPage;
+        private int limit;
+        private final Deque<Future<FetchedPage>> pending = new ArrayDeque<>();
+        private int outstanding;
+        private int consumedRecords;
+        private String nextCursor;
+        private boolean cancelled;
+
+        private CursorPipeline(Shard shard, int resultsPerPage, int consumedRecords) {
+            this.shard = shard;
+            this.resultsPerPage = resultsPerPage;
+            this.consumedRecords = consumedRecords;
+            this.limit = shard.maxResults();
+        }
 
-                if (response == null || response.trim().isEmpty()) {
-                    log.warn("Respuesta vacía de OpenAlex API");
-                    break;
-                }
+        synchronized void extendLimit(int limit) {
+            this.limit = limit;
+            fill();
+        }
 
-                List<ScientificRecord> pageRecords = parseResponse(response);
+        /**
+         * Cursor de la página siguiente (llamado desde el hilo que lee la página anterior)
+         */
+        synchronized void request(String cursor) {
+            nextCursor = cursor;
+            fill();
+        }
 
-                if (pageRecords.isEmpty()) {
-                    log.info("No hay más resultados en búsqueda por texto");
-                    break;
-                }
+        /**
+         * Siguiente página en orden, o null si no queda ninguna por pedir
+         */
+        synchronized Future<FetchedPage> next() {
+            fill();
+            return pending.poll();
+        }
 
-                records.addAll(pageRecords);
-                currentResults += pageRecords.size();
-                page++;
+        synchronized void consumed(int records) {
+            consumedRecords = records;
+            outstanding--;
+            fill();
+        }
 
-                Thread.sleep(120);
+        synchronized void cancel() {
+            cancelled = true;
+            pending.forEach(future -> future.cancel(true));
+            pending.clear();
+        }
 
-            } catch (Exception e) {
-                log.error("Error en búsqueda por texto: {}", e.getMessage());
-                break;
+        private void fill() {
+            if (cancelled || nextCursor == null || outstanding >= pipelineDepth
+                    || consumedRecords + outstanding * resultsPerPage >= limit) {
+                return;
             }
+            String cursor = nextCursor;
+            nextCursor = null;
+            outstanding++;
+            pending.add(fetchExecutor.submit(() -> fetchPage(shard, cursor, resultsPerPage, this::request)));
         }
-
-        return records;
     }
 
     /**
-     * Construye URL para un concept ID específico
+     * Pide y parsea una página de un shard, avisando el cursor siguiente apenas se lee
      */
-    private String buildConceptUrl(String conceptId, int page, int perPage) throws IOException {
-        StringBuilder url = new StringBuilder(OPENALEX_API_BASE);
-
-        // Filtros para este concept específico
-        List<String> filters = new ArrayList<>();
-        filters.add("concepts.id:" + conceptId);
-        filters.add("from_publication_date:" + fromDate);
-        filters.add("to_publication_date:" + toDate);
+    private FetchedPage fetchPage(Shard shard, String cursor, int resultsPerPage,
+                                  Consumer<String> onNextCursor) throws IOException {
+        String url = buildUrl(shard, cursor, resultsPerPage);
+        log.debug("OpenAlex URL para {}: {}", shard, url);
+
+        List<ScientificRecord> pageRecords = new ArrayList<>(resultsPerPage);
+        Page result = httpClient.get(url, body -> parseResponse(body, pageRecords::add, onNextCursor));
+        return result != null
+                ? new FetchedPage(pageRecords, result.workCount(), result.nextCursor())
+                : new FetchedPage(pageRecords, 0, null);
+    }
 
-        url.append("?filter=").append(String.join(",", filters));
-        url.append("&per_page=").append(perPage);
-        url.append("&page=").append(page);
+    private int pageSize(Shard shard) {
+        return Math.min(shard.maxResults(), 200); // OpenAlex max 200 per request
+    }
 
-        if (mailto != null && !mailto.trim().isEmpty()) {
-            url.append("&mailto=").append(URLEncoder.encode(mailto, StandardCharsets.UTF_8));
+    /**
+     * Parte el rango from-date/to-date en tramos de date-shard-years años
+     */
+    private List<String[]> splitDateRange() {
+        List<String[]> ranges = new ArrayList<>();
+        try {
+            LocalDate from = LocalDate.parse(fromDate);
+            LocalDate to = LocalDate.parse(toDate);
+            int years = Math.max(1, dateShardYears);
+            for (LocalDate start = from; !start.isAfter(to); start = start.plusYears(years)) {
+                LocalDate end = start.plusYears(years).minusDays(1);
+                ranges.add(new String[]{start.toString(), (end.isAfter(to) ? to : end).toString()});
+            }
+        } catch (DateTimeParseException e) {
+            log.warn("Rango de fechas inválido ({} - {}), se usa un solo shard", fromDate, toDate);
         }
-
-        return url.toString();
+        if (ranges.isEmpty()) {
+            ranges.add(new String[]{fromDate, toDate});
+        }
+        return ranges;
     }
 
     /**
-     * Construye URL para búsqueda por texto
+     * Construye la URL de una página de un shard
      */
-    private String buildTextSearchUrl(String query, int page, int perPage) throws IOException {
-        StringBuilder url = new StringBuilder(OPENALEX_API_BASE);
-
-        url.append("?search=").append(URLEncoder.encode(query, StandardCharsets.UTF_8));
+    private String buildUrl(Shard shard, String cursor, int perPage) {
+        StringBuilder url = new StringBuilder(baseUrl);
 
-        // Filtros básicos (sin conceptos)
         List<String> filters = new ArrayList<>();
-        filters.add("from_publication_date:" + fromDate);
-        filters.add("to_publication_date:" + toDate);
+        if (shard.conceptFilter() != null) {
+            filters.add(shard.conceptFilter());
+        }
+        filters.add("from_publication_date:" + shard.fromDate());
+        filters.add("to_publication_date:" + shard.toDate());
 
-        url.append("&filter=").append(String.join(",", filters));
+        if (shard.searchQuery() != null) {
+            url.append("?search=").append(URLEncoder.encode(shard.searchQuery(), StandardCharsets.UTF_8));
+            url.append("&filter=");
+        } else {
+            url.append("?filter=");
+        }
+        url.append(String.join(",", filters));
+        url.append("&select=").append(SELECT_FIELDS);
+        if (includeAbstracts) {
+            url.append(',').append(ABSTRACT_FIELD);
+        }
         url.append("&per_page=").append(perPage);
-        url.append("&page=").append(page);
+        url.append("&cursor=").append(URLEncoder.encode(cursor, StandardCharsets.UTF_8));
 
         if (mailto != null && !mailto.trim().isEmpty()) {
             url.append("&mailto=").append(URLEncoder.encode(mailto, StandardCharsets.UTF_8));
@@ -287,25 +556,53 @@ public class OpenAlexApiReader implements ApiDatasetReader {
         return "type:" + String.join("|", types);
     }
      */
-    private List<ScientificRecord> parseResponse(String jsonResponse) throws IOException {
-        List<ScientificRecord> records = new ArrayList<>();
-
-        JsonNode root = objectMapper.readTree(jsonResponse);
-        JsonNode results = root.path("results");
+    /**
+     * Lee la respuesta en streaming directamente desde el cuerpo HTTP. meta (que llega primero)
+     * se lee completo para obtener el siguiente cursor, que se avisa de inmediato; de cada work de results solo se construyen
+     * los campos que usa el mapeo (el abstract se reconstruye a texto sin pasar por un árbol)
+     * y los registros se entregan uno a uno.
+     */
+    private Page parseResponse(InputStream body, Consumer<ScientificRecord> consumer,
+                               Consumer<String> onNextCursor) throws IOException {
+        String nextCursor = null;
+        int works = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new Page(0, null);
+            }
 
-        if (results.isArray()) {
-            for (JsonNode work : results) {
-                ScientificRecord record = mapToScientificRecord(work);
-                if (record != null) {
-                    records.add(record);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("meta".equals(field)) {
+                    JsonNode meta = objectMapper.readTree(parser);
+                    JsonNode cursorNode = meta.path("next_cursor");
+                    nextCursor = cursorNode.isTextual() ? cursorNode.asText() : null;
+                    onNextCursor.accept(nextCursor);
+                } else if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        JsonProjection projection = includeAbstracts ? WORK_PROJECTION_WITH_ABSTRACT : WORK_PROJECTION;
+                        ScientificRecord record = mapToScientificRecord(projection.read(parser, objectMapper));
+                        if (record != null) {
+                            consumer.accept(record);
+                        }
+                        works++;
+                    }
+                } else {
+                    parser.skipChildren();
                 }
             }
         }
 
-        return records;
+        return new Page(works, nextCursor);
     }
 
-    private ScientificRecord mapToScientificRecord(JsonNode work) {
+    /**
+     * Convierte un work (de la API o del snapshot, ver {@link OpenAlexSnapshotReader}) en registro
+     */
+    static ScientificRecord mapToScientificRecord(JsonNode work) {
         try {
             String title = work.path("display_name").asText();
             if (title == null || title.trim().isEmpty()) {
@@ -361,12 +658,11 @@ public class OpenAlexApiReader implements ApiDatasetReader {
                 url = primaryLocation.path("landing_page_url").asText();
             }
 
-            // Abstract (OpenAlex da índice invertido)
-            String abstractText = null;
-            JsonNode abstractInverted = work.path("abstract_inverted_index");
-            if (!abstractInverted.isMissingNode() && abstractInverted.size() > 0) {
-                abstractText = "Abstract available";
-            }
+            // Abstract: ya reconstruido en el stream, o índice invertido completo si el work se leyó como árbol
+            JsonNode abstractNode = work.path(ABSTRACT_FIELD);
+            String abstractText = abstractNode.isTextual()
+                    ? abstractNode.asText()
+                    : InvertedIndexAbstract.reconstruct(abstractNode);
 
             return ScientificRecord.builder()
                     .id(work.path("id").asText())
@@ -389,7 +685,7 @@ public class OpenAlexApiReader implements ApiDatasetReader {
         }
     }
 
-    private boolean isConference(String venue) {
+    private static boolean isConference(String venue) {
         if (venue == null) return false;
         String v = venue.toLowerCase();
         return v.contains("conference") ||
@@ -405,15 +701,53 @@ public class OpenAlexApiReader implements ApiDatasetReader {
         return DataSource.OPENALEX.toString();
     }
 
+    @Override
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
     @Override
     public boolean isApiAvailable() {
         try {
-            String testUrl = OPENALEX_API_BASE + "?search=test&per_page=1";
-            String response = restTemplate.getForObject(testUrl, String.class);
+            String testUrl = baseUrl + "?per_page=1&select=id";
+            String response = httpClient.probe(testUrl);
             return response != null && !response.trim().isEmpty();
         } catch (Exception e) {
             log.warn("OpenAlex API no disponible: {}", e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Cupo sin usar de los shards de un mismo concept ID o búsqueda: un tramo de fechas con menos
+     * resultados que su máximo lo devuelve al terminar y los tramos que siguen descargando lo
+     * toman de a una página.
+     */
+    private static final class ShardBudget {
+        private final AtomicInteger spare = new AtomicInteger();
+
+        void release(int records) {
+            if (records > 0) spare.addAndGet(records);
+        }
+
+        /**
+         * Toma hasta {@code records} del sobrante
+         * @return cuántos se tomaron (0 si no queda)
+         */
+        int claim(int records) {
+            return Math.min(records, spare.getAndUpdate(available -> available - Math.min(available, records)));
+        }
+    }
+
+    private record Shard(String conceptFilter, String searchQuery, String fromDate, String toDate, int maxResults,
+                         ShardBudget budget) {
+        @Override
+        public String toString() {
+            return (conceptFilter != null ? conceptFilter : "search:" + searchQuery) + " [" + fromDate + " .. " + toDate + "]";
+        }
+    }
+
+    private record Page(int workCount, String nextCursor) {}
+
+    private record FetchedPage(List<ScientificRecord> records, int workCount, String nextCursor) {}
+}
@@ -0,0 +1,328 @@
+package co.edu.uniquindio.proyectoAlgoritmos.reader;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.DataSource;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Lector del snapshot de works de OpenAlex (works/updated_date=.../part_NNN.gz, JSON Lines comprimido)
+ * como fuente OpenAlex, para cargas masivas sin paginar la API. Se activa con
+ * app.openalex-snapshot.enabled y reemplaza a {@link OpenAlexApiReader}.
+ * Las particiones se descomprimen y parsean en paralelo (un hilo por partición, hasta threads a la vez)
+ * con Jackson en streaming y la misma proyección de campos que la API; el filtro por concept IDs
+ * (o por términos de la consulta si no hay concept IDs) y por fecha de publicación se aplica a cada
+ * work antes de mapearlo con {@link OpenAlexApiReader#mapToScientificRecord}. Se reporta el
+ * throughput de cada partición.
+ */
+@Component
+@Order(2)
+@ConditionalOnProperty(prefix = "app.openalex-snapshot", name = "enabled", havingValue = "true")
+@Slf4j
+public class OpenAlexSnapshotReader implements ApiDatasetReader {
+
+    private static final String CONCEPT_PREFIX = "https://openalex.org/";
+
+    @Value("${app.openalex-snapshot.path:src/main/resources/data/input/openalex-snapshot/works}")
+    private String snapshotPath;
+
+    // 0 = un hilo por núcleo disponible
+    @Value("${app.openalex-snapshot.threads:0}")
+    private int threads;
+
+    @Value("${app.openalex-snapshot.page-size:1000}")
+    private int pageSize;
+
+    @Value("${api.openalex.concept-ids-csv:}")
+    private String conceptIdsCsv;
+
+    @Value("${api.openalex.from-date:2018-01-01}")
+    private String fromDate;
+
+    @Value("${api.openalex.to-date:2025-12-31}")
+    private String toDate;
+
+    @Value("${api.openalex.include-abstracts:true}")
+    private boolean includeAbstracts;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonProjection projection;
+    private ExecutorService partitionExecutor;
+
+    @PostConstruct
+    void init() {
+        String[] fields = Arrays.copyOf(OpenAlexApiReader.WORK_FIELDS, OpenAlexApiReader.WORK_FIELDS.length + 2);
+        fields[fields.length - 2] = "concepts.id";
+        fields[fields.length - 1] = "publication_date";
+        projection = JsonProjection.of(fields);
+        if (includeAbstracts) {
+            projection.withReader(OpenAlexApiReader.ABSTRACT_FIELD, OpenAlexApiReader.ABSTRACT_READER);
+        }
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        partitionExecutor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "openalex-snapshot-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        partitionExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<ScientificRecord> downloadFromApi(String searchQuery, int maxResults) throws IOException {
+        List<ScientificRecord> allRecords = new ArrayList<>();
+        downloadPages(searchQuery, maxResults, allRecords::addAll);
+        return allRecords;
+    }
+
+    /**
+     * Lee todas las particiones en paralelo entregando las páginas de works que cumplen el filtro en
+     * el orden en que se completan. Las entregas se serializan, así un consumidor lento frena a los
+     * hilos de las particiones.
+     * @param maxResults máximo de registros a entregar (0 = todos los que cumplan el filtro)
+     */
+    @Override
+    public void downloadPages(String searchQuery, int maxResults,
+                              Consumer<List<ScientificRecord>> pageConsumer) throws IOException {
+        List<Path> partitions = listPartitions();
+        WorkFilter filter = new WorkFilter(getConceptIds(), queryTerms(searchQuery), fromDate, toDate);
+        int limit = maxResults > 0 ? maxResults : Integer.MAX_VALUE;
+        log.info("Leyendo snapshot de OpenAlex {}: {} particiones, filtro {}, max: {}",
+                snapshotPath, partitions.size(), filter, maxResults > 0 ? maxResults : "todos");
+
+        long start = System.nanoTime();
+        Delivery delivery = new Delivery(pageConsumer, limit);
+        List<Future<PartitionStats>> futures = new ArrayList<>();
+        for (Path partition : partitions) {
+            futures.add(partitionExecutor.submit(() -> readPartition(partition, filter, delivery)));
+        }
+
+        long works = 0;
+        int failed = 0;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    works += futures.get(i).get().works();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("Error leyendo la partición {}: {}", partitions.get(i), e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            delivery.stop();
+            futures.forEach(future -> future.cancel(true));
+            throw new IOException("Lectura del snapshot de OpenAlex interrumpida", e);
+        }
+
+        if (failed == partitions.size() && failed > 0) {
+            throw new IOException("No se pudo leer ninguna partición del snapshot de OpenAlex");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Snapshot de OpenAlex: {} works leídos, {} entregados de {} particiones ({} con error) en {} s ({} works/s)",
+                works, delivery.delivered(), partitions.size(), failed, String.format(Locale.ROOT, "%.1f", seconds),
+                String.format(Locale.ROOT, "%.0f", seconds > 0 ? works / seconds : 0));
+    }
+
+    /**
+     * Descomprime y parsea una partición, acumulando los works seleccionados en páginas
+     */
+    private PartitionStats readPartition(Path partition, WorkFilter filter, Delivery delivery) throws IOException {
+        long start = System.nanoTime();
+        long works = 0;
+        int selected = 0;
+        int effectivePageSize = Math.max(1, pageSize);
+        List<ScientificRecord> page = new ArrayList<>(effectivePageSize);
+
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(partition), 1 << 16), 1 << 16);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token;
+            while (!delivery.isStopped() && (token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonNode work = projection.read(parser, objectMapper);
+                works++;
+                if (!filter.matches(work)) continue;
+
+                ScientificRecord record = OpenAlexApiReader.mapToScientificRecord(work);
+                if (record == null) continue;
+                page.add(record);
+                selected++;
+                if (page.size() == effectivePageSize) {
+                    delivery.accept(page);
+                    page = new ArrayList<>(effectivePageSize);
+                }
+            }
+        }
+        if (!page.isEmpty()) {
+            delivery.accept(page);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double megabytes = Files.size(partition) / (1024.0 * 1024.0);
+        log.info("Partición {}: {} works, {} seleccionados, {} MB comprimidos en {} s ({} works/s, {} MB/s)",
+                partition.getParent().getFileName() + "/" + partition.getFileName(), works, selected,
+                String.format(Locale.ROOT, "%.1f", megabytes), String.format(Locale.ROOT, "%.2f", seconds),
+                String.format(Locale.ROOT, "%.0f", seconds > 0 ? works / seconds : 0),
+                String.format(Locale.ROOT, "%.1f", seconds > 0 ? megabytes / seconds : 0));
+        return new PartitionStats(works, selected);
+    }
+
+    private List<Path> listPartitions() throws IOException {
+        Path root = Path.of(snapshotPath);
+        if (!Files.isDirectory(root)) {
+            throw new IOException("No existe el directorio del snapshot de OpenAlex: " + root);
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(".gz"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private List<String> getConceptIds() {
+        if (conceptIdsCsv == null) return List.of();
+        String cleaned = conceptIdsCsv.replace("[", "").replace("]", "");
+        return Arrays.stream(cleaned.split("\\s*,\\s*"))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static List<String> queryTerms(String searchQuery) {
+        if (searchQuery == null || searchQuery.isBlank()) return List.of();
+        return Arrays.stream(searchQuery.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Entrega serializada de páginas hasta completar el máximo de registros
+     */
+    private static final class Delivery {
+        private final Consumer<List<ScientificRecord>> consumer;
+        private final int limit;
+        private int delivered;
+        private volatile boolean stopped;
+
+        private Delivery(Consumer<List<ScientificRecord>> consumer, int limit) {
+            this.consumer = consumer;
+            this.limit = limit;
+        }
+
+        synchronized void accept(List<ScientificRecord> page) {
+            if (stopped) return;
+            List<ScientificRecord> accepted = page.size() > limit - delivered ? page.subList(0, limit - delivered) : page;
+            if (!accepted.isEmpty()) {
+                consumer.accept(accepted);
+                delivered += accepted.size();
+            }
+            if (delivered >= limit) {
+                stopped = true;
+            }
+        }
+
+        void stop() {
+            stopped = true;
+        }
+
+        boolean isStopped() {
+            return stopped;
+        }
+
+        synchronized int delivered() {
+            return delivered;
+        }
+    }
+
+    /**
+     * Filtro por concept IDs (alguno de los del work) o, sin concept IDs, por términos de la consulta
+     * en el título; además publication_date dentro de [from, to]
+     */
+    private record WorkFilter(List<String> conceptIds, List<String> terms, String from, String to) {
+
+        boolean matches(JsonNode work) {
+            String date = work.path("publication_date").asText("");
+            if (!date.isEmpty() && (date.compareTo(from) < 0 || date.compareTo(to) > 0)) {
+                return false;
+            }
+
+            if (!conceptIds.isEmpty()) {
+                for (JsonNode concept : work.path("concepts")) {
+                    String id = concept.path("id").asText("");
+                    String shortId = id.startsWith(CONCEPT_PREFIX) ? id.substring(CONCEPT_PREFIX.length()) : id;
+                    if (conceptIds.contains(shortId)) return true;
+                }
+                return false;
+            }
+
+            String title = work.path("display_name").asText("").toLowerCase(Locale.ROOT);
+            for (String term : terms) {
+                if (!title.contains(term)) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return (conceptIds.isEmpty() ? "términos " + terms : "concepts " + conceptIds) + " [" + from + " .. " + to + "]";
+        }
+    }
+
+    private record PartitionStats(long works, int selected) {}
+
+    @Override
+    public String getSourceName() {
+        return DataSource.OPENALEX.toString();
+    }
+
+    @Override
+    public String getBaseUrl() {
+        return Path.of(snapshotPath).toUri().toString();
+    }
+
+    /**
+     * El snapshot está disponible si su directorio existe y tiene al menos una partición
+     */
+    @Override
+    public boolean isApiAvailable() {
+        try {
+            return !listPartitions().isEmpty();
+        } catch (IOException e) {
+            log.warn("Snapshot de OpenAlex no disponible: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package co.edu.uniquindio.proyectoAlgoritmos.reader;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Adaptador de {@link ApiDatasetReader#downloadPages} a {@link Flow.Publisher}.
+ * Cada página se publica con {@link SubmissionPublisher#submit}, que bloquea el hilo de descarga
+ * mientras el búfer del suscriptor esté lleno. Si el suscriptor cancela, la siguiente página
+ * interrumpe la descarga en lugar de seguir pidiendo páginas que nadie va a leer.
+ */
+final class PagePublisher implements Flow.Publisher<List<ScientificRecord>> {
+
+    private final ApiDatasetReader reader;
+    private final String searchQuery;
+    private final int maxResults;
+    private final Executor executor;
+    private final int maxBufferedPages;
+
+    PagePublisher(ApiDatasetReader reader, String searchQuery, int maxResults, Executor executor, int maxBufferedPages) {
+        this.reader = reader;
+        this.searchQuery = searchQuery;
+        this.maxResults = maxResults;
+        this.executor = executor;
+        this.maxBufferedPages = Math.max(1, maxBufferedPages);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<ScientificRecord>> subscriber) {
+        SubmissionPublisher<List<ScientificRecord>> publisher =
+                new SubmissionPublisher<>(deliveryExecutor(), maxBufferedPages);
+        publisher.subscribe(subscriber);
+
+        executor.execute(() -> {
+            try {
+                reader.downloadPages(searchQuery, maxResults, page -> {
+                    if (!publisher.hasSubscribers()) {
+                        throw new CancellationException("Suscripción cancelada");
+                    }
+                    publisher.submit(page);
+                });
+                publisher.close();
+            } catch (Exception e) {
+                publisher.closeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Las entregas al suscriptor no usan {@code executor}: con un pool acotado el hilo de descarga,
+     * bloqueado en submit, podría quedarse con el único hilo que debía vaciar el búfer
+     */
+    private static Executor deliveryExecutor() {
+        return ForkJoinPool.getCommonPoolParallelism() > 1
+                ? ForkJoinPool.commonPool()
+                : task -> new Thread(task, "page-publisher").start();
+    }
+}
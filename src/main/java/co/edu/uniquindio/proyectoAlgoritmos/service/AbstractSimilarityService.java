@@ -0,0 +1,98 @@
+package co.edu.uniquindio.proyectoAlgoritmos.service;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.RelatedPaperDto;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.util.TfIdfIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Similitud entre abstracts con TF-IDF: "artículos relacionados" y coseno entre pares de registros.
+ * Solo se indexan registros con un abstract real (con un mínimo de términos).
+ */
+@Service
+@Slf4j
+public class AbstractSimilarityService {
+
+    @Value("${app.processing.abstract-similarity.min-terms:5}")
+    private int minTerms;
+
+    private volatile IndexedCorpus corpus = new IndexedCorpus(new TfIdfIndex(List.of()), new ScientificRecord[0], Map.of());
+
+    public void rebuildIndex(List<ScientificRecord> records) {
+        long startTime = System.currentTimeMillis();
+
+        List<ScientificRecord> withAbstract = records.stream()
+                .filter(record -> TfIdfIndex.tokenize(record.getAbstractText()).size() >= minTerms)
+                .toList();
+
+        TfIdfIndex index = new TfIdfIndex(withAbstract.stream().map(ScientificRecord::getAbstractText).toList());
+        Map<String, Integer> docById = new HashMap<>();
+        for (int doc = 0; doc < withAbstract.size(); doc++) {
+            String id = withAbstract.get(doc).getId();
+            if (id != null) docById.putIfAbsent(id, doc);
+        }
+
+        corpus = new IndexedCorpus(index, withAbstract.toArray(new ScientificRecord[0]), docById);
+        log.info("Índice TF-IDF de abstracts: {} documentos, {} términos en {} ms",
+                index.size(), index.vocabularySize(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Artículos cuyo abstract es más parecido al del registro dado
+     */
+    public List<RelatedPaperDto> findRelated(String recordId, int k) {
+        IndexedCorpus current = corpus;
+        Integer doc = current.docById().get(recordId);
+        if (doc == null) {
+            throw new IllegalArgumentException("No hay abstract indexado para el registro " + recordId);
+        }
+        return toDtos(current, current.index().topK(doc, k));
+    }
+
+    /**
+     * Artículos cuyo abstract es más parecido a un texto libre
+     */
+    public List<RelatedPaperDto> findRelatedToText(String text, int k) {
+        if (text == null || text.trim().isEmpty()) {
+            throw new IllegalArgumentException("El texto de búsqueda no puede estar vacío");
+        }
+        IndexedCorpus current = corpus;
+        return toDtos(current, current.index().topK(text, k));
+    }
+
+    /**
+     * Coseno TF-IDF entre los abstracts de dos registros (0 si alguno no tiene abstract)
+     */
+    public double abstractSimilarity(ScientificRecord first, ScientificRecord second) {
+        if (first.getAbstractText() == null || second.getAbstractText() == null) return 0.0;
+
+        IndexedCorpus current = corpus;
+        Integer docA = first.getId() != null ? current.docById().get(first.getId()) : null;
+        Integer docB = second.getId() != null ? current.docById().get(second.getId()) : null;
+        if (docA != null && docB != null) {
+            return current.index().cosine(docA, docB);
+        }
+        return current.index().cosine(first.getAbstractText(), second.getAbstractText());
+    }
+
+    private List<RelatedPaperDto> toDtos(IndexedCorpus current, List<Map.Entry<Integer, Double>> hits) {
+        List<RelatedPaperDto> result = new ArrayList<>(hits.size());
+        for (Map.Entry<Integer, Double> hit : hits) {
+            ScientificRecord record = current.records()[hit.getKey()];
+            result.add(RelatedPaperDto.builder()
+                    .recordId(record.getId())
+                    .title(record.getTitle())
+                    .year(record.getYear())
+                    .source(record.getSource())
+                    .cosineSimilarity(hit.getValue())
+                    .build());
+        }
+        return result;
+    }
+
+    private record IndexedCorpus(TfIdfIndex index, ScientificRecord[] records, Map<String, Integer> docById) {}
+}
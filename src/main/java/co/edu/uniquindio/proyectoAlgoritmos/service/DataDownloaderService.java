@@ -1,11 +1,15 @@
 package co.edu.uniquindio.proyectoAlgoritmos.service;
 
+import co.edu.uniquindio.proyectoAlgoritmos.dto.BloomFilterStatsDto;
+import co.edu.uniquindio.proyectoAlgoritmos.dto.IngestionResultDto;
+import co.edu.uniquindio.proyectoAlgoritmos.http.SourceHealthRegistry;
 import co.edu.uniquindio.proyectoAlgoritmos.model.DataSource;
 import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
 import co.edu.uniquindio.proyectoAlgoritmos.reader.ApiDatasetReader;
-import co.edu.uniquindio.proyectoAlgoritmos.reader.DblpApiReader;
-import co.edu.uniquindio.proyectoAlgoritmos.reader.OpenAlexApiReader;
 import co.edu.uniquindio.proyectoAlgoritmos.util.CsvUtils;
+import co.edu.uniquindio.proyectoAlgoritmos.util.DuplicateScreen;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,6 +18,10 @@ import org.springframework.stereotype.Service;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +29,8 @@ import java.util.List;
 public class DataDownloaderService {
 
     private final CsvUtils csvUtils;
-    private final DblpApiReader dblpApiReader;
-    private final OpenAlexApiReader openAlexApiReader;
+    private final List<ApiDatasetReader> apiReaders; // en el orden de @Order de cada reader
+    private final SourceHealthRegistry sourceHealth;
 
     @Value("${api.dblp.max-results:500}")
     private int dblpMaxResults;
@@ -30,24 +38,56 @@ public class DataDownloaderService {
     @Value("${api.openalex.max-results:500}")
     private int openAlexMaxResults;
 
+    @Value("${app.processing.bloom-filter.expected-insertions:100000}")
+    private long bloomExpectedInsertions;
+
+    @Value("${app.processing.bloom-filter.false-positive-rate:0.01}")
+    private double bloomFalsePositiveRate;
+
+    @Value("${app.processing.max-concurrent-downloads:3}")
+    private int maxConcurrentDownloads;
+
+    @Value("${app.processing.download-timeout-seconds:600}")
+    private long downloadTimeoutSeconds;
+
+    // Páginas que cada fuente puede adelantar al consumidor antes de frenar su descarga
+    @Value("${app.processing.streaming.buffered-pages:4}")
+    private int streamingBufferedPages;
+
+    private ExecutorService downloadExecutor;
+
+    @PostConstruct
+    void initExecutor() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        downloadExecutor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentDownloads), r -> {
+            Thread thread = new Thread(r, "source-download-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        downloadExecutor.shutdownNow();
+    }
+
     /**
      * Descarga datos desde APIs reales o archivos CSV locales como fallback
      */
     public List<ScientificRecord> downloadFromSource(DataSource source, String searchQuery) {
         log.info("Iniciando descarga desde {} con query: {}", source.getDisplayName(), searchQuery);
 
-        try {
-            switch (source) {
-                case DBLP:
-                    return downloadFromApi(dblpApiReader, searchQuery, dblpMaxResults);
+        ApiDatasetReader reader = apiReaders.stream()
+                .filter(r -> sourceOf(r) == source)
+                .findFirst()
+                .orElse(null);
 
-                case OPENALEX:
-                    return downloadFromApi(openAlexApiReader, searchQuery, openAlexMaxResults);
-
-                default:
-                    // Fallback a archivos CSV locales para otras fuentes
-                    return downloadFromCsvFile(source, searchQuery);
+        try {
+            if (reader == null) {
+                // Fallback a archivos CSV locales para otras fuentes
+                return downloadFromCsvFile(source, searchQuery);
             }
+            return downloadFromApi(reader, searchQuery, maxResultsFor(source));
 
         } catch (Exception e) {
             log.error("Error descargando desde {}: {}", source.getDisplayName(), e.getMessage());
@@ -63,12 +103,16 @@ public class DataDownloaderService {
      */
     private List<ScientificRecord> downloadFromApi(ApiDatasetReader apiReader, String searchQuery, int maxResults) {
         try {
-            if (!apiReader.isApiAvailable()) {
-                log.warn("API {} no disponible", apiReader.getSourceName());
-                return new ArrayList<>();
+            // Estado de salud cacheado; solo sondea si no hay resultado reciente o el circuito abierto expiró
+            if (!sourceHealth.isAvailable(apiReader)) {
+                throw new IllegalStateException("API " + apiReader.getSourceName() + " no disponible (circuito "
+                        + sourceHealth.stateOf(apiReader) + ")");
             }
 
             List<ScientificRecord> records = apiReader.downloadFromApi(searchQuery, maxResults);
+            if (records.isEmpty() && sourceHealth.stateOf(apiReader) == SourceHealthRegistry.State.OPEN) {
+                throw new IllegalStateException("API " + apiReader.getSourceName() + " falló durante la descarga");
+            }
             log.info("Descargados {} registros desde API {}", records.size(), apiReader.getSourceName());
             return records;
 
@@ -102,6 +146,22 @@ public class DataDownloaderService {
         }
     }
 
+    private DataSource sourceOf(ApiDatasetReader reader) {
+        try {
+            return DataSource.valueOf(reader.getSourceName());
+        } catch (IllegalArgumentException e) {
+            return DataSource.UNKNOWN;
+        }
+    }
+
+    private int maxResultsFor(DataSource source) {
+        return switch (source) {
+            case DBLP -> dblpMaxResults;
+            case OPENALEX -> openAlexMaxResults;
+            default -> Math.max(dblpMaxResults, openAlexMaxResults);
+        };
+    }
+
     private String getFileNameForSource(DataSource source) {
         return switch (source) {
             case DBLP -> "dblp_generative_ai.csv";
@@ -141,31 +201,233 @@ public class DataDownloaderService {
         );
     }
 
+    /**
+     * Descarga desde todas las fuentes y, a medida que llega cada fuente, alimenta un filtro de Bloom
+     * de DOIs y títulos. Separa los registros únicos con certeza de los probables duplicados,
+     * que son los únicos que necesitan la detección exacta.
+     */
+    public IngestionResultDto downloadAndScreen(String searchQuery) {
+        DuplicateScreen screen = newDuplicateScreen();
+
+        List<ScientificRecord> allRecords = downloadFromAllSources(searchQuery,
+                sourceRecords -> sourceRecords.forEach(screen::offer));
+
+        List<ScientificRecord> candidates = new ArrayList<>();
+        List<ScientificRecord> definitelyUnique = new ArrayList<>();
+        for (ScientificRecord record : allRecords) {
+            if (screen.isCandidate(record)) {
+                candidates.add(record);
+            } else {
+                definitelyUnique.add(record);
+            }
+        }
+
+        BloomFilterStatsDto stats = screen.getStats();
+        stats.setCandidates(candidates.size());
+        stats.setDefinitelyUnique(definitelyUnique.size());
+
+        log.info("Filtro de Bloom: {} candidatos a duplicado, {} únicos con certeza; {} claves, {} KB, " +
+                        "FPP configurada {}, estimada {}",
+                candidates.size(), definitelyUnique.size(), stats.getDistinctKeys(),
+                stats.getMemoryBytes() / 1024, stats.getConfiguredFalsePositiveRate(),
+                String.format("%.5f", stats.getEstimatedFalsePositiveRate()));
+
+        return IngestionResultDto.builder()
+                .records(allRecords)
+                .duplicateCandidates(candidates)
+                .definitelyUnique(definitelyUnique)
+                .screeningStats(stats)
+                .build();
+    }
+
+    /**
+     * Filtro de Bloom de duplicados dimensionado con la configuración de bloom-filter
+     */
+    public DuplicateScreen newDuplicateScreen() {
+        return new DuplicateScreen(bloomExpectedInsertions, bloomFalsePositiveRate);
+    }
+
     /**
      * Descarga desde todas las fuentes principales (DBLP + OpenAlex)
      */
     public List<ScientificRecord> downloadFromAllSources(String searchQuery) {
-        List<ScientificRecord> allRecords = new ArrayList<>();
+        return downloadFromAllSources(searchQuery, sourceRecords -> {});
+    }
 
-        // Descargar desde DBLP
-        try {
-            List<ScientificRecord> dblpRecords = downloadFromSource(DataSource.DBLP, searchQuery);
-            allRecords.addAll(dblpRecords);
-            log.info("DBLP: {} registros descargados", dblpRecords.size());
-        } catch (Exception e) {
-            log.warn("Error descargando desde DBLP: {}", e.getMessage());
+    /**
+     * Descarga todas las fuentes en paralelo (como máximo max-concurrent-downloads a la vez).
+     * Cada fuente tiene su propio tiempo límite; si falla o se vence se usa su CSV de respaldo.
+     * Los resultados se unen y se notifican siempre en el orden de los readers, sin importar
+     * cuál termine primero.
+     */
+    private List<ScientificRecord> downloadFromAllSources(String searchQuery,
+                                                         Consumer<List<ScientificRecord>> onSourceDownloaded) {
+        long startTime = System.currentTimeMillis();
+
+        List<DataSource> sources = new ArrayList<>();
+        List<Future<List<ScientificRecord>>> futures = new ArrayList<>();
+        for (ApiDatasetReader reader : apiReaders) {
+            DataSource source = sourceOf(reader);
+            sources.add(source);
+            futures.add(downloadExecutor.submit(() -> downloadFromSource(source, searchQuery)));
         }
 
-        // Descargar desde OpenAlex
-        try {
-            List<ScientificRecord> openAlexRecords = downloadFromSource(DataSource.OPENALEX, searchQuery);
-            allRecords.addAll(openAlexRecords);
-            log.info("OpenAlex: {} registros descargados", openAlexRecords.size());
-        } catch (Exception e) {
-            log.warn("Error descargando desde OpenAlex: {}", e.getMessage());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(downloadTimeoutSeconds);
+        List<ScientificRecord> allRecords = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            DataSource source = sources.get(i);
+            List<ScientificRecord> sourceRecords;
+            try {
+                sourceRecords = futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                futures.get(i).cancel(true);
+                log.warn("{}: tiempo límite de {} s agotado, usando CSV de respaldo", source, downloadTimeoutSeconds);
+                sourceRecords = downloadFromCsvFile(source, searchQuery);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Descarga interrumpida", e);
+            } catch (ExecutionException e) {
+                log.warn("Error descargando desde {}: {}", source, e.getCause().getMessage());
+                sourceRecords = downloadFromCsvFile(source, searchQuery);
+            }
+
+            allRecords.addAll(sourceRecords);
+            onSourceDownloaded.accept(sourceRecords);
+            log.info("{}: {} registros descargados", source, sourceRecords.size());
         }
 
-        log.info("Total de registros descargados de todas las fuentes: {}", allRecords.size());
+        log.info("Total de registros descargados de todas las fuentes: {} en {} ms",
+                allRecords.size(), System.currentTimeMillis() - startTime);
         return allRecords;
     }
-}
\ No newline at end of file
+
+    /**
+     * Descarga todas las fuentes en streaming: cada página se entrega a {@code onPage} (con el índice
+     * de su reader) apenas llega. Las entregas nunca son concurrentes
+     * y cada fuente adelanta como máximo buffered-pages páginas, así un consumidor lento frena las
+     * descargas en lugar de acumular registros en memoria.
+     * Si una fuente falla o se vence sin haber entregado nada se entrega su CSV de respaldo; si ya
+     * había entregado páginas se conserva lo recibido (su checkpoint permite completarla después).
+     * @return número total de registros entregados
+     */
+    public int streamFromAllSources(String searchQuery, BiConsumer<Integer, List<ScientificRecord>> onPage) {
+        long startTime = System.currentTimeMillis();
+        Object deliveryLock = new Object();
+
+        List<PageSubscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < apiReaders.size(); i++) {
+            ApiDatasetReader reader = apiReaders.get(i);
+            int index = i;
+            PageSubscriber subscriber = new PageSubscriber(page -> {
+                synchronized (deliveryLock) {
+                    onPage.accept(index, page);
+                }
+            });
+            subscribers.add(subscriber);
+
+            if (!sourceHealth.isAvailable(reader)) {
+                subscriber.done.completeExceptionally(new IllegalStateException(
+                        "API " + reader.getSourceName() + " no disponible (circuito " + sourceHealth.stateOf(reader) + ")"));
+                continue;
+            }
+            reader.publishPages(searchQuery, maxResultsFor(sourceOf(reader)), downloadExecutor, streamingBufferedPages)
+                    .subscribe(subscriber);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(downloadTimeoutSeconds);
+        int total = 0;
+        for (int i = 0; i < subscribers.size(); i++) {
+            ApiDatasetReader reader = apiReaders.get(i);
+            DataSource source = sourceOf(reader);
+            PageSubscriber subscriber = subscribers.get(i);
+            boolean failed = false;
+            try {
+                subscriber.done.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                failed = subscriber.delivered.get() == 0 && sourceHealth.stateOf(reader) == SourceHealthRegistry.State.OPEN;
+            } catch (TimeoutException e) {
+                subscriber.cancel();
+                log.warn("{}: tiempo límite de {} s agotado", source, downloadTimeoutSeconds);
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                subscribers.forEach(PageSubscriber::cancel);
+                throw new IllegalStateException("Descarga interrumpida", e);
+            } catch (ExecutionException e) {
+                log.warn("Error descargando desde {}: {}", source, e.getCause().getMessage());
+                failed = true;
+            }
+
+            if (failed && subscriber.delivered.get() == 0) {
+                log.info("Intentando fallback a archivo CSV para {}", source);
+                List<ScientificRecord> fallback = downloadFromCsvFile(source, searchQuery);
+                if (!fallback.isEmpty()) {
+                    subscriber.consumer.accept(fallback);
+                    subscriber.delivered.addAndGet(fallback.size());
+                }
+            } else if (failed) {
+                log.warn("{}: se conservan los {} registros recibidos antes del fallo", source, subscriber.delivered.get());
+            }
+
+            log.info("{}: {} registros recibidos en streaming", source, subscriber.delivered.get());
+            total += subscriber.delivered.get();
+        }
+
+        log.info("Total de registros recibidos en streaming: {} en {} ms",
+                total, System.currentTimeMillis() - startTime);
+        return total;
+    }
+
+    /**
+     * Suscriptor que pide las páginas de a una: la siguiente solo se pide cuando el consumidor
+     * terminó con la anterior
+     */
+    private static final class PageSubscriber implements Flow.Subscriber<List<ScientificRecord>> {
+        private final Consumer<List<ScientificRecord>> consumer;
+        private final CompletableFuture<Integer> done = new CompletableFuture<>();
+        private final AtomicInteger delivered = new AtomicInteger();
+        private volatile Flow.Subscription subscription;
+        private volatile boolean cancelled;
+
+        PageSubscriber(Consumer<List<ScientificRecord>> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ScientificRecord> page) {
+            if (cancelled) return; // página en vuelo tras agotarse el tiempo límite
+            try {
+                consumer.accept(page);
+                delivered.addAndGet(page.size());
+                subscription.request(1);
+            } catch (RuntimeException e) {
+                subscription.cancel();
+                done.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            done.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(delivered.get());
+        }
+
+        void cancel() {
+            cancelled = true;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
@@ -1,21 +1,36 @@
 package co.edu.uniquindio.proyectoAlgoritmos.service;
 
+import co.edu.uniquindio.proyectoAlgoritmos.dto.BloomFilterStatsDto;
+import co.edu.uniquindio.proyectoAlgoritmos.dto.IncrementalIndexResultDto;
+import co.edu.uniquindio.proyectoAlgoritmos.dto.IngestionResultDto;
 import co.edu.uniquindio.proyectoAlgoritmos.dto.ProcessingResultDto;
 import co.edu.uniquindio.proyectoAlgoritmos.dto.UnificationStatsDto;
 import co.edu.uniquindio.proyectoAlgoritmos.model.DataSource;
 import co.edu.uniquindio.proyectoAlgoritmos.model.ProcessingStatus;
 import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.ColumnarRecordStore;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.OutputFileWriter;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.PersistentDedupIndex;
 import co.edu.uniquindio.proyectoAlgoritmos.util.CsvUtils;
+import co.edu.uniquindio.proyectoAlgoritmos.util.DuplicateScreen;
+import co.edu.uniquindio.proyectoAlgoritmos.util.IncrementalDuplicateIndex;
+import co.edu.uniquindio.proyectoAlgoritmos.util.StringSimilarityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +40,28 @@ public class DataUnificationService {
     private final DataDownloaderService downloaderService;
     private final DuplicateDetectionService duplicateDetectionService;
     private final CsvUtils csvUtils;
+    private final PersistentDedupIndex dedupIndex;
+    private final ColumnarRecordStore columnarStore;
+    private final OutputFileWriter outputFileWriter;
+    private final TitleSimilarityService titleSimilarityService;
+    private final AbstractSimilarityService abstractSimilarityService;
+    private final RecordQueryService recordQueryService;
+    private final StringSimilarityUtils similarityUtils;
+
+    @Value("${app.file-storage.output-path:src/main/resources/data/output}")
+    private String outputPath;
+
+    @Value("${app.dedup-index.rebuild:false}")
+    private boolean rebuildDedupIndex;
+
+    @Value("${app.processing.bloom-filter.enabled:true}")
+    private boolean bloomFilterEnabled;
+
+    @Value("${app.processing.streaming.enabled:true}")
+    private boolean streamingEnabled;
+
+    @Value("${app.columnar.enabled:true}")
+    private boolean columnarEnabled;
 
     @Async
     public CompletableFuture<ProcessingResultDto> processAndUnifyData(String searchQuery) {
@@ -34,28 +71,43 @@ public class DataUnificationService {
         log.info("Iniciando proceso de unificación [{}] con query: {}", processId, searchQuery);
 
         try {
-            // 1. Descargar datos de DBLP + OpenAlex
-            List<ScientificRecord> allRecords = downloaderService.downloadFromAllSources(searchQuery);
+            // 1-3. Descargar de DBLP + OpenAlex y detectar duplicados: en streaming a medida que llegan
+            // las páginas, o por lotes (con filtro de Bloom si está habilitado)
+            DeduplicationOutcome outcome = streamingEnabled
+                    ? downloadAndDeduplicateStreaming(searchQuery)
+                    : downloadAndDeduplicateBatch(searchQuery);
+            List<ScientificRecord> allRecords = outcome.allRecords();
+            Map<String, List<ScientificRecord>> duplicateGroups = outcome.duplicateGroups();
+            List<ScientificRecord> uniqueRecords = outcome.uniqueRecords();
 
             if (allRecords.isEmpty()) {
                 log.warn("No se descargaron registros de ninguna fuente");
                 return CompletableFuture.completedFuture(createEmptyResult(processId, startTime));
             }
 
-            // 2. Detectar duplicados
-            Map<String, List<ScientificRecord>> duplicateGroups =
-                    duplicateDetectionService.detectDuplicates(allRecords);
+            // 4. Generar archivos de salida con nombres fijos según requisitos, en segundo plano
+            // mientras se actualizan los índices y se calculan las estadísticas
+            CompletableFuture<String> unifiedFile = saveUnifiedRecords(uniqueRecords);
+            CompletableFuture<String> duplicatesFile = saveDuplicateRecords(duplicateGroups);
 
-            // 3. Obtener registros únicos
-            List<ScientificRecord> uniqueRecords =
-                    duplicateDetectionService.getUniqueRecords(allRecords);
+            // 5. Contrastar con el índice persistente de ejecuciones anteriores
+            IncrementalIndexResultDto indexResult = updateDedupIndex(allRecords);
 
-            // 4. Generar archivos de salida con nombres fijos según requisitos
-            String unifiedFilePath = saveUnifiedRecords(uniqueRecords);
-            String duplicatesFilePath = saveDuplicateRecords(duplicateGroups);
+            // 6. Indexar títulos y abstracts del corpus unificado para búsquedas por similitud,
+            // y año/revista/fuente/tipo/autor para las consultas paginadas
+            titleSimilarityService.rebuildIndex(uniqueRecords);
+            abstractSimilarityService.rebuildIndex(uniqueRecords);
+            recordQueryService.rebuildIndex(uniqueRecords);
 
-            // 5. Generar estadísticas
+            // 7. Generar estadísticas
             UnificationStatsDto stats = generateStats(allRecords, uniqueRecords, duplicateGroups);
+            if (indexResult != null) {
+                stats.setNewRecordsSinceLastRun(indexResult.getNewRecords());
+            }
+
+            // 8. Esperar a que terminen de escribirse los archivos
+            String unifiedFilePath = awaitOutput(unifiedFile, "Error guardando archivo unificado");
+            String duplicatesFilePath = awaitOutput(duplicatesFile, "Error guardando archivo de duplicados");
 
             LocalDateTime endTime = LocalDateTime.now();
 
@@ -92,41 +144,170 @@ public class DataUnificationService {
     }
 
     /**
-     * Guarda registros unificados con nombre fijo según requisitos del proyecto
+     * Descarga todo y luego detecta duplicados; con el filtro de Bloom la detección exacta
+     * solo recorre los candidatos
      */
-    private String saveUnifiedRecords(List<ScientificRecord> records) {
-        try {
-            String fileName = "resultados_unificados.csv";
-            String filePath = "src/main/resources/data/output/" + fileName;
+    private DeduplicationOutcome downloadAndDeduplicateBatch(String searchQuery) {
+        IngestionResultDto ingestion = bloomFilterEnabled
+                ? downloaderService.downloadAndScreen(searchQuery)
+                : null;
+        List<ScientificRecord> allRecords = ingestion != null
+                ? ingestion.getRecords()
+                : downloaderService.downloadFromAllSources(searchQuery);
+
+        // Detectar duplicados (solo entre los candidatos que dejó pasar el filtro): los registros con
+        // claves ya conocidas por el índice persistente se agrupan por su cluster, el resto va a la
+        // detección exacta. El filtro no ve los clusters del índice, así que los únicos con certeza
+        // que tienen cluster conocido también se enrutan
+        List<ScientificRecord> dedupInput = allRecords;
+        List<ScientificRecord> screenedUnique = List.of();
+        if (ingestion != null) {
+            dedupInput = new ArrayList<>(ingestion.getDuplicateCandidates());
+            screenedUnique = new ArrayList<>();
+            for (ScientificRecord record : ingestion.getDefinitelyUnique()) {
+                if (knownCluster(record) != null) {
+                    dedupInput.add(record);
+                } else {
+                    screenedUnique.add(record);
+                }
+            }
+        }
+        Map<Long, List<ScientificRecord>> knownClusters = new LinkedHashMap<>();
+        List<ScientificRecord> unknownRecords = new ArrayList<>();
+        for (ScientificRecord record : dedupInput) {
+            Long cluster = knownCluster(record);
+            if (cluster != null) {
+                knownClusters.computeIfAbsent(cluster, k -> new ArrayList<>(2)).add(record);
+            } else {
+                unknownRecords.add(record);
+            }
+        }
+        Map<String, List<ScientificRecord>> duplicateGroups =
+                new LinkedHashMap<>(duplicateDetectionService.detectDuplicates(unknownRecords));
+        int groupCounter = duplicateGroups.size();
+        for (List<ScientificRecord> group : knownClusters.values()) {
+            if (group.size() > 1) {
+                duplicateGroups.put("cluster_group_" + groupCounter++, group);
+            }
+        }
+        if (!knownClusters.isEmpty()) {
+            log.info("Índice persistente: {} registros con claves conocidas agrupados sin detección exacta",
+                    dedupInput.size() - unknownRecords.size());
+        }
 
-            csvUtils.writeRecordsToCsv(records, filePath);
-            log.info("Archivo unificado guardado: {} ({} registros)", filePath, records.size());
+        List<ScientificRecord> uniqueRecords =
+                new ArrayList<>(duplicateDetectionService.getUniqueRecords(dedupInput, duplicateGroups));
+        uniqueRecords.addAll(screenedUnique);
+        return new DeduplicationOutcome(allRecords, duplicateGroups, uniqueRecords);
+    }
 
-            return filePath;
-        } catch (Exception e) {
-            throw new RuntimeException("Error guardando archivo unificado", e);
+    /**
+     * Normaliza e indexa por DOI/título cada página apenas llega (salvo los registros con cluster
+     * conocido en el índice persistente, que se agrupan por ese cluster), mientras las fuentes siguen
+     * descargando; al terminar solo queda ordenar los grupos y elegir el representante de cada uno.
+     * Con el filtro de Bloom habilitado solo se indexan los registros que pueden tener duplicados
+     */
+    private DeduplicationOutcome downloadAndDeduplicateStreaming(String searchQuery) {
+        DuplicateScreen screen = bloomFilterEnabled ? downloaderService.newDuplicateScreen() : null;
+        IncrementalDuplicateIndex incrementalIndex =
+                new IncrementalDuplicateIndex(similarityUtils, this::knownCluster, screen);
+        downloaderService.streamFromAllSources(searchQuery, incrementalIndex::add);
+
+        List<ScientificRecord> allRecords = incrementalIndex.getRecords();
+        Map<String, List<ScientificRecord>> duplicateGroups = incrementalIndex.getDuplicateGroups();
+        List<ScientificRecord> uniqueRecords = duplicateDetectionService.getUniqueRecords(allRecords, duplicateGroups);
+        if (screen != null) {
+            BloomFilterStatsDto stats = screen.getStats();
+            log.info("Filtro de Bloom: {} registros únicos con certeza sin indexar; {} claves, {} KB, FPP estimada {}",
+                    incrementalIndex.getScreenedOut(), stats.getDistinctKeys(), stats.getMemoryBytes() / 1024,
+                    String.format("%.5f", stats.getEstimatedFalsePositiveRate()));
         }
+        log.info("Detección incremental: {} registros, {} grupos de duplicados", allRecords.size(), duplicateGroups.size());
+        return new DeduplicationOutcome(allRecords, duplicateGroups, uniqueRecords);
     }
 
     /**
-     * Guarda registros duplicados con nombre fijo según requisitos del proyecto
+     * Cluster de ejecuciones anteriores para las claves del registro (null si son nuevas o si
+     * el índice se va a reconstruir)
      */
-    private String saveDuplicateRecords(Map<String, List<ScientificRecord>> duplicateGroups) {
-        try {
-            String fileName = "resultados_duplicados.csv";
-            String filePath = "src/main/resources/data/output/" + fileName;
+    private Long knownCluster(ScientificRecord record) {
+        return dedupIndex.isEnabled() && !rebuildDedupIndex ? dedupIndex.knownCluster(record) : null;
+    }
 
-            // Aplanar todos los duplicados en una sola lista
-            List<ScientificRecord> allDuplicates = duplicateGroups.values().stream()
-                    .flatMap(List::stream)
-                    .toList();
+    private record DeduplicationOutcome(List<ScientificRecord> allRecords,
+                                        Map<String, List<ScientificRecord>> duplicateGroups,
+                                        List<ScientificRecord> uniqueRecords) {}
 
-            csvUtils.writeRecordsToCsv(allDuplicates, filePath);
-            log.info("Archivo de duplicados guardado: {} ({} registros)", filePath, allDuplicates.size());
+    /**
+     * Registra los registros en el índice persistente (o lo reconstruye si así se configuró)
+     */
+    private IncrementalIndexResultDto updateDedupIndex(List<ScientificRecord> records) {
+        if (!dedupIndex.isEnabled()) {
+            return null;
+        }
 
-            return filePath;
-        } catch (Exception e) {
-            throw new RuntimeException("Error guardando archivo de duplicados", e);
+        IncrementalIndexResultDto result = rebuildDedupIndex
+                ? dedupIndex.rebuild(records)
+                : dedupIndex.merge(records);
+
+        log.info("Índice persistente: {} registros nuevos, {} ya conocidos, {} clusters creados, {} fusionados ({} ms)",
+                result.getNewRecords(), result.getKnownRecords(), result.getClustersCreated(),
+                result.getClustersMerged(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * Guarda registros unificados con nombre fijo según requisitos del proyecto (y su copia columnar)
+     */
+    private CompletableFuture<String> saveUnifiedRecords(List<ScientificRecord> records) {
+        Path target = outputFileWriter.dataFile(outputPath, "resultados_unificados.csv");
+        CompletableFuture<Path> csvFile = outputFileWriter.writeAsync(target, out -> {
+            try (CsvUtils.CsvRecordWriter writer = csvUtils.openCsvWriter(out)) {
+                for (ScientificRecord record : records) {
+                    writer.write(record);
+                }
+            }
+        });
+
+        // Copia columnar para recargas y análisis sin volver a parsear el CSV
+        CompletableFuture<Path> columnarFile = columnarEnabled
+                ? outputFileWriter.writeAsync(Path.of(outputPath, "resultados_unificados"
+                        + ColumnarRecordStore.FILE_EXTENSION), columnarStore.encoder(records))
+                : CompletableFuture.completedFuture(null);
+
+        return csvFile.thenCombine(columnarFile, (csvPath, columnarPath) -> {
+            log.info("Archivo unificado guardado: {} ({} registros)", csvPath, records.size());
+            return csvPath.toString();
+        });
+    }
+
+    /**
+     * Guarda registros duplicados con nombre fijo según requisitos del proyecto
+     */
+    private CompletableFuture<String> saveDuplicateRecords(Map<String, List<ScientificRecord>> duplicateGroups) {
+        Path target = outputFileWriter.dataFile(outputPath, "resultados_duplicados.csv");
+        AtomicInteger written = new AtomicInteger();
+        return outputFileWriter.writeAsync(target, out -> {
+            // Escribir los grupos uno tras otro, sin aplanarlos en una lista
+            try (CsvUtils.CsvRecordWriter writer = csvUtils.openCsvWriter(out)) {
+                for (List<ScientificRecord> group : duplicateGroups.values()) {
+                    for (ScientificRecord record : group) {
+                        writer.write(record);
+                    }
+                }
+                written.set(writer.getRecordsWritten());
+            }
+        }).thenApply(path -> {
+            log.info("Archivo de duplicados guardado: {} ({} registros)", path, written.get());
+            return path.toString();
+        });
+    }
+
+    private String awaitOutput(CompletableFuture<String> file, String errorMessage) {
+        try {
+            return file.join();
+        } catch (CompletionException e) {
+            throw new RuntimeException(errorMessage, e.getCause());
         }
     }
 
@@ -4,10 +4,13 @@ import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
 import co.edu.uniquindio.proyectoAlgoritmos.util.StringSimilarityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -17,10 +20,25 @@ public class DuplicateDetectionService {
     private final StringSimilarityUtils similarityUtils;
     private static final double SIMILARITY_THRESHOLD = 0.85;
 
+    @Value("${app.processing.parallel-dedup.enabled:true}")
+    private boolean parallelEnabled;
+
+    @Value("${app.processing.parallel-dedup.min-records:20000}")
+    private int parallelMinRecords;
+
+    // 0 = calcular según el número de núcleos disponibles
+    @Value("${app.processing.parallel-dedup.shards:0}")
+    private int parallelShards;
+
     /**
-     * Versión optimizada O(n) usando HashMap para indexación
+     * Versión optimizada O(n) usando HashMap para indexación.
+     * Para entradas grandes delega en {@link #detectDuplicatesParallel(List)}, que produce el mismo resultado.
      */
     public Map<String, List<ScientificRecord>> detectDuplicates(List<ScientificRecord> records) {
+        if (parallelEnabled && records.size() >= parallelMinRecords) {
+            return detectDuplicatesParallel(records);
+        }
+
         log.info("Iniciando detección de duplicados en {} registros", records.size());
         long startTime = System.currentTimeMillis();
 
@@ -31,7 +49,7 @@ public class DuplicateDetectionService {
         Map<String, List<ScientificRecord>> titleGroups = indexByNormalizedTitle(records, doiGroups);
 
         // Paso 3: Combinar grupos y filtrar solo los que tienen duplicados
-        Map<String, List<ScientificRecord>> duplicateGroups = new HashMap<>();
+        Map<String, List<ScientificRecord>> duplicateGroups = new LinkedHashMap<>();
         int groupCounter = 0;
 
         // Agregar grupos de DOI con más de 1 elemento
@@ -57,11 +75,11 @@ public class DuplicateDetectionService {
      * Indexa registros por DOI (duplicados exactos)
      */
     private Map<String, List<ScientificRecord>> indexByDoi(List<ScientificRecord> records) {
-        Map<String, List<ScientificRecord>> doiIndex = new HashMap<>();
+        Map<String, List<ScientificRecord>> doiIndex = new LinkedHashMap<>();
 
         for (ScientificRecord record : records) {
-            if (record.getDoi() != null && !record.getDoi().trim().isEmpty()) {
-                String normalizedDoi = record.getDoi().trim().toLowerCase();
+            String normalizedDoi = normalizeDoi(record.getDoi());
+            if (normalizedDoi != null) {
                 doiIndex.computeIfAbsent(normalizedDoi, k -> new ArrayList<>()).add(record);
             }
         }
@@ -75,7 +93,7 @@ public class DuplicateDetectionService {
      */
     private Map<String, List<ScientificRecord>> indexByNormalizedTitle(List<ScientificRecord> records,
                                                                        Map<String, List<ScientificRecord>> doiGroups) {
-        Map<String, List<ScientificRecord>> titleIndex = new HashMap<>();
+        Map<String, List<ScientificRecord>> titleIndex = new LinkedHashMap<>();
 
         // Crear set de registros ya procesados por DOI
         Set<ScientificRecord> processedByDoi = doiGroups.values().stream()
@@ -85,7 +103,7 @@ public class DuplicateDetectionService {
         for (ScientificRecord record : records) {
             // Solo procesar registros que no fueron agrupados por DOI
             if (!processedByDoi.contains(record)) {
-                String normalizedTitle = normalizeTitle(record.getTitle());
+                String normalizedTitle = similarityUtils.normalizeTitle(record.getTitle());
                 if (!normalizedTitle.isEmpty()) {
                     titleIndex.computeIfAbsent(normalizedTitle, k -> new ArrayList<>()).add(record);
                 }
@@ -97,23 +115,166 @@ public class DuplicateDetectionService {
     }
 
     /**
-     * Normaliza título para comparación
+     * Normaliza DOI para comparación; retorna null si no hay DOI
+     */
+    private String normalizeDoi(String doi) {
+        if (doi == null || doi.trim().isEmpty()) return null;
+        return doi.trim().toLowerCase();
+    }
+
+    // ========== MODO PARALELO ==========
+
+    /**
+     * Detección de duplicados en paralelo para entradas grandes.
+     * 1. Normaliza DOI, título y hash único de cada registro en paralelo (fork/join).
+     * 2. Reparte las claves en shards según su hash; cada shard lo indexa una sola tarea,
+     *    así que no hay bloqueos ni estructuras compartidas durante la indexación.
+     * 3. Une los grupos ordenándolos por la primera aparición de la clave, de modo que
+     *    el resultado es idéntico al de la versión secuencial.
+     */
+    public Map<String, List<ScientificRecord>> detectDuplicatesParallel(List<ScientificRecord> records) {
+        log.info("Iniciando detección de duplicados en paralelo en {} registros", records.size());
+        long startTime = System.currentTimeMillis();
+
+        ScientificRecord[] data = records.toArray(new ScientificRecord[0]);
+        int n = data.length;
+        int shards = parallelShards > 0 ? parallelShards : Runtime.getRuntime().availableProcessors() * 4;
+
+        // Paso 1: Normalización en paralelo
+        String[] doiKeys = new String[n];
+        String[] titleKeys = new String[n];
+        String[] uniqueHashes = new String[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            doiKeys[i] = normalizeDoi(data[i].getDoi());
+            titleKeys[i] = similarityUtils.normalizeTitle(data[i].getTitle());
+            uniqueHashes[i] = data[i].generateUniqueHash();
+        });
+
+        // Paso 2: Agrupar por DOI
+        List<int[]> doiGroups = groupByKeyParallel(doiKeys, shards);
+
+        // Registros con DOI quedan fuera del paso por título (misma semántica que equals() en la versión secuencial)
+        Set<String> processedByDoi = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, n).parallel()
+                .filter(i -> doiKeys[i] != null)
+                .forEach(i -> processedByDoi.add(uniqueHashes[i]));
+
+        String[] eligibleTitles = new String[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            if (!processedByDoi.contains(uniqueHashes[i]) && !titleKeys[i].isEmpty()) {
+                eligibleTitles[i] = titleKeys[i];
+            }
+        });
+
+        // Paso 3: Agrupar por título normalizado
+        List<int[]> titleGroups = groupByKeyParallel(eligibleTitles, shards);
+
+        // Paso 4: Fusión determinista
+        Map<String, List<ScientificRecord>> duplicateGroups = new LinkedHashMap<>();
+        int groupCounter = 0;
+        for (int[] group : doiGroups) {
+            duplicateGroups.put("doi_group_" + groupCounter++, toRecords(group, data));
+        }
+        for (int[] group : titleGroups) {
+            duplicateGroups.put("title_group_" + groupCounter++, toRecords(group, data));
+        }
+
+        long endTime = System.currentTimeMillis();
+        log.info("Encontrados {} grupos de duplicados en {} ms ({} shards)",
+                duplicateGroups.size(), (endTime - startTime), shards);
+        return duplicateGroups;
+    }
+
+    /**
+     * Agrupa los índices cuyas claves coinciden (claves null se ignoran) usando un índice particionado.
+     * Retorna solo grupos con más de un elemento, cada uno con sus índices en orden ascendente,
+     * ordenados por su primer índice.
      */
-    private String normalizeTitle(String title) {
-        if (title == null) return "";
+    private List<int[]> groupByKeyParallel(String[] keys, int shards) {
+        int n = keys.length;
+
+        // Asignar shard a cada clave en paralelo
+        int[] shardOf = new int[n];
+        IntStream.range(0, n).parallel().forEach(i ->
+                shardOf[i] = keys[i] == null ? -1 : Math.floorMod(spread(keys[i].hashCode()), shards));
+
+        // Repartir índices por shard (counting sort: conserva el orden original dentro de cada shard)
+        int[] counts = new int[shards + 1];
+        for (int s : shardOf) {
+            if (s >= 0) counts[s + 1]++;
+        }
+        for (int s = 0; s < shards; s++) {
+            counts[s + 1] += counts[s];
+        }
+        int[] starts = counts.clone();
+        int[] positions = new int[counts[shards]];
+        int[] cursor = Arrays.copyOf(counts, shards);
+        for (int i = 0; i < n; i++) {
+            if (shardOf[i] >= 0) positions[cursor[shardOf[i]]++] = i;
+        }
+
+        // Indexar cada shard de forma independiente
+        List<int[]> groups = IntStream.range(0, shards).parallel()
+                .mapToObj(s -> {
+                    Map<String, IntList> shardIndex = new HashMap<>();
+                    for (int p = starts[s]; p < starts[s + 1]; p++) {
+                        int index = positions[p];
+                        shardIndex.computeIfAbsent(keys[index], k -> new IntList()).add(index);
+                    }
+                    List<int[]> shardGroups = new ArrayList<>();
+                    for (IntList list : shardIndex.values()) {
+                        if (list.size > 1) shardGroups.add(list.toArray());
+                    }
+                    return shardGroups;
+                })
+                .flatMap(List::stream)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        groups.sort(Comparator.comparingInt(group -> group[0]));
+        return groups;
+    }
 
-        return title.toLowerCase()
-                .replaceAll("[^a-z0-9\\s]", "") // Solo letras, números y espacios
-                .replaceAll("\\s+", " ")        // Espacios múltiples → uno solo
-                .trim();
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static List<ScientificRecord> toRecords(int[] indexes, ScientificRecord[] data) {
+        List<ScientificRecord> group = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            group.add(data[index]);
+        }
+        return group;
+    }
+
+    /**
+     * Lista de enteros creciente sin boxing
+     */
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
     }
 
     /**
      * Versión optimizada de getUniqueRecords
      */
     public List<ScientificRecord> getUniqueRecords(List<ScientificRecord> records) {
-        Map<String, List<ScientificRecord>> duplicateGroups = detectDuplicates(records);
+        return getUniqueRecords(records, detectDuplicates(records));
+    }
 
+    /**
+     * Registros únicos a partir de grupos de duplicados ya calculados (ej: de forma incremental)
+     */
+    public List<ScientificRecord> getUniqueRecords(List<ScientificRecord> records,
+                                                   Map<String, List<ScientificRecord>> duplicateGroups) {
         List<ScientificRecord> uniqueRecords = new ArrayList<>();
         Set<ScientificRecord> allDuplicates = new HashSet<>();
 
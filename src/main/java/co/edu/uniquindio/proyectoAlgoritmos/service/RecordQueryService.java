@@ -0,0 +1,125 @@
+package co.edu.uniquindio.proyectoAlgoritmos.service;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.RecordSearchResultDto;
+import co.edu.uniquindio.proyectoAlgoritmos.dto.RecordSummaryDto;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.ColumnarRecordStore.Column;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.UnifiedCorpusLoader;
+import co.edu.uniquindio.proyectoAlgoritmos.util.RecordQueryIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Consultas paginadas con facetas sobre el corpus unificado, resueltas con los índices de
+ * {@link RecordQueryIndex} en lugar de recorrer los registros.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecordQueryService {
+
+    private static final Set<Column> INDEXED_COLUMNS = EnumSet.of(Column.ID, Column.TITLE, Column.AUTHORS,
+            Column.JOURNAL, Column.CONFERENCE, Column.YEAR, Column.DOI, Column.DOCUMENT_TYPE, Column.SOURCE);
+
+    private final UnifiedCorpusLoader corpusLoader;
+
+    @Value("${app.query.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.query.facet-limit:20}")
+    private int facetLimit;
+
+    private volatile RecordQueryIndex index;
+
+    /**
+     * Reemplaza el índice con los registros dados (normalmente el corpus unificado recién generado)
+     */
+    public void rebuildIndex(List<ScientificRecord> records) {
+        long startTime = System.currentTimeMillis();
+        index = new RecordQueryIndex(records);
+        log.info("Índice de consultas construido: {} registros en {} ms", records.size(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Registros que cumplen todos los filtros (los nulos no filtran), paginados y con conteos
+     * por año, fuente y revista/conferencia sobre el resultado completo
+     * @param page página desde 0
+     */
+    public RecordSearchResultDto search(Integer fromYear, Integer toYear, String venue, String source,
+                                        String documentType, String author, String sort, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("La página debe ser mayor o igual a 0");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + maxPageSize);
+        }
+        RecordQueryIndex.Sort order = parseSort(sort);
+
+        long startTime = System.nanoTime();
+        RecordQueryIndex current = getIndex();
+        BitSet matches = current.filter(fromYear, toYear, venue, source, documentType, author);
+        int total = matches.cardinality();
+
+        long offset = (long) page * size;
+        int[] docs = offset < total ? current.page(matches, order, (int) offset, size) : new int[0];
+        List<RecordSummaryDto> results = new ArrayList<>(docs.length);
+        for (int doc : docs) {
+            results.add(toDto(current.getRecord(doc)));
+        }
+
+        return RecordSearchResultDto.builder()
+                .total(total)
+                .page(page)
+                .size(size)
+                .totalPages((total + size - 1) / size)
+                .results(results)
+                .yearFacets(current.yearFacets(matches))
+                .sourceFacets(current.sourceFacets(matches, facetLimit))
+                .venueFacets(current.venueFacets(matches, facetLimit))
+                .elapsedMicros((System.nanoTime() - startTime) / 1000)
+                .build();
+    }
+
+    private static RecordQueryIndex.Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) return RecordQueryIndex.Sort.CORPUS;
+        try {
+            return RecordQueryIndex.Sort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Orden no soportado: " + sort + " (corpus, year_asc, year_desc)");
+        }
+    }
+
+    private static RecordSummaryDto toDto(ScientificRecord record) {
+        return RecordSummaryDto.builder()
+                .recordId(record.getId())
+                .title(record.getTitle())
+                .authors(record.getAuthors())
+                .year(record.getYear())
+                .venue(RecordQueryIndex.venueOf(record))
+                .source(record.getSource())
+                .documentType(record.getDocumentType())
+                .doi(record.getDoi())
+                .build();
+    }
+
+    /**
+     * Si aún no se ha procesado nada en esta ejecución, indexa el último corpus unificado
+     * (la copia columnar si existe, solo con las columnas que se consultan, o el CSV)
+     */
+    private RecordQueryIndex getIndex() {
+        RecordQueryIndex current = index;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (index == null) {
+                rebuildIndex(corpusLoader.loadLastUnifiedCorpus(INDEXED_COLUMNS));
+            }
+            return index;
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package co.edu.uniquindio.proyectoAlgoritmos.service;
 
 import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.util.AuthorDictionary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -38,20 +38,48 @@ public class SortingAnalysisService {
     }
 
     /**
-     * Encuentra los 15 autores con más apariciones
+     * Encuentra los 15 autores con más apariciones.
+     * Cuenta sobre los IDs de un diccionario de autores propio de cada llamada con un arreglo
+     * int[] y selecciona el top con un montículo de tamaño 15 (empates: primero el autor visto antes).
+     * Los nombres se agrupan con espacios normalizados; los registros no se modifican.
      */
     public List<Map.Entry<String, Long>> getTop15Authors(List<ScientificRecord> records) {
-        return records.stream()
-                .flatMap(record -> record.getAuthors().stream())
-                .collect(Collectors.groupingBy(
-                        author -> author,
-                        Collectors.counting()
-                ))
-                .entrySet()
-                .stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(15)
-                .collect(Collectors.toList());
+        return getTopAuthors(records, 15);
+    }
+
+    public List<Map.Entry<String, Long>> getTopAuthors(List<ScientificRecord> records, int limit) {
+        AuthorDictionary authorDictionary = new AuthorDictionary();
+        int[] tally = new int[1024];
+        for (ScientificRecord record : records) {
+            for (String author : record.getAuthors()) {
+                int id = authorDictionary.idOf(author);
+                if (id < 0) continue;
+                if (id == tally.length) {
+                    tally = Arrays.copyOf(tally, id * 2);
+                }
+                tally[id]++;
+            }
+        }
+        int[] counts = tally;
+
+        // Montículo de mínimos con los "limit" mejores: menor conteo (o ID mayor en empate) en la raíz
+        Comparator<Integer> ranking = Comparator.<Integer>comparingInt(id -> counts[id])
+                .thenComparing(Comparator.<Integer>naturalOrder().reversed());
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, ranking);
+        for (int id = 0; id < authorDictionary.size(); id++) {
+            top.offer(id);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<String, Long>> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int id = top.poll();
+            result.add(Map.entry(authorDictionary.nameOf(id), (long) counts[id]));
+        }
+        Collections.reverse(result);
+        return result;
     }
 
     /**
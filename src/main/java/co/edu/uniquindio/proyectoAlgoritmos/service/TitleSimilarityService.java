@@ -0,0 +1,107 @@
+package co.edu.uniquindio.proyectoAlgoritmos.service;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.SimilarTitleDto;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.ColumnarRecordStore.Column;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.UnifiedCorpusLoader;
+import co.edu.uniquindio.proyectoAlgoritmos.util.QGramTitleIndex;
+import co.edu.uniquindio.proyectoAlgoritmos.util.StringSimilarityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Búsqueda de títulos similares en el corpus unificado.
+ * Un índice invertido de trigramas genera los candidatos y la verificación final usa
+ * las similitudes de Jaccard y Levenshtein de {@link StringSimilarityUtils}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TitleSimilarityService {
+
+    private static final Set<Column> INDEXED_COLUMNS = EnumSet.of(Column.ID, Column.TITLE, Column.YEAR, Column.SOURCE);
+
+    private final StringSimilarityUtils similarityUtils;
+    private final UnifiedCorpusLoader corpusLoader;
+
+    private volatile QGramTitleIndex index;
+
+    /**
+     * Reemplaza el índice con los registros dados (normalmente el corpus unificado recién generado)
+     */
+    public void rebuildIndex(List<ScientificRecord> records) {
+        long startTime = System.currentTimeMillis();
+        QGramTitleIndex newIndex = new QGramTitleIndex(records, similarityUtils);
+        index = newIndex;
+        log.info("Índice de trigramas construido: {} títulos, {} KB de postings en {} ms",
+                newIndex.size(), newIndex.getCompressedPostingBytes() / 1024, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Retorna hasta k registros cuyo título se parece al dado.
+     * Un registro califica si su puntaje (el mayor entre Jaccard de palabras y Levenshtein normalizado)
+     * alcanza el umbral. El índice de trigramas solo descarta registros que no pueden alcanzarlo por
+     * Levenshtein ni por Jaccard de trigramas, así que una errata no los deja fuera.
+     */
+    public List<SimilarTitleDto> findSimilar(String title, double threshold, int k) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("El título de búsqueda no puede estar vacío");
+        }
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("El umbral debe estar en (0, 1]");
+        }
+        if (k <= 0) {
+            throw new IllegalArgumentException("k debe ser positivo");
+        }
+
+        QGramTitleIndex current = getIndex();
+        String normalizedQuery = similarityUtils.normalizeTitle(title);
+
+        PriorityQueue<SimilarTitleDto> top = new PriorityQueue<>(k + 1, Comparator.comparingDouble(SimilarTitleDto::getScore));
+        for (Map.Entry<Integer, Double> candidate : current.candidates(normalizedQuery, threshold)) {
+            String candidateTitle = current.getNormalizedTitle(candidate.getKey());
+            double tokenJaccard = similarityUtils.calculateJaccardSimilarity(normalizedQuery, candidateTitle);
+            double levenshtein = similarityUtils.calculateLevenshteinSimilarity(normalizedQuery, candidateTitle);
+            double score = Math.max(tokenJaccard, levenshtein);
+            if (score < threshold) continue;
+
+            ScientificRecord record = current.getRecord(candidate.getKey());
+            top.offer(SimilarTitleDto.builder()
+                    .recordId(record.getId())
+                    .title(record.getTitle())
+                    .year(record.getYear())
+                    .source(record.getSource())
+                    .score(score)
+                    .qgramJaccard(candidate.getValue())
+                    .tokenJaccard(tokenJaccard)
+                    .levenshtein(levenshtein)
+                    .build());
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+
+        List<SimilarTitleDto> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingDouble(SimilarTitleDto::getScore).reversed());
+        return result;
+    }
+
+    /**
+     * Si aún no se ha procesado nada en esta ejecución, indexa el último archivo unificado.
+     * Si existe la copia columnar se leen de ella solo las columnas que usa el índice.
+     */
+    private QGramTitleIndex getIndex() {
+        QGramTitleIndex current = index;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (index == null) {
+                rebuildIndex(corpusLoader.loadLastUnifiedCorpus(INDEXED_COLUMNS));
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package co.edu.uniquindio.proyectoAlgoritmos.storage;
+
+import co.edu.uniquindio.proyectoAlgoritmos.exception.DataProcessingException;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Formato binario columnar para conjuntos de {@link ScientificRecord}, más compacto y rápido de
+ * recargar que el CSV: cada columna se guarda por separado y comprimida con Deflater.
+ * Codificación según el tipo de columna:
+ * <ul>
+ *     <li>INT: año, citas y fecha (días desde 1970) como varints zigzag, sin parsear texto</li>
+ *     <li>DICTIONARY: revista, conferencia, tipo, fuente, país, idioma y editorial como diccionario de
+ *     valores distintos más un código por registro; al leer todos los registros comparten el String</li>
+ *     <li>STRING: ID, título, abstract, DOI y URL como longitudes seguidas de los bytes UTF-8</li>
+ *     <li>LIST: autores y palabras clave como cantidad de elementos por registro (los offsets se
+ *     obtienen con la suma acumulada) y códigos de un diccionario de elementos</li>
+ * </ul>
+ * El encabezado tiene un directorio con la posición y tamaño de cada columna, así que leer con
+ * proyección solo descomprime las columnas pedidas. El archivo se escribe con {@link OutputFileWriter}
+ * (temporal + renombrado), nunca queda a medio escribir.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ColumnarRecordStore {
+
+    public static final String FILE_EXTENSION = ".cols";
+
+    private static final int MAGIC = 0x53524331; // "SRC1"
+    private static final byte VERSION = 1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    /**
+     * Columnas del formato; el ordinal se guarda en el directorio del archivo, solo se agregan al final
+     */
+    public enum Column {
+        ID(Kind.STRING), TITLE(Kind.STRING), AUTHORS(Kind.LIST), ABSTRACT(Kind.STRING), KEYWORDS(Kind.LIST),
+        JOURNAL(Kind.DICTIONARY), CONFERENCE(Kind.DICTIONARY), YEAR(Kind.INT), PUBLICATION_DATE(Kind.INT),
+        CITATIONS(Kind.INT), DOI(Kind.STRING), URL(Kind.STRING), DOCUMENT_TYPE(Kind.DICTIONARY),
+        SOURCE(Kind.DICTIONARY), COUNTRY(Kind.DICTIONARY), LANGUAGE(Kind.DICTIONARY), PUBLISHER(Kind.DICTIONARY);
+
+        private final Kind kind;
+
+        Column(Kind kind) {
+            this.kind = kind;
+        }
+    }
+
+    private enum Kind { INT, DICTIONARY, STRING, LIST }
+
+    private final OutputFileWriter outputFileWriter;
+
+    @Value("${app.columnar.compression-level:6}")
+    private int compressionLevel;
+
+    /**
+     * Escribe todas las columnas de los registros en el archivo (lo reemplaza si existe)
+     */
+    public void write(List<ScientificRecord> records, String filePath) {
+        try {
+            outputFileWriter.write(Path.of(filePath), encoder(records));
+        } catch (IOException e) {
+            throw new DataProcessingException("Error escribiendo el archivo columnar " + filePath, e);
+        }
+    }
+
+    /**
+     * Tarea que codifica los registros en el formato columnar, para escribirla con {@link OutputFileWriter}
+     * (por ejemplo en segundo plano con writeAsync)
+     */
+    public OutputFileWriter.OutputTask encoder(List<ScientificRecord> records) {
+        return stream -> {
+            long startTime = System.currentTimeMillis();
+            // Columnas independientes: se codifican y comprimen en paralelo
+            EncodedColumn[] encoded = Arrays.stream(Column.values()).parallel()
+                    .map(column -> compress(column, encode(column, records)))
+                    .toArray(EncodedColumn[]::new);
+
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(records.size());
+            out.writeByte(encoded.length);
+            for (EncodedColumn column : encoded) {
+                out.writeByte(column.column().ordinal());
+                out.writeInt(column.rawLength());
+                out.writeInt(column.data().length);
+            }
+            for (EncodedColumn column : encoded) {
+                out.write(column.data());
+            }
+            out.flush();
+
+            log.info("Registros codificados en formato columnar: {} registros, {} KB en {} ms", records.size(),
+                    Arrays.stream(encoded).mapToLong(column -> column.data().length).sum() / 1024,
+                    System.currentTimeMillis() - startTime);
+        };
+    }
+
+    /**
+     * Lee todas las columnas
+     */
+    public List<ScientificRecord> read(String filePath) {
+        return read(filePath, EnumSet.allOf(Column.class));
+    }
+
+    /**
+     * Lee solo las columnas indicadas; los demás campos de los registros quedan en su valor por defecto
+     */
+    public List<ScientificRecord> read(String filePath, Set<Column> projection) {
+        long startTime = System.currentTimeMillis();
+        Path path = Path.of(filePath);
+        int recordCount;
+        Map<Column, Object> values;
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            if (file.readInt() != MAGIC) {
+                throw new DataProcessingException("El archivo " + path + " no está en formato columnar");
+            }
+            byte version = file.readByte();
+            if (version != VERSION) {
+                throw new DataProcessingException("Versión de archivo columnar no soportada: " + version);
+            }
+            recordCount = file.readInt();
+            int columnCount = file.readUnsignedByte();
+
+            long offset = 4 + 1 + 4 + 1 + columnCount * 9L;
+            List<StoredColumn> wanted = new ArrayList<>();
+            for (int i = 0; i < columnCount; i++) {
+                int ordinal = file.readUnsignedByte();
+                int rawLength = file.readInt();
+                int compressedLength = file.readInt();
+                // Columnas de versiones posteriores que esta no conoce se saltan
+                if (ordinal < Column.values().length && projection.contains(Column.values()[ordinal])) {
+                    wanted.add(new StoredColumn(Column.values()[ordinal], offset, rawLength, compressedLength));
+                }
+                offset += compressedLength;
+            }
+
+            List<byte[]> compressed = new ArrayList<>(wanted.size());
+            for (StoredColumn column : wanted) {
+                byte[] data = new byte[column.compressedLength()];
+                file.seek(column.offset());
+                file.readFully(data);
+                compressed.add(data);
+            }
+
+            int count = recordCount;
+            values = new EnumMap<>(Column.class);
+            Object[] decoded = new Object[wanted.size()];
+            IntStream.range(0, wanted.size()).parallel().forEach(i ->
+                    decoded[i] = decode(wanted.get(i).column(), inflate(compressed.get(i), wanted.get(i).rawLength()), count));
+            for (int i = 0; i < wanted.size(); i++) {
+                values.put(wanted.get(i).column(), decoded[i]);
+            }
+        } catch (IOException e) {
+            throw new DataProcessingException("Error leyendo el archivo columnar " + path, e);
+        }
+
+        List<ScientificRecord> records = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            ScientificRecord record = new ScientificRecord();
+            for (Map.Entry<Column, Object> entry : values.entrySet()) {
+                set(record, entry.getKey(), entry.getValue(), i);
+            }
+            records.add(record);
+        }
+
+        log.info("Leídos {} registros ({} columnas) desde {} en {} ms", recordCount, values.size(), path,
+                System.currentTimeMillis() - startTime);
+        return records;
+    }
+
+    private record StoredColumn(Column column, long offset, int rawLength, int compressedLength) {}
+
+    private record EncodedColumn(Column column, int rawLength, byte[] data) {}
+
+    // ---------- Codificación ----------
+
+    private static byte[] encode(Column column, List<ScientificRecord> records) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(records.size() * 4);
+        DataOutputStream out = new DataOutputStream(buffer);
+        try {
+            switch (column.kind) {
+                case INT -> {
+                    for (ScientificRecord record : records) {
+                        writeVarInt(out, zigzag(intValue(record, column)));
+                    }
+                }
+                case DICTIONARY -> {
+                    Map<String, Integer> dictionary = new LinkedHashMap<>();
+                    int[] codes = new int[records.size()];
+                    for (int i = 0; i < codes.length; i++) {
+                        String value = (String) get(records.get(i), column);
+                        // 0 = nulo
+                        codes[i] = value == null ? 0 : dictionary.computeIfAbsent(value, v -> dictionary.size() + 1);
+                    }
+                    writeVarInt(out, dictionary.size());
+                    for (String value : dictionary.keySet()) {
+                        writeString(out, value);
+                    }
+                    for (int code : codes) {
+                        writeVarInt(out, code);
+                    }
+                }
+                case STRING -> {
+                    // Primero todas las longitudes (+1, 0 = nulo) y luego los bytes: comprime mejor
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() * 32);
+                    for (ScientificRecord record : records) {
+                        String value = (String) get(record, column);
+                        if (value == null) {
+                            writeVarInt(out, 0);
+                        } else {
+                            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                            writeVarInt(out, utf8.length + 1);
+                            bytes.write(utf8);
+                        }
+                    }
+                    bytes.writeTo(out);
+                }
+                case LIST -> {
+                    Map<String, Integer> dictionary = new LinkedHashMap<>();
+                    ByteArrayOutputStream codes = new ByteArrayOutputStream(records.size() * 4);
+                    DataOutputStream codesOut = new DataOutputStream(codes);
+                    for (ScientificRecord record : records) {
+                        @SuppressWarnings("unchecked")
+                        List<String> list = (List<String>) get(record, column);
+                        writeVarInt(out, list.size());
+                        for (String element : list) {
+                            writeVarInt(codesOut, dictionary.computeIfAbsent(element, e -> dictionary.size()));
+                        }
+                    }
+                    writeVarInt(out, dictionary.size());
+                    for (String element : dictionary.keySet()) {
+                        writeString(out, element);
+                    }
+                    codes.writeTo(out);
+                }
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStream no lanza IOException
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private EncodedColumn compress(Column column, byte[] raw) {
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[1 << 16];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                out.write(chunk, 0, length);
+            }
+            return new EncodedColumn(column, raw.length, out.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // ---------- Decodificación ----------
+
+    private static byte[] inflate(byte[] compressed, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, length, rawLength - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                length += read;
+            }
+            if (length != rawLength) {
+                throw new DataProcessingException("Columna truncada: " + length + " de " + rawLength + " bytes");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new DataProcessingException("Columna corrupta: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static Object decode(Column column, byte[] raw, int recordCount) {
+        ByteReader in = new ByteReader(raw);
+        switch (column.kind) {
+            case INT -> {
+                int[] values = new int[recordCount];
+                for (int i = 0; i < recordCount; i++) {
+                    values[i] = unzigzag(in.readVarInt());
+                }
+                return values;
+            }
+            case DICTIONARY -> {
+                String[] dictionary = new String[in.readVarInt() + 1];
+                for (int i = 1; i < dictionary.length; i++) {
+                    dictionary[i] = in.readString();
+                }
+                String[] values = new String[recordCount];
+                for (int i = 0; i < recordCount; i++) {
+                    values[i] = dictionary[in.readVarInt()];
+                }
+                return values;
+            }
+            case STRING -> {
+                int[] lengths = new int[recordCount];
+                for (int i = 0; i < recordCount; i++) {
+                    lengths[i] = in.readVarInt();
+                }
+                String[] values = new String[recordCount];
+                for (int i = 0; i < recordCount; i++) {
+                    values[i] = lengths[i] == 0 ? null : in.readUtf8(lengths[i] - 1);
+                }
+                return values;
+            }
+            case LIST -> {
+                int[] offsets = new int[recordCount + 1];
+                for (int i = 0; i < recordCount; i++) {
+                    offsets[i + 1] = offsets[i] + in.readVarInt();
+                }
+                String[] dictionary = new String[in.readVarInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = in.readString();
+                }
+                String[] elements = new String[offsets[recordCount]];
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = dictionary[in.readVarInt()];
+                }
+                return new ListColumn(offsets, elements);
+            }
+        }
+        throw new IllegalStateException("Tipo de columna desconocido: " + column.kind);
+    }
+
+    private record ListColumn(int[] offsets, String[] elements) {
+        List<String> get(int record) {
+            return Arrays.asList(elements).subList(offsets[record], offsets[record + 1]);
+        }
+    }
+
+    /**
+     * Lectura secuencial de varints y cadenas sobre la columna ya descomprimida
+     */
+    private static final class ByteReader {
+        private final byte[] data;
+        private int position;
+
+        private ByteReader(byte[] data) {
+            this.data = data;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        String readString() {
+            return readUtf8(readVarInt());
+        }
+
+        String readUtf8(int length) {
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // ---------- Acceso a los campos ----------
+
+    private static int intValue(ScientificRecord record, Column column) {
+        return switch (column) {
+            case YEAR -> record.getYear();
+            case CITATIONS -> record.getCitationCount();
+            case PUBLICATION_DATE -> record.getPublicationDate() != null
+                    ? Math.toIntExact(record.getPublicationDate().toEpochDay()) : NO_DATE;
+            default -> throw new IllegalArgumentException("La columna " + column + " no es entera");
+        };
+    }
+
+    private static Object get(ScientificRecord record, Column column) {
+        return switch (column) {
+            case ID -> record.getId();
+            case TITLE -> record.getTitle();
+            case AUTHORS -> record.getAuthors();
+            case ABSTRACT -> record.getAbstractText();
+            case KEYWORDS -> record.getKeywords() != null ? record.getKeywords() : List.of();
+            case JOURNAL -> record.getJournal();
+            case CONFERENCE -> record.getConference();
+            case DOI -> record.getDoi();
+            case URL -> record.getUrl();
+            case DOCUMENT_TYPE -> record.getDocumentType();
+            case SOURCE -> record.getSource();
+            case COUNTRY -> record.getCountry();
+            case LANGUAGE -> record.getLanguage();
+            case PUBLISHER -> record.getPublisher();
+            case YEAR, PUBLICATION_DATE, CITATIONS -> intValue(record, column);
+        };
+    }
+
+    private static void set(ScientificRecord record, Column column, Object values, int i) {
+        switch (column) {
+            case ID -> record.setId(((String[]) values)[i]);
+            case TITLE -> record.setTitle(((String[]) values)[i]);
+            case AUTHORS -> record.setAuthors(((ListColumn) values).get(i));
+            case ABSTRACT -> record.setAbstractText(((String[]) values)[i]);
+            case KEYWORDS -> record.setKeywords(new ArrayList<>(((ListColumn) values).get(i)));
+            case JOURNAL -> record.setJournal(((String[]) values)[i]);
+            case CONFERENCE -> record.setConference(((String[]) values)[i]);
+            case YEAR -> record.setYear(((int[]) values)[i]);
+            case PUBLICATION_DATE -> {
+                int day = ((int[]) values)[i];
+                record.setPublicationDate(day == NO_DATE ? null : LocalDate.ofEpochDay(day));
+            }
+            case CITATIONS -> record.setCitationCount(((int[]) values)[i]);
+            case DOI -> record.setDoi(((String[]) values)[i]);
+            case URL -> record.setUrl(((String[]) values)[i]);
+            case DOCUMENT_TYPE -> record.setDocumentType(((String[]) values)[i]);
+            case SOURCE -> record.setSource(((String[]) values)[i]);
+            case COUNTRY -> record.setCountry(((String[]) values)[i]);
+            case LANGUAGE -> record.setLanguage(((String[]) values)[i]);
+            case PUBLISHER -> record.setPublisher(((String[]) values)[i]);
+        }
+    }
+}
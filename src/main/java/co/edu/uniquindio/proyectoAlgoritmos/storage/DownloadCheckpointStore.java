@@ -0,0 +1,292 @@
+package co.edu.uniquindio.proyectoAlgoritmos.storage;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Checkpoints de descargas paginadas, para reanudar una descarga interrumpida sin volver a pedir
+ * las páginas ya obtenidas.
+ * Cada shard de una fuente (identificado por la fuente y la URL de su primera página) tiene un archivo
+ * .jsonl donde se anexan los registros de cada página y un archivo .ckpt con la posición siguiente
+ * (cursor u offset), los registros escritos y el tamaño confirmado del spool. Tras cada página se
+ * sincroniza el spool a disco y luego se reemplaza el .ckpt de forma atómica; al reanudar, el spool
+ * se trunca al tamaño confirmado, descartando una página escrita a medias.
+ */
+@Component
+@Slf4j
+public class DownloadCheckpointStore {
+
+    private static final String CHECKPOINT_SUFFIX = ".ckpt";
+    private static final String SPOOL_SUFFIX = ".jsonl";
+
+    @Value("${app.checkpoints.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.checkpoints.path:src/main/resources/data/checkpoints}")
+    private String checkpointPath;
+
+    private Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @PostConstruct
+    public void open() {
+        if (!enabled) return;
+
+        directory = Path.of(checkpointPath);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.error("No se pudo crear el directorio de checkpoints {}: {}. Checkpoints deshabilitados.",
+                    directory, e.getMessage());
+            enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Abre (o crea) el checkpoint de un shard. Con los checkpoints deshabilitados retorna uno en memoria
+     * que no persiste nada, así los readers no necesitan distinguir los dos casos.
+     * @param source nombre de la fuente
+     * @param shardKey descripción única del shard (ej: URL de la primera página)
+     */
+    public Checkpoint open(String source, String shardKey) {
+        if (!enabled) return new Checkpoint(null, source, shardKey);
+
+        Checkpoint checkpoint = new Checkpoint(keyOf(source + "|" + shardKey), source, shardKey);
+        try {
+            checkpoint.load();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Checkpoint inválido para {} ({}), se descarta: {}", source, shardKey, e.getMessage());
+            checkpoint.delete();
+            // load() pudo haber leído la posición antes de fallar: el shard empieza de cero
+            checkpoint = new Checkpoint(checkpoint.key, source, shardKey);
+        }
+        return checkpoint;
+    }
+
+    public final class Checkpoint {
+        private final String key;
+        private final String source;
+        private final String shardKey;
+        private String position;
+        private int recordsWritten;
+        private int pages;
+        private long spoolBytes;
+        private boolean complete;
+
+        private Checkpoint(String key, String source, String shardKey) {
+            this.key = key;
+            this.source = source;
+            this.shardKey = shardKey;
+        }
+
+        /**
+         * Posición desde la que continuar (cursor u offset), null si el shard empieza de cero
+         */
+        public String getPosition() {
+            return position;
+        }
+
+        public int getRecordsWritten() {
+            return recordsWritten;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public boolean isResumed() {
+            return pages > 0;
+        }
+
+        /**
+         * Registros ya descargados en ejecuciones anteriores
+         */
+        public List<ScientificRecord> readSpooled() throws IOException {
+            List<ScientificRecord> records = new ArrayList<>(recordsWritten);
+            if (key == null || spoolBytes == 0) return records;
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new BoundedInputStream(Files.newInputStream(spoolFile()), spoolBytes), StandardCharsets.UTF_8), 1 << 16)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        records.add(objectMapper.readValue(line, ScientificRecord.class));
+                    }
+                }
+            }
+            return records;
+        }
+
+        /**
+         * Anexa una página al spool y confirma la nueva posición
+         * @param nextPosition cursor u offset de la página siguiente
+         */
+        public void appendPage(List<ScientificRecord> page, String nextPosition) throws IOException {
+            if (key != null) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(page.size() * 512);
+                for (ScientificRecord record : page) {
+                    objectMapper.writeValue(buffer, record);
+                    buffer.write('\n');
+                }
+                try (FileChannel channel = FileChannel.open(spoolFile(),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    channel.truncate(spoolBytes);
+                    channel.position(spoolBytes);
+                    ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                    channel.force(false);
+                }
+                spoolBytes += buffer.size();
+            }
+            position = nextPosition;
+            recordsWritten += page.size();
+            pages++;
+            save();
+        }
+
+        /**
+         * Marca el shard como terminado; en una reanudación se reutiliza su spool sin pedir nada
+         */
+        public void markComplete() throws IOException {
+            complete = true;
+            save();
+        }
+
+        /**
+         * Borra checkpoint y spool (tras una descarga completa de la fuente)
+         */
+        public void delete() {
+            if (key == null) return;
+            try {
+                Files.deleteIfExists(checkpointFile());
+                Files.deleteIfExists(spoolFile());
+            } catch (IOException e) {
+                log.warn("No se pudo borrar el checkpoint {}: {}", key, e.getMessage());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return source + " " + shardKey + " (" + recordsWritten + " registros, posición " + position
+                    + (complete ? ", completo" : "") + ")";
+        }
+
+        private void load() throws IOException {
+            Path file = checkpointFile();
+            if (!Files.exists(file)) {
+                Files.deleteIfExists(spoolFile());
+                return;
+            }
+
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            if (!shardKey.equals(properties.getProperty("shard"))) {
+                throw new IOException("el checkpoint pertenece a otro shard");
+            }
+            position = properties.getProperty("position");
+            recordsWritten = Integer.parseInt(properties.getProperty("records", "0"));
+            pages = Integer.parseInt(properties.getProperty("pages", "0"));
+            spoolBytes = Long.parseLong(properties.getProperty("spoolBytes", "0"));
+            complete = Boolean.parseBoolean(properties.getProperty("complete", "false"));
+
+            long actual = Files.exists(spoolFile()) ? Files.size(spoolFile()) : 0;
+            if (actual < spoolBytes) {
+                throw new IOException("spool más corto que lo confirmado");
+            }
+        }
+
+        private void save() throws IOException {
+            if (key == null) return;
+
+            Properties properties = new Properties();
+            properties.setProperty("source", source);
+            properties.setProperty("shard", shardKey);
+            if (position != null) properties.setProperty("position", position);
+            properties.setProperty("records", Integer.toString(recordsWritten));
+            properties.setProperty("pages", Integer.toString(pages));
+            properties.setProperty("spoolBytes", Long.toString(spoolBytes));
+            properties.setProperty("complete", Boolean.toString(complete));
+
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(out, null);
+            }
+            Files.move(temp, checkpointFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private Path checkpointFile() {
+            return directory.resolve(key + CHECKPOINT_SUFFIX);
+        }
+
+        private Path spoolFile() {
+            return directory.resolve(key + SPOOL_SUFFIX);
+        }
+    }
+
+    /**
+     * Lee como máximo {@code limit} bytes (la parte confirmada del spool)
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) return -1;
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) remaining -= read;
+            return read;
+        }
+    }
+
+    private static String keyOf(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package co.edu.uniquindio.proyectoAlgoritmos.storage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché en disco de respuestas HTTP de las APIs.
+ * Cada respuesta se guarda comprimida con gzip en un archivo cuyo nombre es el SHA-256 de la URL
+ * canónica (parámetros de la query ordenados), junto a un archivo .meta con la URL, ETag,
+ * Last-Modified y la fecha de descarga. Las entradas vigentes (TTL) se sirven sin red; las vencidas
+ * se revalidan con If-None-Match / If-Modified-Since. El tamaño total se limita expulsando las
+ * entradas menos usadas (LRU), usando la fecha de modificación del archivo como último acceso para
+ * conservar el orden entre ejecuciones. En modo offline solo se sirve desde la caché.
+ */
+@Component
+@Slf4j
+public class HttpResponseCache {
+
+    private static final String BODY_SUFFIX = ".gz";
+    private static final String META_SUFFIX = ".meta";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Value("${app.http-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.http-cache.path:src/main/resources/data/cache/http}")
+    private String cachePath;
+
+    @Value("${app.http-cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${app.http-cache.max-size-mb:256}")
+    private long maxSizeMb;
+
+    @Value("${app.http-cache.offline:false}")
+    private boolean offline;
+
+    private Path directory;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * Respuesta guardada en la caché
+     */
+    public record Entry(String key, String url, String etag, String lastModified, long storedAt, long size) {}
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) return;
+
+        directory = Path.of(cachePath);
+        try {
+            Files.createDirectories(directory);
+            load();
+            log.info("Caché HTTP en {}: {} respuestas, {} KB{}", directory, entries.size(), totalBytes / 1024,
+                    offline ? " (modo offline)" : "");
+        } catch (IOException e) {
+            log.error("No se pudo abrir la caché HTTP {}: {}. Caché deshabilitada.", directory, e.getMessage());
+            enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isOffline() {
+        return enabled && offline;
+    }
+
+    public synchronized Entry lookup(String url) {
+        if (!enabled) return null;
+        return entries.get(keyOf(url));
+    }
+
+    public boolean isFresh(Entry entry) {
+        return System.currentTimeMillis() - entry.storedAt() < ttlMinutes * 60_000;
+    }
+
+    /**
+     * Abre el cuerpo guardado (descomprimido) y lo marca como usado recientemente
+     */
+    public InputStream open(Entry entry) throws IOException {
+        Path body = directory.resolve(entry.key() + BODY_SUFFIX);
+        try {
+            Files.setLastModifiedTime(body, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // Solo afecta el orden LRU entre ejecuciones
+        }
+        return new GZIPInputStream(new BufferedInputStream(Files.newInputStream(body), BUFFER_SIZE), BUFFER_SIZE);
+    }
+
+    /**
+     * Renueva la vigencia de una entrada que el servidor confirmó sin cambios (304)
+     */
+    public synchronized Entry revalidated(Entry entry) {
+        Entry renewed = new Entry(entry.key(), entry.url(), entry.etag(), entry.lastModified(),
+                System.currentTimeMillis(), entry.size());
+        try {
+            writeMeta(renewed);
+            entries.put(renewed.key(), renewed);
+        } catch (IOException e) {
+            log.warn("No se pudo renovar la entrada de caché de {}: {}", entry.url(), e.getMessage());
+        }
+        return renewed;
+    }
+
+    /**
+     * Prepara la escritura de una respuesta nueva. El cuerpo se copia a la caché mientras se lee
+     * con {@link CacheWriter#tee(InputStream)} y solo queda visible tras {@link CacheWriter#commit()}.
+     */
+    public CacheWriter writer(String url, String etag, String lastModified) throws IOException {
+        return new CacheWriter(keyOf(url), url, etag, lastModified);
+    }
+
+    public final class CacheWriter implements Closeable {
+        private final String key;
+        private final String url;
+        private final String etag;
+        private final String lastModified;
+        private final Path tempFile;
+        private final OutputStream out;
+        private InputStream source;
+        private boolean committed;
+
+        private CacheWriter(String key, String url, String etag, String lastModified) throws IOException {
+            this.key = key;
+            this.url = url;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.tempFile = Files.createTempFile(directory, key, ".tmp");
+            this.out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE), BUFFER_SIZE);
+        }
+
+        /**
+         * Flujo que entrega el cuerpo original y a la vez lo copia a la caché.
+         * Cerrarlo no cierra el original (lo cierra quien hizo la petición).
+         */
+        public InputStream tee(InputStream body) {
+            this.source = body;
+            return new FilterInputStream(body) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) out.write(b);
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read > 0) out.write(buffer, offset, read);
+                    return read;
+                }
+
+                @Override
+                public long skip(long n) throws IOException {
+                    return Math.max(0, read(new byte[(int) Math.min(n, BUFFER_SIZE)]));
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        /**
+         * Copia lo que el lector no haya consumido, publica la entrada y aplica la expulsión LRU
+         */
+        public void commit() throws IOException {
+            if (source != null) {
+                source.transferTo(out);
+            }
+            out.close();
+            long size = Files.size(tempFile);
+            Files.move(tempFile, directory.resolve(key + BODY_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            store(new Entry(key, url, etag, lastModified, System.currentTimeMillis(), size));
+        }
+
+        @Override
+        public void close() {
+            if (committed) return;
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private synchronized void store(Entry entry) throws IOException {
+        writeMeta(entry);
+        Entry previous = entries.put(entry.key(), entry);
+        totalBytes += entry.size() - (previous != null ? previous.size() : 0);
+        evict();
+    }
+
+    private void evict() {
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1 && eldest.hasNext()) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.size();
+            delete(entry.key());
+            log.debug("Caché HTTP: expulsada {}", entry.url());
+        }
+    }
+
+    private void load() throws IOException {
+        List<Entry> loaded = new ArrayList<>();
+        Map<String, Long> lastAccess = new HashMap<>();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file); // escritura interrumpida
+                    continue;
+                }
+                if (!name.endsWith(META_SUFFIX)) continue;
+
+                String key = name.substring(0, name.length() - META_SUFFIX.length());
+                Path body = directory.resolve(key + BODY_SUFFIX);
+                if (!Files.exists(body)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                try {
+                    loaded.add(readMeta(key, file, Files.size(body)));
+                    lastAccess.put(key, Files.getLastModifiedTime(body).toMillis());
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Entrada de caché HTTP inválida {}, se descarta", name);
+                    delete(key);
+                }
+            }
+        }
+
+        loaded.sort(Comparator.comparingLong(entry -> lastAccess.get(entry.key())));
+        for (Entry entry : loaded) {
+            entries.put(entry.key(), entry);
+            totalBytes += entry.size();
+        }
+        evict();
+    }
+
+    private Entry readMeta(String key, Path file, long size) throws IOException {
+        Properties meta = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            meta.load(reader);
+        }
+        return new Entry(key, meta.getProperty("url"), meta.getProperty("etag"), meta.getProperty("lastModified"),
+                Long.parseLong(meta.getProperty("storedAt")), size);
+    }
+
+    private void writeMeta(Entry entry) throws IOException {
+        Properties meta = new Properties();
+        meta.setProperty("url", entry.url());
+        if (entry.etag() != null) meta.setProperty("etag", entry.etag());
+        if (entry.lastModified() != null) meta.setProperty("lastModified", entry.lastModified());
+        meta.setProperty("storedAt", Long.toString(entry.storedAt()));
+
+        Path temp = Files.createTempFile(directory, entry.key(), ".tmp");
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            meta.store(out, null);
+        }
+        Files.move(temp, directory.resolve(entry.key() + META_SUFFIX),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void delete(String key) {
+        try {
+            Files.deleteIfExists(directory.resolve(key + META_SUFFIX));
+            Files.deleteIfExists(directory.resolve(key + BODY_SUFFIX));
+        } catch (IOException e) {
+            log.warn("No se pudo borrar la entrada de caché {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * SHA-256 en hexadecimal de la URL canónica
+     */
+    static String keyOf(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonicalUrl(url).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Esquema y host en minúsculas, sin puerto por defecto ni fragmento y con los parámetros de la
+     * query ordenados por nombre (se conserva el orden relativo de los repetidos)
+     */
+    static String canonicalUrl(String url) {
+        URI uri = URI.create(url.trim());
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase() : "http";
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase() : "";
+        int port = uri.getPort();
+        boolean defaultPort = port == -1 || ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+
+        StringBuilder canonical = new StringBuilder(url.length());
+        canonical.append(scheme).append("://").append(host);
+        if (!defaultPort) canonical.append(':').append(port);
+        String path = uri.getRawPath();
+        canonical.append(path == null || path.isEmpty() ? "/" : path);
+
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            List<String> parameters = new ArrayList<>(Arrays.asList(query.split("&")));
+            parameters.removeIf(String::isEmpty);
+            parameters.sort(Comparator.comparing(parameter -> {
+                int equals = parameter.indexOf('=');
+                return equals >= 0 ? parameter.substring(0, equals) : parameter;
+            }));
+            canonical.append('?').append(String.join("&", parameters));
+        }
+        return canonical.toString();
+    }
+}
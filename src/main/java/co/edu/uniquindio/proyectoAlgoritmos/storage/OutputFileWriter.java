@@ -0,0 +1,126 @@
+package co.edu.uniquindio.proyectoAlgoritmos.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escritura de los archivos de salida: cada archivo se escribe con un buffer grande en un temporal
+ * del mismo directorio y se renombra al terminar, así quien lo lea nunca ve un archivo a medio
+ * escribir y un fallo deja intacta la versión anterior. Los archivos terminados en .gz se comprimen
+ * con gzip; {@link #dataFile} agrega esa extensión a los archivos de datos si app.output.compression
+ * es gzip. {@link #writeAsync} escribe en un pool propio para que varios archivos se generen a la vez
+ * mientras el llamador sigue trabajando.
+ */
+@Component
+@Slf4j
+public class OutputFileWriter {
+
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final AtomicLong TEMP_COUNTER = new AtomicLong();
+
+    /**
+     * Contenido del archivo; puede cerrar el stream recibido
+     */
+    @FunctionalInterface
+    public interface OutputTask {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    @Value("${app.output.buffer-size-kb:256}")
+    private int bufferSizeKb;
+
+    // none | gzip
+    @Value("${app.output.compression:none}")
+    private String compression;
+
+    @Value("${app.output.writer-threads:3}")
+    private int writerThreads;
+
+    private ExecutorService writerExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        writerExecutor = Executors.newFixedThreadPool(Math.max(1, writerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "output-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writerExecutor.shutdown();
+    }
+
+    /**
+     * Ruta de un archivo de datos en el directorio, con .gz si la compresión está activada
+     */
+    public Path dataFile(String directory, String fileName) {
+        boolean gzip = "gzip".equalsIgnoreCase(compression) && !fileName.endsWith(GZIP_EXTENSION);
+        return Path.of(directory, gzip ? fileName + GZIP_EXTENSION : fileName);
+    }
+
+    /**
+     * Escribe el archivo de forma atómica (temporal + renombrado); si la tarea falla se borra el temporal
+     */
+    public Path write(Path target, OutputTask task) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        // No se usa Files.createTempFile: crearía el archivo con permisos 600 y quedarían tras el renombrado
+        Path temp = parent.resolve("." + target.getFileName() + "." + TEMP_COUNTER.incrementAndGet()
+                + "-" + ProcessHandle.current().pid() + ".tmp");
+
+        try {
+            OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                    Math.max(8, bufferSizeKb) * 1024);
+            if (target.getFileName().toString().endsWith(GZIP_EXTENSION)) {
+                out = new GZIPOutputStream(out, 1 << 16);
+            }
+            try (OutputStream stream = out) {
+                task.writeTo(stream);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        log.debug("Archivo {} escrito en {} ms ({} KB)", target, System.currentTimeMillis() - startTime,
+                Files.size(target) / 1024);
+        return target;
+    }
+
+    /**
+     * Igual que {@link #write} pero en el pool de escritura; el futuro falla con la excepción de la escritura
+     */
+    public CompletableFuture<Path> writeAsync(Path target, OutputTask task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return write(target, task);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error escribiendo " + target + ": " + e.getMessage(), e);
+            }
+        }, writerExecutor);
+    }
+}
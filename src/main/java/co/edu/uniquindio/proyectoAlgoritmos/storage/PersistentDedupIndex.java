@@ -0,0 +1,506 @@
+package co.edu.uniquindio.proyectoAlgoritmos.storage;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.IncrementalIndexResultDto;
+import co.edu.uniquindio.proyectoAlgoritmos.exception.DataProcessingException;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.util.StringSimilarityUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Índice de deduplicación persistente entre ejecuciones.
+ * Guarda en un log binario de solo anexado las claves DOI y las huellas de título normalizado
+ * con el ID de cluster asignado. Al iniciar se carga en memoria y cada ejecución solo escribe
+ * las claves nuevas, así que contrastar un lote cuesta O(registros nuevos).
+ * {@link #knownCluster} permite enrutar antes de la detección de duplicados los registros cuyas
+ * claves ya se vieron en ejecuciones anteriores: su grupo es el cluster registrado.
+ * Las fusiones de clusters se registran como entradas propias; la compactación en segundo plano
+ * reescribe el log solo con las claves vivas y sus clusters ya resueltos.
+ * El siguiente ID de cluster también se registra en el log (tras cada lote que crea clusters y al
+ * inicio de cada compactación), así que los IDs nunca se reutilizan aunque la compactación descarte
+ * las fusiones o un cluster no tenga claves.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PersistentDedupIndex {
+
+    public static final String CLUSTER_FIELD = "dedup_cluster_id";
+
+    private static final int MAGIC = 0x44445831; // "DDX1"
+    private static final int HEADER_LENGTH = 4;
+    private static final byte ENTRY_DOI = 1;
+    private static final byte ENTRY_TITLE = 2;
+    private static final byte ENTRY_MERGE = 3;
+    private static final byte ENTRY_NEXT_CLUSTER = 4;
+
+    private final StringSimilarityUtils similarityUtils;
+
+    @Value("${app.dedup-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.dedup-index.path:src/main/resources/data/index/dedup_index.bin}")
+    private String indexPath;
+
+    // Compactar cuando se hayan registrado estas fusiones desde la última compactación: cada clave
+    // nueva se escribe una sola vez, así que las fusiones son lo único que el log acumula de más
+    @Value("${app.dedup-index.compaction-merge-entries:1000}")
+    private int compactionMergeEntries;
+
+    private final Map<String, Long> doiToCluster = new HashMap<>();
+    private final Map<Long, Long> titleToCluster = new HashMap<>();
+    private final Map<Long, Long> mergedInto = new HashMap<>();
+    private final Set<Long> clustersWithDoi = new HashSet<>();
+    private long nextClusterId = 1;
+    // Clusters raíz con al menos una clave en el índice
+    private long liveClusters;
+    private long logEntries;
+    private long mergesSinceCompaction;
+    private long generation;
+
+    private FileOutputStream logFile;
+    private DataOutputStream logOut;
+    private List<byte[]> pendingDuringCompaction; // no nulo mientras hay una compactación en curso
+
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "dedup-index-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) return;
+
+        Path path = Path.of(indexPath);
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            if (Files.exists(path) && Files.size(path) > 0) {
+                load(path);
+            } else {
+                writeHeader(path);
+            }
+            openAppender(path);
+            log.info("Índice de deduplicación cargado desde {}: {} DOIs, {} títulos, {} entradas en log",
+                    path, doiToCluster.size(), titleToCluster.size(), logEntries);
+        } catch (IOException e) {
+            log.error("No se pudo abrir el índice de deduplicación {}: {}. Índice deshabilitado.", path, e.getMessage());
+            enabled = false;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        compactionExecutor.shutdownNow();
+        closeAppender();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cluster ya registrado para las claves del registro, o null si son nuevas. No modifica el índice.
+     */
+    public synchronized Long knownCluster(ScientificRecord record) {
+        if (!enabled) return null;
+        String doi = normalizeDoi(record.getDoi());
+        return lookup(doi, similarityUtils.titleFingerprint(record.getTitle())).cluster();
+    }
+
+    /**
+     * Contrasta los registros con el índice, asigna a cada uno su cluster (campo {@link #CLUSTER_FIELD})
+     * y persiste las claves nuevas. Solo se tocan las claves de los registros recibidos.
+     * Un registro es nuevo si su cluster no existía antes de este lote (incluye los duplicados
+     * entre sí dentro del lote) y conocido si cae en un cluster de una ejecución anterior.
+     */
+    public synchronized IncrementalIndexResultDto merge(List<ScientificRecord> records) {
+        if (!enabled) {
+            throw new IllegalStateException("El índice de deduplicación está deshabilitado");
+        }
+
+        long startTime = System.currentTimeMillis();
+        long firstNewCluster = nextClusterId;
+        int newRecords = 0;
+        int knownRecords = 0;
+        int clustersCreated = 0;
+        int clustersMerged = 0;
+
+        try {
+            for (ScientificRecord record : records) {
+                String doi = normalizeDoi(record.getDoi());
+                long fingerprint = similarityUtils.titleFingerprint(record.getTitle());
+                Lookup lookup = lookup(doi, fingerprint);
+
+                long cluster;
+                if (lookup.cluster() != null) {
+                    cluster = lookup.cluster();
+                    if (lookup.titleCluster() != null && !lookup.titleCluster().equals(cluster)) {
+                        mergedInto.put(lookup.titleCluster(), cluster);
+                        append(mergeEntry(lookup.titleCluster(), cluster));
+                        mergesSinceCompaction++;
+                        clustersMerged++;
+                        liveClusters--;
+                    }
+                } else {
+                    cluster = nextClusterId++;
+                    clustersCreated++;
+                    // Un cluster nuevo recibe las claves del registro, si las tiene
+                    if (doi != null || fingerprint != 0) liveClusters++;
+                }
+                if (cluster >= firstNewCluster) {
+                    newRecords++;
+                } else {
+                    knownRecords++;
+                }
+
+                if (doi != null && !doiToCluster.containsKey(doi)) {
+                    doiToCluster.put(doi, cluster);
+                    clustersWithDoi.add(cluster);
+                    append(doiEntry(doi, cluster));
+                }
+                if (fingerprint != 0 && !titleToCluster.containsKey(fingerprint)) {
+                    titleToCluster.put(fingerprint, cluster);
+                    append(titleEntry(fingerprint, cluster));
+                }
+
+                record.addAdditionalField(CLUSTER_FIELD, Long.toString(cluster));
+            }
+            if (clustersCreated > 0) {
+                append(nextClusterEntry(nextClusterId));
+            }
+            flushLog();
+        } catch (IOException e) {
+            throw new DataProcessingException("Error actualizando el índice de deduplicación", e);
+        }
+
+        if (mergesSinceCompaction >= Math.max(1, compactionMergeEntries)) {
+            compactAsync();
+        }
+
+        return IncrementalIndexResultDto.builder()
+                .newRecords(newRecords)
+                .knownRecords(knownRecords)
+                .clustersCreated(clustersCreated)
+                .clustersMerged(clustersMerged)
+                .totalClusters((int) liveClusters)
+                .elapsedMillis(System.currentTimeMillis() - startTime)
+                .build();
+    }
+
+    /**
+     * Cluster por DOI, o por título si el cluster encontrado no tiene ya otro DOI
+     * @param cluster cluster del registro (null = claves nuevas)
+     * @param titleCluster cluster del título si es utilizable (se fusiona con el del DOI si difieren)
+     */
+    private record Lookup(Long cluster, Long titleCluster) {}
+
+    private Lookup lookup(String doi, long fingerprint) {
+        Long doiCluster = doi != null ? resolve(doiToCluster.get(doi)) : null;
+        Long titleCluster = fingerprint != 0 ? resolve(titleToCluster.get(fingerprint)) : null;
+
+        // Un título solo une registros si el cluster encontrado no tiene ya otro DOI
+        boolean titleUsable = titleCluster != null && (doi == null || !clustersWithDoi.contains(titleCluster));
+        Long usableTitleCluster = titleUsable ? titleCluster : null;
+        return new Lookup(doiCluster != null ? doiCluster : usableTitleCluster, usableTitleCluster);
+    }
+
+    /**
+     * Descarta el índice actual y lo reconstruye a partir de los registros dados
+     */
+    public synchronized IncrementalIndexResultDto rebuild(List<ScientificRecord> records) {
+        if (!enabled) {
+            throw new IllegalStateException("El índice de deduplicación está deshabilitado");
+        }
+
+        log.info("Reconstruyendo índice de deduplicación con {} registros", records.size());
+        Path path = Path.of(indexPath);
+        try {
+            closeAppender();
+            doiToCluster.clear();
+            titleToCluster.clear();
+            mergedInto.clear();
+            clustersWithDoi.clear();
+            nextClusterId = 1;
+            liveClusters = 0;
+            logEntries = 0;
+            mergesSinceCompaction = 0;
+            generation++;
+            writeHeader(path);
+            openAppender(path);
+        } catch (IOException e) {
+            throw new DataProcessingException("Error reconstruyendo el índice de deduplicación", e);
+        }
+        return merge(records);
+    }
+
+    /**
+     * Reescribe el log en segundo plano con una entrada por clave viva
+     */
+    public CompletableFuture<Void> compactAsync() {
+        return CompletableFuture.runAsync(this::compact, compactionExecutor);
+    }
+
+    private void compact() {
+        Map<String, Long> doiSnapshot = new HashMap<>();
+        Map<Long, Long> titleSnapshot = new HashMap<>();
+        long snapshotNextCluster;
+        long snapshotGeneration;
+
+        synchronized (this) {
+            if (!enabled || pendingDuringCompaction != null) return;
+            doiToCluster.forEach((doi, cluster) -> doiSnapshot.put(doi, resolve(cluster)));
+            titleToCluster.forEach((fingerprint, cluster) -> titleSnapshot.put(fingerprint, resolve(cluster)));
+            snapshotNextCluster = nextClusterId;
+            snapshotGeneration = generation;
+            pendingDuringCompaction = new ArrayList<>();
+        }
+
+        Path path = Path.of(indexPath);
+        Path temp = path.resolveSibling(path.getFileName() + ".compact");
+        long startTime = System.currentTimeMillis();
+
+        try {
+            long entries = 1;
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.write(nextClusterEntry(snapshotNextCluster));
+                for (Map.Entry<String, Long> entry : doiSnapshot.entrySet()) {
+                    out.write(doiEntry(entry.getKey(), entry.getValue()));
+                    entries++;
+                }
+                for (Map.Entry<Long, Long> entry : titleSnapshot.entrySet()) {
+                    out.write(titleEntry(entry.getKey(), entry.getValue()));
+                    entries++;
+                }
+            }
+
+            synchronized (this) {
+                if (generation != snapshotGeneration || !enabled) {
+                    Files.deleteIfExists(temp);
+                    return;
+                }
+                // Entradas escritas mientras se generaba la copia
+                long pendingMerges = 0;
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp.toFile(), true))) {
+                    for (byte[] entry : pendingDuringCompaction) {
+                        out.write(entry);
+                        entries++;
+                        if (entry[0] == ENTRY_MERGE) pendingMerges++;
+                    }
+                }
+                closeAppender();
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                logEntries = entries;
+                mergesSinceCompaction = pendingMerges;
+                openAppender(path);
+            }
+
+            log.info("Índice de deduplicación compactado: {} entradas en {} ms",
+                    entries, System.currentTimeMillis() - startTime);
+        } catch (IOException e) {
+            log.error("Error compactando el índice de deduplicación: {}", e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {}
+        } finally {
+            synchronized (this) {
+                pendingDuringCompaction = null;
+                if (logOut == null && enabled) {
+                    try {
+                        openAppender(path);
+                    } catch (IOException e) {
+                        log.error("No se pudo reabrir el índice de deduplicación: {}", e.getMessage());
+                        enabled = false;
+                    }
+                }
+            }
+        }
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    private void load(Path path) throws IOException {
+        long validLength = HEADER_LENGTH;
+        long maxCluster = 0;
+        long recordedNextCluster = 1;
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Formato de índice desconocido");
+            }
+
+            while (true) {
+                int type = in.read();
+                if (type < 0) break;
+
+                try {
+                    if (type == ENTRY_DOI) {
+                        byte[] doiBytes = new byte[in.readUnsignedShort()];
+                        in.readFully(doiBytes);
+                        long cluster = in.readLong();
+                        doiToCluster.put(new String(doiBytes, StandardCharsets.UTF_8), cluster);
+                        maxCluster = Math.max(maxCluster, cluster);
+                        validLength += 1 + 2 + doiBytes.length + 8;
+                    } else if (type == ENTRY_TITLE) {
+                        long fingerprint = in.readLong();
+                        long cluster = in.readLong();
+                        titleToCluster.put(fingerprint, cluster);
+                        maxCluster = Math.max(maxCluster, cluster);
+                        validLength += 1 + 8 + 8;
+                    } else if (type == ENTRY_MERGE) {
+                        long from = in.readLong();
+                        long to = in.readLong();
+                        mergedInto.put(from, to);
+                        mergesSinceCompaction++;
+                        maxCluster = Math.max(maxCluster, Math.max(from, to));
+                        validLength += 1 + 8 + 8;
+                    } else if (type == ENTRY_NEXT_CLUSTER) {
+                        recordedNextCluster = Math.max(recordedNextCluster, in.readLong());
+                        in.readLong();
+                        validLength += 1 + 8 + 8;
+                    } else {
+                        log.warn("Entrada desconocida en índice de deduplicación (tipo {}), se descarta el resto", type);
+                        break;
+                    }
+                } catch (EOFException e) {
+                    log.warn("Última entrada del índice de deduplicación incompleta, se descarta");
+                    break;
+                }
+                logEntries++;
+            }
+        }
+
+        // Descartar una cola incompleta (p. ej. por una caída durante la escritura)
+        if (validLength < Files.size(path)) {
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                file.setLength(validLength);
+            }
+        }
+
+        Set<Long> roots = new HashSet<>();
+        for (Long cluster : doiToCluster.values()) {
+            Long root = resolve(cluster);
+            clustersWithDoi.add(root);
+            roots.add(root);
+        }
+        for (Long cluster : titleToCluster.values()) {
+            roots.add(resolve(cluster));
+        }
+        liveClusters = roots.size();
+        nextClusterId = Math.max(maxCluster + 1, recordedNextCluster);
+    }
+
+    private void writeHeader(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeInt(MAGIC);
+        }
+    }
+
+    private void openAppender(Path path) throws IOException {
+        logFile = new FileOutputStream(path.toFile(), true);
+        logOut = new DataOutputStream(new BufferedOutputStream(logFile, 1 << 16));
+    }
+
+    private void closeAppender() {
+        if (logOut == null) return;
+        try {
+            logOut.close();
+        } catch (IOException e) {
+            log.warn("Error cerrando el índice de deduplicación: {}", e.getMessage());
+        }
+        logOut = null;
+        logFile = null;
+    }
+
+    private void append(byte[] entry) throws IOException {
+        logOut.write(entry);
+        logEntries++;
+        if (pendingDuringCompaction != null) {
+            pendingDuringCompaction.add(entry);
+        }
+    }
+
+    private void flushLog() throws IOException {
+        logOut.flush();
+        logFile.getChannel().force(false);
+    }
+
+    private static byte[] doiEntry(String doi, long cluster) {
+        byte[] doiBytes = doi.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(doiBytes.length, 0xFFFF);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 + 2 + length + 8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(ENTRY_DOI);
+            out.writeShort(length);
+            out.write(doiBytes, 0, length);
+            out.writeLong(cluster);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] titleEntry(long fingerprint, long cluster) {
+        return fixedEntry(ENTRY_TITLE, fingerprint, cluster);
+    }
+
+    private static byte[] mergeEntry(long from, long to) {
+        return fixedEntry(ENTRY_MERGE, from, to);
+    }
+
+    private static byte[] nextClusterEntry(long nextCluster) {
+        return fixedEntry(ENTRY_NEXT_CLUSTER, nextCluster, 0);
+    }
+
+    private static byte[] fixedEntry(byte type, long first, long second) {
+        byte[] entry = new byte[17];
+        entry[0] = type;
+        for (int i = 0; i < 8; i++) {
+            entry[1 + i] = (byte) (first >>> (56 - 8 * i));
+            entry[9 + i] = (byte) (second >>> (56 - 8 * i));
+        }
+        return entry;
+    }
+
+    // ========== CLUSTERS ==========
+
+    private Long resolve(Long cluster) {
+        if (cluster == null) return null;
+        Long root = cluster;
+        Long parent;
+        while ((parent = mergedInto.get(root)) != null) {
+            root = parent;
+        }
+        // Compresión de caminos (solo en memoria)
+        Long current = cluster;
+        while (!current.equals(root)) {
+            Long next = mergedInto.get(current);
+            mergedInto.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    private String normalizeDoi(String doi) {
+        if (doi == null || doi.trim().isEmpty()) return null;
+        return doi.trim().toLowerCase();
+    }
+}
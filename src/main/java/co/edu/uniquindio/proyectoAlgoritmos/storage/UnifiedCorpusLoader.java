@@ -0,0 +1,55 @@
+package co.edu.uniquindio.proyectoAlgoritmos.storage;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.ColumnarRecordStore.Column;
+import co.edu.uniquindio.proyectoAlgoritmos.util.CsvUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lectura del último corpus unificado guardado en disco, para los servicios que indexan el corpus
+ * cuando aún no se ha procesado nada en esta ejecución.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnifiedCorpusLoader {
+
+    private final CsvUtils csvUtils;
+    private final ColumnarRecordStore columnarStore;
+    private final OutputFileWriter outputFileWriter;
+
+    @Value("${app.file-storage.output-path:src/main/resources/data/output}")
+    private String outputPath;
+
+    /**
+     * Lee la copia columnar si existe, solo con las columnas pedidas; si no existe o falla, el CSV
+     * unificado completo (ubicado con {@link OutputFileWriter#dataFile}). Lista vacía si no hay ninguno.
+     */
+    public List<ScientificRecord> loadLastUnifiedCorpus(Set<Column> columns) {
+        File columnarFile = new File(outputPath, "resultados_unificados" + ColumnarRecordStore.FILE_EXTENSION);
+        File unifiedFile = outputFileWriter.dataFile(outputPath, "resultados_unificados.csv").toFile();
+        List<ScientificRecord> records = List.of();
+        if (columnarFile.exists()) {
+            try {
+                records = columnarStore.read(columnarFile.getAbsolutePath(), columns);
+            } catch (Exception e) {
+                log.warn("No se pudo leer el corpus unificado {}: {}", columnarFile, e.getMessage());
+            }
+        }
+        if (records.isEmpty() && unifiedFile.exists()) {
+            try {
+                records = csvUtils.readRecordsFromCsv(unifiedFile.getAbsolutePath());
+            } catch (Exception e) {
+                log.warn("No se pudo leer el corpus unificado {}: {}", unifiedFile, e.getMessage());
+            }
+        }
+        return records;
+    }
+}
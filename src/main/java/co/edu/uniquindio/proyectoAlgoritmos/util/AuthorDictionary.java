@@ -0,0 +1,56 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario de autores: asigna a cada nombre normalizado (espacios recortados y colapsados)
+ * un ID entero denso, lo que permite contar o agregar por autor con arreglos {@code int[]}.
+ * Se crea uno por análisis y no modifica los registros: la normalización solo afecta a la clave
+ * con la que se agrupan los nombres y los nombres vacíos no reciben ID.
+ * No es seguro para uso concurrente.
+ */
+public class AuthorDictionary {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Retorna el ID del autor, registrándolo si es nuevo; -1 si el nombre está vacío
+     */
+    public int idOf(String author) {
+        if (author == null) return -1;
+
+        // Camino rápido: la mayoría de los nombres ya vienen normalizados
+        Integer known = ids.get(author);
+        if (known != null) return known;
+
+        String normalized = normalize(author);
+        if (normalized.isEmpty()) return -1;
+
+        return ids.computeIfAbsent(normalized, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+    }
+
+    public String nameOf(int id) {
+        if (id < 0 || id >= names.size()) {
+            throw new IllegalArgumentException("ID de autor inválido: " + id);
+        }
+        return names.get(id);
+    }
+
+    /**
+     * Número de autores distintos registrados (los IDs van de 0 a size() - 1)
+     */
+    public int size() {
+        return names.size();
+    }
+
+    private static String normalize(String author) {
+        return author.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -2,20 +2,35 @@ package co.edu.uniquindio.proyectoAlgoritmos.util;
 
 import co.edu.uniquindio.proyectoAlgoritmos.model.DataSource;
 import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 @Component
 @Slf4j
@@ -25,79 +40,245 @@ public class    CsvUtils {
             "ID", "Title", "Authors", "Abstract", "Keywords", "Journal",
             "Publication_Date", "Year", "DOI", "URL", "Source", "Country", "Language"
     };
+    // Posiciones en HEADERS
+    private static final int COL_ID = 0, COL_TITLE = 1, COL_AUTHORS = 2, COL_ABSTRACT = 3, COL_KEYWORDS = 4,
+            COL_JOURNAL = 5, COL_PUBLICATION_DATE = 6, COL_YEAR = 7, COL_DOI = 8, COL_URL = 9, COL_SOURCE = 10,
+            COL_COUNTRY = 11, COL_LANGUAGE = 12;
+    private static final int BUFFER_SIZE = 1 << 16;
 
+    /**
+     * Forma de leer un CSV con el esquema de {@link #HEADERS}
+     */
+    public enum ReadMode {
+        /** Parser secuencial en streaming (commons-csv) */
+        STREAMING,
+        /** Archivo mapeado en memoria y parseado por bloques en paralelo, en el orden del archivo */
+        MAPPED_ORDERED,
+        /** Igual que MAPPED_ORDERED pero cada bloque se entrega al terminar, sin conservar el orden */
+        MAPPED_UNORDERED
+    }
+
+    // Tamaño desde el que readRecordsFromCsv usa el parser mapeado (negativo = nunca)
+    @Value("${app.csv.mapped-read.min-size-mb:64}")
+    private long mappedReadMinSizeMb;
+
+    @Value("${app.csv.mapped-read.chunk-size-mb:16}")
+    private int mappedReadChunkSizeMb;
+
+    // 0 = núcleos disponibles
+    @Value("${app.csv.mapped-read.threads:0}")
+    private int mappedReadThreads;
+
+    private ExecutorService parseExecutor;
+    private int parseThreads;
+
+    @PostConstruct
+    public void init() {
+        parseThreads = mappedReadThreads > 0 ? mappedReadThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        parseExecutor = Executors.newFixedThreadPool(parseThreads, runnable -> {
+            Thread thread = new Thread(runnable, "csv-parse-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parseExecutor.shutdownNow();
+    }
+
+    /**
+     * Lee el CSV completo; los archivos de al menos app.csv.mapped-read.min-size-mb se leen con el
+     * parser mapeado en paralelo (mismo resultado y orden que el streaming)
+     */
     public List<ScientificRecord> readRecordsFromCsv(String filePath) throws IOException {
-        List<ScientificRecord> records = new ArrayList<>();
-
-        try (Reader reader = new FileReader(filePath);
-             CSVParser csvParser = new CSVParser(reader,
-                     CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build())) {
-
-            for (CSVRecord csvRecord : csvParser) {
-                try {
-                    ScientificRecord record = mapCsvRecordToScientificRecord(csvRecord);
-                    records.add(record);
-                } catch (Exception e) {
-                    log.warn("Error procesando registro en línea {}: {}", csvRecord.getRecordNumber(), e.getMessage());
-                }
-            }
+        long size = Files.size(Path.of(filePath));
+        boolean mapped = mappedReadMinSizeMb >= 0 && size >= mappedReadMinSizeMb * 1024 * 1024;
+        return readRecordsFromCsv(filePath, mapped ? ReadMode.MAPPED_ORDERED : ReadMode.STREAMING);
+    }
+
+    public List<ScientificRecord> readRecordsFromCsv(String filePath, ReadMode mode) throws IOException {
+        List<ScientificRecord> records;
+        try (Stream<ScientificRecord> stream = streamRecordsFromCsv(filePath, mode)) {
+            records = stream.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
 
-        log.info("Leídos {} registros desde {}", records.size(), filePath);
+        log.info("Leídos {} registros desde {} ({})", records.size(), filePath, mode);
         return records;
     }
 
-    public void writeRecordsToCsv(List<ScientificRecord> records, String filePath) throws IOException {
-        try (Writer writer = new FileWriter(filePath);
-             CSVPrinter csvPrinter = new CSVPrinter(writer,
-                     CSVFormat.DEFAULT.builder().setHeader(HEADERS).build())) {
+    /**
+     * Lee el CSV como stream con el modo indicado. El stream debe cerrarse (try-with-resources).
+     */
+    public Stream<ScientificRecord> streamRecordsFromCsv(String filePath, ReadMode mode) throws IOException {
+        // Un .gz no se puede mapear: se lee en streaming
+        if (mode == ReadMode.STREAMING || filePath.endsWith(".gz")) {
+            return streamRecordsFromCsv(filePath);
+        }
+        MappedCsvParser parser = MappedCsvParser.open(Path.of(filePath), HEADERS, mappedReadChunkSizeMb * 1024 * 1024);
+        try {
+            return parser.stream(parseExecutor, parseThreads, mode == ReadMode.MAPPED_ORDERED,
+                    row -> mapFieldsToScientificRecord(row::get));
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lee el CSV de forma perezosa: cada registro se parsea al consumirlo, así la memoria no depende
+     * del tamaño del archivo. Los archivos .gz se descomprimen al leer. El stream mantiene el archivo abierto y debe cerrarse
+     * (try-with-resources). Los registros que no se pueden mapear se omiten con un aviso; un error
+     * de lectura se propaga como {@link UncheckedIOException}.
+     */
+    public Stream<ScientificRecord> streamRecordsFromCsv(String filePath) throws IOException {
+        InputStream in = Files.newInputStream(Path.of(filePath));
+        if (filePath.endsWith(".gz")) {
+            in = new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        CSVParser csvParser;
+        try {
+            csvParser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        ColumnIndex columns = new ColumnIndex(csvParser.getHeaderMap());
 
+        return csvParser.stream()
+                .map(csvRecord -> {
+                    try {
+                        return mapFieldsToScientificRecord(column -> columns.get(csvRecord, column));
+                    } catch (Exception e) {
+                        log.warn("Error procesando registro en línea {}: {}", csvRecord.getRecordNumber(), e.getMessage());
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .onClose(() -> {
+                    try {
+                        csvParser.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    public void writeRecordsToCsv(List<ScientificRecord> records, String filePath) throws IOException {
+        try (CsvRecordWriter writer = openCsvWriter(filePath)) {
             for (ScientificRecord record : records) {
-                csvPrinter.printRecord(
-                        record.getId(),
-                        record.getTitle(),
-                        joinList(record.getAuthors()),
-                        record.getAbstractText(),
-                        joinList(record.getKeywords()),
-                        record.getJournal(),
-                        record.getPublicationDate() != null ? record.getPublicationDate().toString() : "",
-                        record.getYear(),
-                        record.getDoi(),
-                        record.getUrl(),
-                        record.getSource() != null ? record.getSource() : "",
-                        record.getCountry(),
-                        record.getLanguage()
-                );
+                writer.write(record);
             }
         }
 
         log.info("Escritos {} registros en {}", records.size(), filePath);
     }
 
-    private ScientificRecord mapCsvRecordToScientificRecord(CSVRecord csvRecord) {
-        return ScientificRecord.builder()
-                .id(getValueOrDefault(csvRecord, "ID", ""))
-                .title(getValueOrDefault(csvRecord, "Title", ""))
-                .authors(parseList(getValueOrDefault(csvRecord, "Authors", "")))
-                .abstractText(getValueOrDefault(csvRecord, "Abstract", ""))
-                .keywords(parseList(getValueOrDefault(csvRecord, "Keywords", "")))
-                .journal(getValueOrDefault(csvRecord, "Journal", ""))
-                .publicationDate(parseDate(getValueOrDefault(csvRecord, "Publication_Date", "")))
-                .year(parseInteger(getValueOrDefault(csvRecord, "Year", "")))
-                .doi(getValueOrDefault(csvRecord, "DOI", ""))
-                .url(getValueOrDefault(csvRecord, "URL", ""))
-                .source(parseDataSource(getValueOrDefault(csvRecord, "Source", "")).toString())
-                .country(getValueOrDefault(csvRecord, "Country", ""))
-                .language(getValueOrDefault(csvRecord, "Language", ""))
-                .build();
+    /**
+     * Abre un escritor incremental: escribe el encabezado y luego cada registro que recibe, sin
+     * necesitar la lista completa. Debe cerrarse para vaciar el buffer.
+     */
+    public CsvRecordWriter openCsvWriter(String filePath) throws IOException {
+        return openCsvWriter(Files.newOutputStream(Path.of(filePath)));
     }
 
-    private String getValueOrDefault(CSVRecord record, String header, String defaultValue) {
+    /**
+     * Igual que {@link #openCsvWriter(String)} sobre un stream ya abierto (lo cierra al cerrarse)
+     */
+    public CsvRecordWriter openCsvWriter(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
         try {
-            return record.isSet(header) ? record.get(header) : defaultValue;
-        } catch (IllegalArgumentException e) {
-            return defaultValue;
+            return new CsvRecordWriter(new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(HEADERS).build()));
+        } catch (IOException | RuntimeException e) {
+            writer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Escritor de registros en el formato de {@link #HEADERS}, uno a la vez
+     */
+    public static final class CsvRecordWriter implements Closeable {
+        private final CSVPrinter csvPrinter;
+        private int recordsWritten;
+
+        private CsvRecordWriter(CSVPrinter csvPrinter) {
+            this.csvPrinter = csvPrinter;
+        }
+
+        public void write(ScientificRecord record) throws IOException {
+            csvPrinter.printRecord(
+                    record.getId(),
+                    record.getTitle(),
+                    joinList(record.getAuthors()),
+                    record.getAbstractText(),
+                    joinList(record.getKeywords()),
+                    record.getJournal(),
+                    record.getPublicationDate() != null ? record.getPublicationDate().toString() : "",
+                    record.getYear(),
+                    record.getDoi(),
+                    record.getUrl(),
+                    record.getSource() != null ? record.getSource() : "",
+                    record.getCountry(),
+                    record.getLanguage()
+            );
+            recordsWritten++;
+        }
+
+        public int getRecordsWritten() {
+            return recordsWritten;
+        }
+
+        @Override
+        public void close() throws IOException {
+            csvPrinter.close(true);
+        }
+    }
+
+    /**
+     * Posición de cada columna de {@link #HEADERS} en el archivo, resuelta una vez desde el encabezado
+     * (-1 si el archivo no la tiene)
+     */
+    private static final class ColumnIndex {
+        private final int[] positions = new int[HEADERS.length];
+
+        private ColumnIndex(Map<String, Integer> headerMap) {
+            for (int i = 0; i < HEADERS.length; i++) {
+                Integer position = headerMap != null ? headerMap.get(HEADERS[i]) : null;
+                positions[i] = position != null ? position : -1;
+            }
         }
+
+        private String get(CSVRecord record, int column) {
+            int position = positions[column];
+            return position >= 0 && position < record.size() ? record.get(position) : "";
+        }
+    }
+
+    /**
+     * @param field valor de cada columna de {@link #HEADERS} por su posición
+     */
+    private ScientificRecord mapFieldsToScientificRecord(IntFunction<String> field) {
+        Integer year = parseInteger(field.apply(COL_YEAR));
+        return ScientificRecord.builder()
+                .id(field.apply(COL_ID))
+                .title(field.apply(COL_TITLE))
+                .authors(parseList(field.apply(COL_AUTHORS)))
+                .abstractText(field.apply(COL_ABSTRACT))
+                .keywords(parseList(field.apply(COL_KEYWORDS)))
+                .journal(field.apply(COL_JOURNAL))
+                .publicationDate(parseDate(field.apply(COL_PUBLICATION_DATE)))
+                .year(year != null ? year : 0)
+                .doi(field.apply(COL_DOI))
+                .url(field.apply(COL_URL))
+                .source(parseDataSource(field.apply(COL_SOURCE)).toString())
+                .country(field.apply(COL_COUNTRY))
+                .language(field.apply(COL_LANGUAGE))
+                .build();
     }
 
     private List<String> parseList(String value) {
@@ -107,7 +288,7 @@ public class    CsvUtils {
         return Arrays.asList(value.split(";"));
     }
 
-    private String joinList(List<String> list) {
+    private static String joinList(List<String> list) {
         return list != null ? String.join(";", list) : "";
     }
 
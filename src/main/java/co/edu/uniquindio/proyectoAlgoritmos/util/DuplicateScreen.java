@@ -0,0 +1,144 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.BloomFilterStatsDto;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filtro previo de duplicados que se alimenta durante la ingesta.
+ * El DOI normalizado, la huella del título y el hash único de cada registro
+ * ({@link ScientificRecord#generateUniqueHash()}) se insertan en un filtro de Bloom de claves vistas;
+ * si una clave ya estaba, pasa a un segundo filtro de claves repetidas. Al terminar, un registro
+ * cuyas claves no están en el filtro de repetidas es único con certeza (no hay falsos negativos)
+ * y puede saltarse la detección exacta; solo los probables duplicados se verifican.
+ * Las tres claves cubren todo lo que usa la detección exacta: los grupos por DOI y por título
+ * normalizado, y la igualdad por hash único con la que se excluyen del paso por título los
+ * registros iguales a uno con DOI y se separan los únicos de los duplicados. Un registro sin
+ * claves repetidas no comparte ninguna de ellas con otro, así que la detección exacta sobre los
+ * candidatos da los mismos grupos y únicos que sobre todos los registros.
+ */
+public class DuplicateScreen {
+
+    private static final long DOI_SALT = 0x5DEECE66DL;
+    private static final long UNIQUE_HASH_SALT = 0x2545F4914F6CDD1DL;
+
+    private final ScalableBloomFilter seen;
+    private final ScalableBloomFilter repeated;
+    private long offered;
+
+    public DuplicateScreen(long expectedRecords, double falsePositiveRate) {
+        // Tres claves por registro (DOI, título y hash único)
+        this.seen = new ScalableBloomFilter(Math.max(1, expectedRecords * 3), falsePositiveRate);
+        this.repeated = new ScalableBloomFilter(Math.max(1, expectedRecords / 4), falsePositiveRate);
+    }
+
+    /**
+     * Registra las claves del registro
+     * @return true si alguna ya estaba, es decir, si el registro puede duplicar a uno anterior;
+     *         false garantiza que ninguno de los registros ofrecidos antes comparte sus claves
+     */
+    public synchronized boolean offer(ScientificRecord record) {
+        offered++;
+        boolean repeatedKey = false;
+        long doiKey = doiKey(record.getDoi());
+        if (doiKey != 0 && !seen.put(doiKey)) {
+            repeated.put(doiKey);
+            repeatedKey = true;
+        }
+        long titleKey = titleKey(record.getTitle());
+        if (titleKey != 0 && !seen.put(titleKey)) {
+            repeated.put(titleKey);
+            repeatedKey = true;
+        }
+        long uniqueHashKey = uniqueHashKey(record);
+        if (!seen.put(uniqueHashKey)) {
+            repeated.put(uniqueHashKey);
+            repeatedKey = true;
+        }
+        return repeatedKey;
+    }
+
+    /**
+     * true si el registro puede tener duplicados y debe pasar por la verificación exacta
+     */
+    public synchronized boolean isCandidate(ScientificRecord record) {
+        long doiKey = doiKey(record.getDoi());
+        if (doiKey != 0 && repeated.mightContain(doiKey)) return true;
+        long titleKey = titleKey(record.getTitle());
+        if (titleKey != 0 && repeated.mightContain(titleKey)) return true;
+        return repeated.mightContain(uniqueHashKey(record));
+    }
+
+    public synchronized BloomFilterStatsDto getStats() {
+        return BloomFilterStatsDto.builder()
+                .recordsOffered(offered)
+                .distinctKeys(seen.getInsertions())
+                .repeatedKeys(repeated.getInsertions())
+                .configuredFalsePositiveRate(seen.getConfiguredFalsePositiveRate())
+                .estimatedFalsePositiveRate(Math.max(seen.getEstimatedFalsePositiveRate(),
+                        repeated.getEstimatedFalsePositiveRate()))
+                .memoryBytes(seen.getMemoryBytes() + repeated.getMemoryBytes())
+                .stages(seen.getStageCount() + repeated.getStageCount())
+                .build();
+    }
+
+    private static long doiKey(String doi) {
+        if (doi == null || doi.trim().isEmpty()) return 0L;
+        byte[] bytes = doi.trim().toLowerCase().getBytes(StandardCharsets.UTF_8);
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= DOI_SALT;
+        return hash == 0L ? 1L : hash;
+    }
+
+    /**
+     * Huella del título con solo letras y números (sin espacios). Es función del título normalizado
+     * de {@link StringSimilarityUtils#normalizeTitle}: dos títulos con la misma clave de agrupación
+     * tienen la misma huella. Lo contrario no vale (p. ej. "data base" y "database"), lo que solo
+     * agrega candidatos
+     */
+    private static long titleKey(String title) {
+        if (title == null) return 0L;
+        String lower = title.toLowerCase();
+        long hash = 0xcbf29ce484222325L;
+        boolean empty = true;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                hash ^= c;
+                hash *= 0x100000001b3L;
+                empty = false;
+            }
+        }
+        if (empty) return 0L;
+        return hash == 0L ? 1L : hash;
+    }
+
+    /**
+     * Clave del hash único del registro: el mismo String.hashCode de título + primer autor (solo
+     * letras y números en minúscula) que calcula {@link ScientificRecord#generateUniqueHash()},
+     * sin armar las cadenas. Todos los registros la tienen, también los que no tienen título ni autor
+     */
+    private static long uniqueHashKey(ScientificRecord record) {
+        int hash = alphanumericHash(0, record.getTitle());
+        hash = alphanumericHash(hash, record.getFirstAuthor());
+        long key = ((long) hash * 0x9E3779B97F4A7C15L) ^ UNIQUE_HASH_SALT;
+        return key == 0L ? 1L : key;
+    }
+
+    private static int alphanumericHash(int hash, String text) {
+        if (text == null) return hash;
+        String lower = text.toLowerCase();
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                hash = 31 * hash + c;
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,175 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Agrupación de duplicados incremental: los registros se normalizan e indexan por DOI y título
+ * a medida que llegan las páginas de cada fuente, así la detección no espera a que terminen
+ * todas las descargas.
+ * Los grupos finales son los mismos que los de
+ * {@link co.edu.uniquindio.proyectoAlgoritmos.service.DuplicateDetectionService#detectDuplicates(List)}
+ * sobre la lista de todas las fuentes en orden: cada registro recibe un ordinal (fuente, posición)
+ * y al terminar los grupos y sus miembros se ordenan por ese ordinal.
+ * Con un {@code knownCluster} (p. ej. el índice persistente) los registros cuyas claves ya tienen
+ * cluster no se indexan por DOI/título: se agrupan directamente por ese cluster.
+ * Con un {@link DuplicateScreen} los demás registros pasan primero por el filtro de Bloom: los que
+ * traen solo claves nuevas quedan aparcados sin normalizar y, al pedir los grupos, se indexan solo
+ * los que un registro posterior volvió candidatos; el resto es único con certeza y no se indexa.
+ * Como el filtro no tiene falsos negativos, los grupos no cambian.
+ * No es seguro para uso concurrente; las páginas deben entregarse de a una.
+ */
+public class IncrementalDuplicateIndex {
+
+    private final StringSimilarityUtils similarityUtils;
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, List<Entry>> doiGroups = new HashMap<>();
+    private final Map<String, List<Entry>> titleGroups = new HashMap<>();
+    // Hash único de los registros con DOI: la versión por lotes no agrupa por título a registros iguales a estos
+    private final Set<String> doiRecordHashes = new HashSet<>();
+    private final Map<Integer, Integer> nextPosition = new HashMap<>();
+    private final Function<ScientificRecord, Long> knownCluster;
+    private final Map<Long, List<Entry>> clusterGroups = new HashMap<>();
+    private final DuplicateScreen screen;
+    // Registros que llegaron solo con claves nuevas, pendientes de la decisión del filtro
+    private final List<Entry> deferred = new ArrayList<>();
+    private int screenedOut;
+
+    public IncrementalDuplicateIndex(StringSimilarityUtils similarityUtils) {
+        this(similarityUtils, record -> null, null);
+    }
+
+    /**
+     * @param knownCluster cluster ya conocido del registro, o null para indexarlo por DOI/título
+     * @param screen filtro de Bloom previo a la indexación, o null para indexar todos los registros
+     */
+    public IncrementalDuplicateIndex(StringSimilarityUtils similarityUtils,
+                                     Function<ScientificRecord, Long> knownCluster,
+                                     DuplicateScreen screen) {
+        this.similarityUtils = similarityUtils;
+        this.knownCluster = knownCluster;
+        this.screen = screen;
+    }
+
+    /**
+     * Indexa una página de la fuente {@code sourceIndex} (orden de la fuente en la lista final)
+     */
+    public void add(int sourceIndex, List<ScientificRecord> page) {
+        int position = nextPosition.getOrDefault(sourceIndex, 0);
+        for (ScientificRecord record : page) {
+            Entry entry = new Entry(record, ((long) sourceIndex << 32) | position++);
+            entries.add(entry);
+
+            Long cluster = knownCluster.apply(record);
+            if (cluster != null) {
+                clusterGroups.computeIfAbsent(cluster, k -> new ArrayList<>(2)).add(entry);
+                continue;
+            }
+
+            if (screen != null && !screen.offer(record)) {
+                deferred.add(entry);
+            } else {
+                index(entry);
+            }
+        }
+        nextPosition.put(sourceIndex, position);
+    }
+
+    private void index(Entry entry) {
+        ScientificRecord record = entry.record();
+        String doi = normalizeDoi(record.getDoi());
+        if (doi != null) {
+            doiGroups.computeIfAbsent(doi, k -> new ArrayList<>(2)).add(entry);
+            doiRecordHashes.add(record.generateUniqueHash());
+        } else {
+            String title = similarityUtils.normalizeTitle(record.getTitle());
+            if (!title.isEmpty()) {
+                titleGroups.computeIfAbsent(title, k -> new ArrayList<>(2)).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Indexa los registros aparcados cuyas claves repitió un registro posterior; los demás
+     * no tienen duplicados y quedan fuera del índice
+     */
+    private void resolveDeferred() {
+        for (Entry entry : deferred) {
+            if (screen.isCandidate(entry.record())) {
+                index(entry);
+            } else {
+                screenedOut++;
+            }
+        }
+        deferred.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Registros que el filtro de Bloom descartó como únicos con certeza (se conocen al pedir los grupos)
+     */
+    public int getScreenedOut() {
+        return screenedOut;
+    }
+
+    /**
+     * Todos los registros en el orden de las fuentes
+     */
+    public List<ScientificRecord> getRecords() {
+        return entries.stream()
+                .sorted(Comparator.comparingLong(Entry::ordinal))
+                .map(Entry::record)
+                .toList();
+    }
+
+    /**
+     * Grupos de duplicados con las mismas claves y orden que la detección por lotes,
+     * seguidos de los grupos de registros con cluster conocido
+     */
+    public Map<String, List<ScientificRecord>> getDuplicateGroups() {
+        resolveDeferred();
+        Map<String, List<ScientificRecord>> duplicateGroups = new LinkedHashMap<>();
+        int groupCounter = 0;
+
+        for (List<ScientificRecord> group : sortedGroups(doiGroups.values())) {
+            duplicateGroups.put("doi_group_" + groupCounter++, group);
+        }
+
+        List<List<Entry>> titleCandidates = new ArrayList<>();
+        for (List<Entry> group : titleGroups.values()) {
+            List<Entry> remaining = group.stream()
+                    .filter(entry -> !doiRecordHashes.contains(entry.record().generateUniqueHash()))
+                    .toList();
+            titleCandidates.add(remaining);
+        }
+        for (List<ScientificRecord> group : sortedGroups(titleCandidates)) {
+            duplicateGroups.put("title_group_" + groupCounter++, group);
+        }
+        for (List<ScientificRecord> group : sortedGroups(clusterGroups.values())) {
+            duplicateGroups.put("cluster_group_" + groupCounter++, group);
+        }
+
+        return duplicateGroups;
+    }
+
+    private static List<List<ScientificRecord>> sortedGroups(Collection<List<Entry>> groups) {
+        return groups.stream()
+                .filter(group -> group.size() > 1)
+                .map(group -> group.stream().sorted(Comparator.comparingLong(Entry::ordinal)).toList())
+                .sorted(Comparator.comparingLong(group -> group.get(0).ordinal()))
+                .map(group -> group.stream().map(Entry::record).toList())
+                .toList();
+    }
+
+    private static String normalizeDoi(String doi) {
+        if (doi == null || doi.trim().isEmpty()) return null;
+        return doi.trim().toLowerCase();
+    }
+
+    private record Entry(ScientificRecord record, long ordinal) {}
+}
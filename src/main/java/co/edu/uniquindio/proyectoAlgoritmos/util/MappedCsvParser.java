@@ -0,0 +1,388 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parser CSV (RFC 4180, el formato de {@link CsvUtils}) sobre el archivo mapeado en memoria y
+ * dividido en bloques que se parsean en paralelo directamente desde los bytes mapeados.
+ * Los límites de bloque se ajustan a fin de registro sin parsear secuencialmente: cada bloque
+ * cuenta sus comillas y anota su primer salto de línea con paridad de comillas par e impar; con la
+ * paridad acumulada de los bloques anteriores se sabe cuál de los dos está fuera de comillas.
+ * Los campos se guardan como rangos de bytes y solo se decodifican a String cuando se piden.
+ * Los registros salen en el orden del archivo o en el orden en que terminan los bloques; como
+ * mucho hay 2 x hilos bloques en vuelo, así la memoria no depende del tamaño del archivo.
+ */
+@Slf4j
+final class MappedCsvParser implements Closeable {
+
+    private static final byte QUOTE = '"';
+    private static final byte COMMA = ',';
+    private static final byte NEWLINE = '\n';
+    private static final byte CR = '\r';
+
+    /**
+     * Registro cuyos campos se decodifican al pedirlos
+     */
+    interface Row {
+        /**
+         * Valor de la columna {@code column} del esquema pedido ("" si el archivo no la tiene)
+         */
+        String get(int column);
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final int chunkSize;
+    private final long dataStart;
+    // Posición en el archivo de cada columna del esquema (-1 si falta)
+    private final int[] columnPositions;
+
+    private MappedCsvParser(FileChannel channel, long size, int chunkSize, long dataStart, int[] columnPositions) {
+        this.channel = channel;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.dataStart = dataStart;
+        this.columnPositions = columnPositions;
+    }
+
+    /**
+     * Abre el archivo y resuelve las columnas del esquema a partir del encabezado
+     */
+    static MappedCsvParser open(Path path, String[] schema, int chunkSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, 1 << 20));
+            int start = head.limit() >= 3 && (head.get(0) & 0xFF) == 0xEF && (head.get(1) & 0xFF) == 0xBB
+                    && (head.get(2) & 0xFF) == 0xBF ? 3 : 0; // BOM UTF-8
+
+            List<String> header = new ArrayList<>();
+            ChunkParser headerParser = new ChunkParser(head, start, head.limit());
+            long headerEnd = headerParser.next() ? headerParser.position : start;
+            if (headerParser.fieldCount > 0) {
+                for (int i = 0; i < headerParser.fieldCount; i++) {
+                    header.add(headerParser.decode(i).trim());
+                }
+            }
+
+            int[] columnPositions = new int[schema.length];
+            for (int i = 0; i < schema.length; i++) {
+                columnPositions[i] = header.indexOf(schema[i]);
+            }
+            return new MappedCsvParser(channel, size, Math.max(1 << 16, chunkSize), headerEnd, columnPositions);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Parsea los bloques en {@code executor} y entrega los registros ya mapeados.
+     * El stream debe cerrarse; al cerrarlo se cancelan los bloques pendientes y se cierra el archivo.
+     * @param ordered true = en el orden del archivo, false = en el orden en que terminan los bloques
+     */
+    <T> Stream<T> stream(ExecutorService executor, int parallelism, boolean ordered,
+                         Function<Row, T> mapper) throws IOException {
+        List<long[]> chunks = planChunks(executor);
+        ChunkIterator<T> iterator = new ChunkIterator<>(chunks, executor, Math.max(1, parallelism) * 2, ordered, mapper);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .flatMap(List::stream)
+                .onClose(() -> {
+                    iterator.cancel();
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Rangos [inicio, fin) de cada bloque, ajustados a fin de registro
+     */
+    private List<long[]> planChunks(ExecutorService executor) throws IOException {
+        long dataSize = size - dataStart;
+        int count = (int) Math.max(1, (dataSize + chunkSize - 1) / chunkSize);
+        List<Future<QuoteScan>> scans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long start = dataStart + (long) i * chunkSize;
+            long end = Math.min(size, start + chunkSize);
+            scans.add(executor.submit(() -> scan(start, end)));
+        }
+
+        List<long[]> chunks = new ArrayList<>();
+        long chunkStart = dataStart;
+        boolean insideQuotes = false;
+        try {
+            for (int i = 0; i < count; i++) {
+                QuoteScan scan = scans.get(i).get();
+                if (i > 0) {
+                    // El primer salto de línea fuera de comillas de este bloque cierra el bloque anterior
+                    long newline = insideQuotes ? scan.firstNewlineOddQuotes() : scan.firstNewlineEvenQuotes();
+                    if (newline >= 0 && newline + 1 > chunkStart) {
+                        chunks.add(new long[]{chunkStart, newline + 1});
+                        chunkStart = newline + 1;
+                    }
+                }
+                if (scan.quotes() % 2 != 0) insideQuotes = !insideQuotes;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scans.forEach(scan -> scan.cancel(true));
+            throw new IOException("Lectura del CSV interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error dividiendo el CSV en bloques: " + e.getCause().getMessage(), e.getCause());
+        }
+        if (chunkStart < size) {
+            chunks.add(new long[]{chunkStart, size});
+        }
+        return chunks;
+    }
+
+    private QuoteScan scan(long start, long end) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        long quotes = 0;
+        long firstEven = -1;
+        long firstOdd = -1;
+        int limit = buffer.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == QUOTE) {
+                quotes++;
+            } else if (b == NEWLINE) {
+                if ((quotes & 1) == 0) {
+                    if (firstEven < 0) firstEven = start + i;
+                } else if (firstOdd < 0) {
+                    firstOdd = start + i;
+                }
+                if (firstEven >= 0 && firstOdd >= 0) {
+                    // Ya no hacen falta más saltos de línea: solo contar comillas
+                    for (i++; i < limit; i++) {
+                        if (buffer.get(i) == QUOTE) quotes++;
+                    }
+                }
+            }
+        }
+        return new QuoteScan(quotes, firstEven, firstOdd);
+    }
+
+    private <T> List<T> parseChunk(long start, long end, Function<Row, T> mapper) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        ChunkParser parser = new ChunkParser(buffer, 0, buffer.limit());
+        Row row = column -> {
+            int position = columnPositions[column];
+            return position >= 0 && position < parser.fieldCount ? parser.decode(position) : "";
+        };
+
+        List<T> records = new ArrayList<>();
+        while (parser.next()) {
+            try {
+                T record = mapper.apply(row);
+                if (record != null) records.add(record);
+            } catch (RuntimeException e) {
+                log.warn("Error procesando registro en el byte {}: {}", start + parser.recordStart, e.getMessage());
+            }
+        }
+        return records;
+    }
+
+    private record QuoteScan(long quotes, long firstNewlineEvenQuotes, long firstNewlineOddQuotes) {}
+
+    /**
+     * Recorre los registros de un rango de bytes guardando los límites de cada campo
+     */
+    private static final class ChunkParser {
+        private final MappedByteBuffer buffer;
+        private final int end;
+        private int position;
+        private int recordStart;
+        private int fieldCount;
+        private int[] fieldStarts = new int[16];
+        private int[] fieldEnds = new int[16];
+        private boolean[] escaped = new boolean[16];
+
+        private ChunkParser(MappedByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.position = start;
+            this.end = end;
+        }
+
+        /**
+         * Avanza al siguiente registro no vacío
+         * @return false si no quedan registros
+         */
+        boolean next() {
+            while (position < end) {
+                recordStart = position;
+                fieldCount = 0;
+                boolean endOfRecord = false;
+                while (!endOfRecord) {
+                    readField();
+                    if (position >= end) {
+                        endOfRecord = true;
+                    } else {
+                        endOfRecord = buffer.get(position) == NEWLINE;
+                        position++;
+                    }
+                }
+                boolean emptyLine = fieldCount == 1 && fieldStarts[0] == fieldEnds[0] && !escaped[0]
+                        && (fieldStarts[0] == recordStart || fieldStarts[0] == recordStart + 1);
+                if (!emptyLine) return true;
+            }
+            return false;
+        }
+
+        private void readField() {
+            int start;
+            int stop;
+            boolean hasEscapes = false;
+            if (position < end && buffer.get(position) == QUOTE) {
+                start = ++position;
+                while (position < end) {
+                    if (buffer.get(position) == QUOTE) {
+                        if (position + 1 < end && buffer.get(position + 1) == QUOTE) {
+                            hasEscapes = true;
+                            position += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    position++;
+                }
+                stop = position;
+                position = Math.min(end, position + 1);
+                // Lo que haya entre la comilla de cierre y el separador se ignora
+                while (position < end && buffer.get(position) != COMMA && buffer.get(position) != NEWLINE) {
+                    position++;
+                }
+            } else {
+                start = position;
+                while (position < end && buffer.get(position) != COMMA && buffer.get(position) != NEWLINE) {
+                    position++;
+                }
+                stop = position;
+                if (stop > start && buffer.get(stop - 1) == CR) stop--;
+            }
+            addField(start, stop, hasEscapes);
+        }
+
+        private void addField(int start, int stop, boolean hasEscapes) {
+            if (fieldCount == fieldStarts.length) {
+                fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+                fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+                escaped = Arrays.copyOf(escaped, fieldCount * 2);
+            }
+            fieldStarts[fieldCount] = start;
+            fieldEnds[fieldCount] = stop;
+            escaped[fieldCount++] = hasEscapes;
+        }
+
+        String decode(int field) {
+            int length = fieldEnds[field] - fieldStarts[field];
+            if (length == 0) return "";
+            byte[] bytes = new byte[length];
+            buffer.get(fieldStarts[field], bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            return escaped[field] ? value.replace("\"\"", "\"") : value;
+        }
+    }
+
+    /**
+     * Mantiene una ventana de bloques en vuelo y entrega sus registros en orden o según terminan
+     */
+    private final class ChunkIterator<T> implements Iterator<List<T>> {
+        private final Iterator<long[]> pending;
+        private final ExecutorService executor;
+        private final int window;
+        private final boolean ordered;
+        private final Function<Row, T> mapper;
+        private final Deque<Future<List<T>>> inFlight = new ArrayDeque<>();
+        private final BlockingQueue<Future<List<T>>> completed = new LinkedBlockingQueue<>();
+        private int outstanding;
+
+        private ChunkIterator(List<long[]> chunks, ExecutorService executor, int window, boolean ordered,
+                              Function<Row, T> mapper) {
+            this.pending = chunks.iterator();
+            this.executor = executor;
+            this.window = window;
+            this.ordered = ordered;
+            this.mapper = mapper;
+            fill();
+        }
+
+        private void fill() {
+            while (outstanding < window && pending.hasNext()) {
+                long[] chunk = pending.next();
+                Callable<List<T>> parse = () -> parseChunk(chunk[0], chunk[1], mapper);
+                // En orden se espera la cabeza de inFlight; la cola de terminados solo existe sin orden
+                FutureTask<List<T>> task = ordered ? new FutureTask<>(parse) : new FutureTask<>(parse) {
+                    @Override
+                    protected void done() {
+                        completed.add(this);
+                    }
+                };
+                inFlight.add(task);
+                executor.execute(task);
+                outstanding++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return outstanding > 0;
+        }
+
+        @Override
+        public List<T> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            try {
+                Future<List<T>> future;
+                if (ordered) {
+                    future = inFlight.poll();
+                } else {
+                    future = completed.take();
+                    inFlight.remove(future);
+                }
+                List<T> records = future.get();
+                outstanding--;
+                fill();
+                return records;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new IllegalStateException("Lectura del CSV interrumpida", e);
+            } catch (ExecutionException e) {
+                cancel();
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException io ? new UncheckedIOException(io)
+                        : new IllegalStateException("Error parseando el CSV: " + cause.getMessage(), cause);
+            }
+        }
+
+        void cancel() {
+            inFlight.forEach(future -> future.cancel(true));
+            inFlight.clear();
+            completed.clear();
+            outstanding = 0;
+        }
+    }
+}
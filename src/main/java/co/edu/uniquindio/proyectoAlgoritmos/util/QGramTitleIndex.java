@@ -0,0 +1,224 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+/**
+ * Índice invertido de trigramas sobre títulos normalizados (inmutable una vez construido).
+ * Los títulos normalizados solo contienen [a-z0-9] y espacios, así que cada trigrama se codifica
+ * en base 38 y las listas de postings se indexan directamente por su código, sin tabla hash.
+ * Cada lista guarda los IDs de documento con deltas codificados en varint.
+ * La búsqueda aplica filtro por tamaño, filtro por prefijo (los trigramas menos frecuentes primero)
+ * y filtro por conteo (por Jaccard de trigramas o por distancia de edición) antes de verificar.
+ */
+public class QGramTitleIndex {
+
+    private static final int Q = 3;
+    private static final int ALPHABET = 38; // relleno, espacio, a-z, 0-9
+    private static final int GRAM_SPACE = ALPHABET * ALPHABET * ALPHABET;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ScientificRecord[] records;
+    private final String[] normalizedTitles;
+    private final int[] gramCounts;
+    private final byte[][] postings;
+    private final int[] documentFrequency;
+    private final long compressedBytes;
+
+    public QGramTitleIndex(List<ScientificRecord> source, StringSimilarityUtils similarityUtils) {
+        int n = source.size();
+        this.records = source.toArray(new ScientificRecord[0]);
+        this.normalizedTitles = new String[n];
+        this.gramCounts = new int[n];
+        this.documentFrequency = new int[GRAM_SPACE];
+
+        int[][] docGrams = new int[n][];
+        for (int doc = 0; doc < n; doc++) {
+            normalizedTitles[doc] = similarityUtils.normalizeTitle(records[doc].getTitle());
+            docGrams[doc] = grams(normalizedTitles[doc]);
+            gramCounts[doc] = docGrams[doc].length;
+            for (int gram : docGrams[doc]) {
+                documentFrequency[gram]++;
+            }
+        }
+
+        // Los documentos se recorren en orden, así que cada lista queda ordenada y los deltas son positivos
+        ByteArrayOutputStream[] builders = new ByteArrayOutputStream[GRAM_SPACE];
+        int[] lastDoc = new int[GRAM_SPACE];
+        for (int doc = 0; doc < n; doc++) {
+            for (int gram : docGrams[doc]) {
+                if (builders[gram] == null) {
+                    builders[gram] = new ByteArrayOutputStream(Math.min(documentFrequency[gram] * 2, 1 << 16));
+                    lastDoc[gram] = -1;
+                }
+                writeVarInt(builders[gram], doc - lastDoc[gram]);
+                lastDoc[gram] = doc;
+            }
+            docGrams[doc] = null;
+        }
+
+        this.postings = new byte[GRAM_SPACE][];
+        long bytes = 0;
+        for (int gram = 0; gram < GRAM_SPACE; gram++) {
+            postings[gram] = builders[gram] != null ? builders[gram].toByteArray() : EMPTY;
+            bytes += postings[gram].length;
+        }
+        this.compressedBytes = bytes;
+    }
+
+    public int size() {
+        return records.length;
+    }
+
+    public long getCompressedPostingBytes() {
+        return compressedBytes;
+    }
+
+    public ScientificRecord getRecord(int doc) {
+        return records[doc];
+    }
+
+    public String getNormalizedTitle(int doc) {
+        return normalizedTitles[doc];
+    }
+
+    /**
+     * Documentos que pueden tener similitud {@code threshold} con el título normalizado dado: su Jaccard
+     * de trigramas alcanza el umbral o su similitud de Levenshtein normalizada puede alcanzarlo.
+     * Para Levenshtein se usa el filtro por conteo: con distancia de edición d, cada edición destruye
+     * como mucho Q trigramas, así que dos títulos comparten al menos max(|Qa|, |Qb|) - Q·d trigramas,
+     * con d ≤ (1 - threshold)·max(|a|, |b|). Así un título con una errata no se pierde aunque su Jaccard
+     * de trigramas quede bajo el umbral (pasa en títulos cortos); la verificación final es del llamador.
+     * Los candidatos comparten al menos un trigrama con la consulta.
+     * @return pares (documento, jaccard de trigramas)
+     */
+    public List<Map.Entry<Integer, Double>> candidates(String normalizedQuery, double threshold) {
+        int[] queryGrams = grams(normalizedQuery);
+        if (queryGrams.length == 0) return List.of();
+
+        int querySize = queryGrams.length;
+        int queryLength = normalizedQuery.length();
+        int jaccardMinOverlap = (int) Math.ceil(threshold * querySize - 1e-9);
+        int jaccardMinSize = (int) Math.ceil(threshold * querySize - 1e-9);
+        int jaccardMaxSize = (int) Math.floor(querySize / threshold + 1e-9);
+        // Con similitud de Levenshtein ≥ threshold: threshold·|a| ≤ |b| ≤ |a| / threshold
+        int editMinLength = (int) Math.ceil(threshold * queryLength - 1e-9);
+        int editMaxLength = (int) Math.floor(queryLength / threshold + 1e-9);
+        int minOverlap = Math.max(1, Math.min(jaccardMinOverlap,
+                editMinOverlap(querySize, 0, queryLength, editMaxLength, threshold)));
+
+        // Filtro por prefijo: todo candidato comparte al menos un trigrama de los |Q| - minOverlap + 1 más raros
+        Integer[] byFrequency = new Integer[querySize];
+        for (int i = 0; i < querySize; i++) byFrequency[i] = queryGrams[i];
+        Arrays.sort(byFrequency, Comparator.comparingInt(gram -> documentFrequency[gram]));
+        int prefixLength = Math.max(1, querySize - minOverlap + 1);
+
+        BitSet seen = new BitSet();
+        List<Map.Entry<Integer, Double>> result = new ArrayList<>();
+        for (int p = 0; p < prefixLength && p < querySize; p++) {
+            byte[] list = postings[byFrequency[p]];
+            int position = 0;
+            int doc = -1;
+            while (position < list.length) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = list[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += delta;
+
+                if (seen.get(doc)) continue;
+                seen.set(doc);
+
+                // Filtro por tamaño
+                int docSize = gramCounts[doc];
+                int docLength = normalizedTitles[doc].length();
+                boolean jaccardSize = docSize >= jaccardMinSize && docSize <= jaccardMaxSize;
+                boolean editSize = docLength >= editMinLength && docLength <= editMaxLength;
+                if (!jaccardSize && !editSize) continue;
+
+                // Filtro por conteo y Jaccard exacto
+                int overlap = overlap(queryGrams, grams(normalizedTitles[doc]));
+                double jaccard = (double) overlap / (querySize + docSize - overlap);
+                boolean jaccardMatch = jaccardSize && jaccard >= threshold;
+                boolean editMatch = editSize
+                        && overlap >= editMinOverlap(querySize, docSize, queryLength, docLength, threshold);
+                if (jaccardMatch || editMatch) {
+                    result.add(Map.entry(doc, jaccard));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Trigramas en común que deben tener dos títulos para que su similitud de Levenshtein pueda
+     * alcanzar el umbral (puede ser ≤ 0 si el umbral es bajo o los títulos cortos)
+     */
+    private static int editMinOverlap(int sizeA, int sizeB, int lengthA, int lengthB, double threshold) {
+        int maxDistance = (int) Math.floor((1 - threshold) * Math.max(lengthA, lengthB) + 1e-9);
+        return Math.max(sizeA, sizeB) - Q * maxDistance;
+    }
+
+    /**
+     * Códigos de trigramas distintos del texto normalizado, ordenados
+     */
+    static int[] grams(String normalized) {
+        int length = normalized.length();
+        if (length == 0) return new int[0];
+
+        int[] codes = new int[length + Q - 1];
+        for (int i = -(Q - 1); i < length; i++) {
+            int code = 0;
+            for (int j = 0; j < Q; j++) {
+                int index = i + j;
+                code = code * ALPHABET + (index < 0 || index >= length ? 0 : symbol(normalized.charAt(index)));
+            }
+            codes[i + Q - 1] = code;
+        }
+
+        Arrays.sort(codes);
+        int distinct = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (i == 0 || codes[i] != codes[i - 1]) codes[distinct++] = codes[i];
+        }
+        return Arrays.copyOf(codes, distinct);
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') return 2 + (c - 'a');
+        if (c >= '0' && c <= '9') return 28 + (c - '0');
+        return 1; // espacio
+    }
+
+    private static int overlap(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
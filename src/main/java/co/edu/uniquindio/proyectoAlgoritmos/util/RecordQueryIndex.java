@@ -0,0 +1,311 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+
+import java.util.*;
+
+/**
+ * Índices secundarios en memoria sobre el corpus unificado (inmutable una vez construido).
+ * Los años se guardan en un arreglo de documentos ordenado por año: un rango se resuelve con dos
+ * búsquedas binarias y el tramo resultante ya es la lista de documentos. Revista/conferencia,
+ * fuente, tipo de documento y autor tienen una lista de postings por valor (sin distinguir
+ * mayúsculas): un int[] ordenado de documentos, así la memoria es proporcional a las apariciones y
+ * no a valores distintos x tamaño del corpus. Una consulta intersecta las listas de los filtros
+ * empezando por la más corta, con búsqueda galopante en las más largas, filtra los candidatos por
+ * año y solo el resultado se materializa en un BitSet.
+ * Año, fuente y revista se guardan además como códigos por documento para contar las facetas de
+ * los resultados sin volver a mirar los registros.
+ */
+public class RecordQueryIndex {
+
+    public enum Sort { CORPUS, YEAR_ASC, YEAR_DESC }
+
+    private static final int NO_CODE = -1;
+
+    private final ScientificRecord[] records;
+    private final int[] docsByYear;   // documentos ordenados por año (estable)
+    private final int[] sortedYears;  // año de docsByYear[i]
+    private final int[] yearOf;
+
+    private final Postings venues = new Postings();
+    private final Postings sources = new Postings();
+    private final Postings documentTypes = new Postings();
+    private final Postings authors = new Postings();
+    private final int[] venueCode;
+    private final int[] sourceCode;
+
+    public RecordQueryIndex(List<ScientificRecord> source) {
+        int n = source.size();
+        this.records = source.toArray(new ScientificRecord[0]);
+        this.yearOf = new int[n];
+        this.venueCode = new int[n];
+        this.sourceCode = new int[n];
+
+        for (int doc = 0; doc < n; doc++) {
+            ScientificRecord record = records[doc];
+            yearOf[doc] = record.getYear();
+            venueCode[doc] = venues.add(venueOf(record), doc);
+            sourceCode[doc] = sources.add(record.getSource(), doc);
+            documentTypes.add(record.getDocumentType(), doc);
+            for (String author : record.getAuthors()) {
+                authors.add(author, doc);
+            }
+        }
+        venues.freeze();
+        sources.freeze();
+        documentTypes.freeze();
+        authors.freeze();
+
+        Integer[] order = new Integer[n];
+        for (int doc = 0; doc < n; doc++) order[doc] = doc;
+        Arrays.sort(order, Comparator.comparingInt(doc -> yearOf[doc]));
+        this.docsByYear = new int[n];
+        this.sortedYears = new int[n];
+        for (int i = 0; i < n; i++) {
+            docsByYear[i] = order[i];
+            sortedYears[i] = yearOf[order[i]];
+        }
+    }
+
+    public int size() {
+        return records.length;
+    }
+
+    public ScientificRecord getRecord(int doc) {
+        return records[doc];
+    }
+
+    /**
+     * Revista si la tiene, si no la conferencia
+     */
+    public static String venueOf(ScientificRecord record) {
+        String journal = record.getJournal();
+        return journal != null && !journal.isBlank() ? journal : record.getConference();
+    }
+
+    /**
+     * Documentos que cumplen todos los filtros dados (los nulos o vacíos no filtran)
+     * @param fromYear año mínimo inclusivo (null = sin límite)
+     * @param toYear año máximo inclusivo (null = sin límite)
+     */
+    public BitSet filter(Integer fromYear, Integer toYear, String venue, String source,
+                         String documentType, String author) {
+        List<int[]> postings = new ArrayList<>(4);
+        for (int[] posting : new int[][]{
+                venues.get(venue), sources.get(source), documentTypes.get(documentType), authors.get(author)}) {
+            if (posting == Postings.ANY) continue;
+            if (posting == null) return new BitSet(); // valor sin documentos
+            postings.add(posting);
+        }
+        boolean yearFilter = fromYear != null || toYear != null;
+        int from = fromYear != null ? fromYear : Integer.MIN_VALUE;
+        int to = toYear != null ? toYear : Integer.MAX_VALUE;
+
+        BitSet result = new BitSet(records.length);
+        if (postings.isEmpty()) {
+            if (yearFilter) {
+                setYearRange(result, from, to);
+            } else {
+                result.set(0, records.length);
+            }
+            return result;
+        }
+
+        postings.sort(Comparator.comparingInt(posting -> posting.length));
+        int[] candidates = postings.get(0);
+        int count = candidates.length;
+        for (int i = 1; i < postings.size() && count > 0; i++) {
+            int[] intersection = new int[count];
+            count = intersect(candidates, count, postings.get(i), intersection);
+            candidates = intersection;
+        }
+        for (int i = 0; i < count; i++) {
+            int doc = candidates[i];
+            if (!yearFilter || (yearOf[doc] >= from && yearOf[doc] <= to)) {
+                result.set(doc);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Intersección de los primeros {@code count} elementos de {@code shorter} con {@code longer}
+     * (ambos ordenados): cada elemento se busca galopando desde la última posición encontrada,
+     * O(m log(n/m)) en vez de O(m + n)
+     * @return cantidad de elementos escritos en {@code out}
+     */
+    static int intersect(int[] shorter, int count, int[] longer, int[] out) {
+        int found = 0;
+        int position = 0;
+        for (int i = 0; i < count && position < longer.length; i++) {
+            int target = shorter[i];
+            // Galope: duplicar el salto hasta pasar el objetivo, luego búsqueda binaria en ese tramo
+            int step = 1;
+            int high = position;
+            while (high < longer.length && longer[high] < target) {
+                position = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, longer.length - 1);
+            int low = position;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (longer[mid] < target) low = mid + 1;
+                else high = mid;
+            }
+            position = low;
+            if (position < longer.length && longer[position] == target) {
+                out[found++] = target;
+                position++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Página de documentos del resultado en el orden pedido
+     */
+    public int[] page(BitSet matches, Sort sort, int offset, int limit) {
+        int[] page = new int[Math.max(0, Math.min(limit, matches.cardinality() - offset))];
+        if (page.length == 0) return page;
+
+        int skipped = 0;
+        int filled = 0;
+        if (sort == Sort.CORPUS) {
+            for (int doc = matches.nextSetBit(0); doc >= 0 && filled < page.length; doc = matches.nextSetBit(doc + 1)) {
+                if (skipped++ >= offset) page[filled++] = doc;
+            }
+        } else {
+            // Recorrer el arreglo ordenado por año, en el sentido pedido, saltando los que no cumplen
+            boolean ascending = sort == Sort.YEAR_ASC;
+            for (int i = 0; i < docsByYear.length && filled < page.length; i++) {
+                int doc = docsByYear[ascending ? i : docsByYear.length - 1 - i];
+                if (matches.get(doc) && skipped++ >= offset) page[filled++] = doc;
+            }
+        }
+        return page;
+    }
+
+    public Map<Integer, Integer> yearFacets(BitSet matches) {
+        Map<Integer, Integer> counts = new TreeMap<>();
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            counts.merge(yearOf[doc], 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    public Map<String, Integer> sourceFacets(BitSet matches, int limit) {
+        return sources.facets(sourceCode, matches, limit);
+    }
+
+    public Map<String, Integer> venueFacets(BitSet matches, int limit) {
+        return venues.facets(venueCode, matches, limit);
+    }
+
+    private void setYearRange(BitSet result, int fromYear, int toYear) {
+        if (fromYear > toYear) return;
+        int start = lowerBound(fromYear);
+        int end = toYear == Integer.MAX_VALUE ? sortedYears.length : lowerBound(toYear + 1);
+        for (int i = start; i < end; i++) {
+            result.set(docsByYear[i]);
+        }
+    }
+
+    /**
+     * Primera posición de sortedYears con año >= year
+     */
+    private int lowerBound(int year) {
+        int low = 0;
+        int high = sortedYears.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedYears[mid] < year) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Lista de documentos por valor; cada valor distinto recibe un código consecutivo.
+     * Los documentos se agregan en orden creciente, así cada lista queda ordenada sin ordenarla.
+     */
+    private static final class Postings {
+        // Marca "sin filtro" (distinta de null = valor sin documentos)
+        private static final int[] ANY = new int[0];
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private int[][] docs = new int[16][];
+        private int[] sizes = new int[16];
+
+        private int add(String value, int doc) {
+            if (value == null || value.isBlank()) return NO_CODE;
+            int code = codes.computeIfAbsent(key(value), k -> {
+                values.add(value.trim());
+                return values.size() - 1;
+            });
+            if (code == docs.length) {
+                docs = Arrays.copyOf(docs, code * 2);
+                sizes = Arrays.copyOf(sizes, code * 2);
+            }
+            int[] list = docs[code];
+            int size = sizes[code];
+            if (list == null) {
+                list = docs[code] = new int[2];
+            } else if (list[size - 1] == doc) {
+                return code; // mismo valor repetido en el registro
+            } else if (size == list.length) {
+                list = docs[code] = Arrays.copyOf(list, size * 2);
+            }
+            list[size] = doc;
+            sizes[code] = size + 1;
+            return code;
+        }
+
+        /**
+         * Recorta cada lista a su tamaño real al terminar de construir el índice
+         */
+        private void freeze() {
+            docs = Arrays.copyOf(docs, values.size());
+            for (int code = 0; code < docs.length; code++) {
+                if (docs[code].length != sizes[code]) {
+                    docs[code] = Arrays.copyOf(docs[code], sizes[code]);
+                }
+            }
+            sizes = null;
+        }
+
+        private int[] get(String value) {
+            if (value == null || value.isBlank()) return ANY;
+            Integer code = codes.get(key(value));
+            return code != null ? docs[code] : null;
+        }
+
+        /**
+         * Los {@code limit} valores más frecuentes entre los documentos del resultado
+         */
+        private Map<String, Integer> facets(int[] codeOf, BitSet matches, int limit) {
+            int[] counts = new int[values.size()];
+            for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                if (codeOf[doc] != NO_CODE) counts[codeOf[doc]]++;
+            }
+            List<Integer> used = new ArrayList<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) used.add(code);
+            }
+            used.sort((a, b) -> counts[b] != counts[a] ? Integer.compare(counts[b], counts[a])
+                    : values.get(a).compareTo(values.get(b)));
+
+            Map<String, Integer> facets = new LinkedHashMap<>();
+            for (int code : used.subList(0, Math.min(limit, used.size()))) {
+                facets.put(values.get(code), counts[code]);
+            }
+            return facets;
+        }
+
+        private static String key(String value) {
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
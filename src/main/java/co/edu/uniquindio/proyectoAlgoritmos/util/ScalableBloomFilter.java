@@ -0,0 +1,139 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtro de Bloom escalable sobre claves de 64 bits.
+ * Cuando una etapa llega a su capacidad se agrega otra del doble de tamaño y con la mitad de
+ * tasa de falsos positivos, así la tasa total se mantiene por debajo de la configurada
+ * aunque se inserten más claves de las esperadas. No tiene falsos negativos.
+ * No es seguro para uso concurrente.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final double falsePositiveRate;
+    private final List<Stage> stages = new ArrayList<>();
+    private long insertions;
+
+    public ScalableBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions debe ser positivo");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate debe estar entre 0 y 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        // La serie geométrica de etapas suma como máximo P0 / (1 - r)
+        stages.add(new Stage(expectedInsertions, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Inserta la clave; retorna false si (probablemente) ya estaba
+     */
+    public boolean put(long key) {
+        if (mightContain(key)) return false;
+
+        Stage current = stages.get(stages.size() - 1);
+        if (current.count >= current.capacity) {
+            current = new Stage(current.capacity * GROWTH_FACTOR, current.falsePositiveRate * TIGHTENING_RATIO);
+            stages.add(current);
+        }
+        current.put(mix(key));
+        insertions++;
+        return true;
+    }
+
+    public long getInsertions() {
+        return insertions;
+    }
+
+    public int getStageCount() {
+        return stages.size();
+    }
+
+    public long getBitSize() {
+        return stages.stream().mapToLong(stage -> stage.numBits).sum();
+    }
+
+    public long getMemoryBytes() {
+        return stages.stream().mapToLong(stage -> stage.bits.length * 8L).sum();
+    }
+
+    public double getConfiguredFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Tasa de falsos positivos estimada con la ocupación actual de cada etapa
+     */
+    public double getEstimatedFalsePositiveRate() {
+        double noFalsePositive = 1.0;
+        for (Stage stage : stages) {
+            noFalsePositive *= 1.0 - stage.currentFalsePositiveRate();
+        }
+        return 1.0 - noFalsePositive;
+    }
+
+    /**
+     * Mezclador de 64 bits (finalizador de SplitMix64)
+     */
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Stage {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long numBits;
+        private final int numHashes;
+        private final long[] bits;
+        private long count;
+
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            this.numBits = Math.max(64, (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+            this.bits = new long[(int) ((numBits + 63) / 64)];
+        }
+
+        boolean mightContain(long hash) {
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < numHashes; i++) {
+                long index = Math.floorMod(h1 + i * h2, numBits);
+                if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) return false;
+            }
+            return true;
+        }
+
+        void put(long hash) {
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < numHashes; i++) {
+                long index = Math.floorMod(h1 + i * h2, numBits);
+                bits[(int) (index >>> 6)] |= 1L << index;
+            }
+            count++;
+        }
+
+        double currentFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) numHashes * count / numBits), numHashes);
+        }
+    }
+}
@@ -40,6 +40,51 @@ public class StringSimilarityUtils {
         return maxLength == 0 ? 1.0 : 1.0 - (double) distance / maxLength;
     }
 
+    /**
+     * Normaliza un título para comparación: minúsculas, solo letras/números y espacios
+     * simples sin espacios al inicio ni al final. Equivale a
+     * {@code toLowerCase().replaceAll("[^a-z0-9\\s]", "").replaceAll("\\s+", " ").trim()}
+     * pero en una sola pasada y sin compilar expresiones regulares por registro.
+     */
+    public String normalizeTitle(String title) {
+        if (title == null) return "";
+
+        String lower = title.toLowerCase();
+        StringBuilder sb = new StringBuilder(lower.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                sb.append(c);
+            } else if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                pendingSpace = true;
+            }
+            // Cualquier otro carácter se elimina sin separar palabras
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Huella de 64 bits (FNV-1a) del título normalizado; 0 si el título queda vacío
+     */
+    public long titleFingerprint(String title) {
+        String normalized = normalizeTitle(title);
+        if (normalized.isEmpty()) return 0L;
+
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0L ? 1L : hash;
+    }
+
     private Set<String> tokenize(String text) {
         Set<String> tokens = new HashSet<>();
         String[] words = text.split("\\s+");
@@ -0,0 +1,287 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import java.util.*;
+
+/**
+ * Índice TF-IDF sobre textos (abstracts), inmutable una vez construido.
+ * Los vectores de documento son dispersos y se guardan en arreglos primitivos (IDs de término
+ * ordenados + pesos normalizados L2), de modo que el coseno es un producto punto.
+ * El índice invertido guarda por término los documentos en orden y su peso, además del peso máximo,
+ * que permite la búsqueda top-k con poda MaxScore: solo se recorren completas las listas que
+ * todavía pueden hacer entrar un documento al top-k.
+ */
+public class TfIdfIndex {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+            "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "which", "with", "we", "our",
+            "these", "their", "can", "not", "also", "been", "such", "than", "into", "between", "using");
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final float[] idf;
+    private final int[][] docTerms;
+    private final float[][] docWeights;
+    private final int[][] postingDocs;
+    private final float[][] postingWeights;
+    private final float[] maxWeight;
+
+    public TfIdfIndex(List<String> texts) {
+        int n = texts.size();
+
+        // Frecuencias por documento
+        List<Map<Integer, Integer>> termFrequencies = new ArrayList<>(n);
+        List<Integer> documentFrequency = new ArrayList<>();
+        for (String text : texts) {
+            Map<Integer, Integer> frequencies = new HashMap<>();
+            for (String token : tokenize(text)) {
+                Integer id = termIds.get(token);
+                if (id == null) {
+                    id = termIds.size();
+                    termIds.put(token, id);
+                    documentFrequency.add(0);
+                }
+                if (frequencies.merge(id, 1, Integer::sum) == 1) {
+                    documentFrequency.set(id, documentFrequency.get(id) + 1);
+                }
+            }
+            termFrequencies.add(frequencies);
+        }
+
+        int terms = termIds.size();
+        this.idf = new float[terms];
+        for (int t = 0; t < terms; t++) {
+            idf[t] = (float) (Math.log((double) (n + 1) / (documentFrequency.get(t) + 1)) + 1.0);
+        }
+
+        // Vectores de documento normalizados
+        this.docTerms = new int[n][];
+        this.docWeights = new float[n][];
+        int[] postingSizes = new int[terms];
+        for (int doc = 0; doc < n; doc++) {
+            Map<Integer, Integer> frequencies = termFrequencies.get(doc);
+            int[] ids = frequencies.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            float[] weights = new float[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                weights[i] = (float) ((1 + Math.log(frequencies.get(ids[i]))) * idf[ids[i]]);
+                postingSizes[ids[i]]++;
+            }
+            normalize(weights);
+            docTerms[doc] = ids;
+            docWeights[doc] = weights;
+            termFrequencies.set(doc, null);
+        }
+
+        // Índice invertido
+        this.postingDocs = new int[terms][];
+        this.postingWeights = new float[terms][];
+        this.maxWeight = new float[terms];
+        for (int t = 0; t < terms; t++) {
+            postingDocs[t] = new int[postingSizes[t]];
+            postingWeights[t] = new float[postingSizes[t]];
+        }
+        int[] fill = new int[terms];
+        for (int doc = 0; doc < n; doc++) {
+            for (int i = 0; i < docTerms[doc].length; i++) {
+                int t = docTerms[doc][i];
+                postingDocs[t][fill[t]] = doc;
+                postingWeights[t][fill[t]++] = docWeights[doc][i];
+                maxWeight[t] = Math.max(maxWeight[t], docWeights[doc][i]);
+            }
+        }
+    }
+
+    public int size() {
+        return docTerms.length;
+    }
+
+    public int vocabularySize() {
+        return termIds.size();
+    }
+
+    public int termCount(int doc) {
+        return docTerms[doc].length;
+    }
+
+    /**
+     * Coseno entre dos documentos indexados
+     */
+    public double cosine(int docA, int docB) {
+        return dot(docTerms[docA], docWeights[docA], docTerms[docB], docWeights[docB]);
+    }
+
+    /**
+     * Coseno entre dos textos arbitrarios usando el IDF del corpus (términos desconocidos se ignoran)
+     */
+    public double cosine(String textA, String textB) {
+        SparseVector a = vectorize(textA);
+        SparseVector b = vectorize(textB);
+        return dot(a.terms, a.weights, b.terms, b.weights);
+    }
+
+    /**
+     * Top-k documentos por coseno con un documento del índice (excluyéndolo)
+     */
+    public List<Map.Entry<Integer, Double>> topK(int doc, int k) {
+        return topK(docTerms[doc], docWeights[doc], k, doc);
+    }
+
+    /**
+     * Top-k documentos por coseno con un texto libre
+     */
+    public List<Map.Entry<Integer, Double>> topK(String text, int k) {
+        SparseVector query = vectorize(text);
+        return topK(query.terms, query.weights, k, -1);
+    }
+
+    /**
+     * Recorrido documento a documento con poda MaxScore.
+     * Los términos se ordenan por su cota (peso en la consulta x peso máximo en el índice); los de cota
+     * acumulada menor o igual al umbral actual del top-k son "no esenciales": no generan candidatos
+     * y solo se consultan (búsqueda binaria) mientras el documento aún pueda superar el umbral.
+     */
+    private List<Map.Entry<Integer, Double>> topK(int[] queryTerms, float[] queryWeights, int k, int excludedDoc) {
+        int m = queryTerms.length;
+        if (m == 0 || k <= 0) return List.of();
+
+        Integer[] order = new Integer[m];
+        double[] bound = new double[m];
+        for (int i = 0; i < m; i++) {
+            order[i] = i;
+            bound[i] = queryWeights[i] * maxWeight[queryTerms[i]];
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> bound[i]));
+
+        int[][] docs = new int[m][];
+        float[][] weights = new float[m][];
+        double[] queryWeight = new double[m];
+        double[] prefixBound = new double[m];
+        for (int i = 0; i < m; i++) {
+            int original = order[i];
+            docs[i] = postingDocs[queryTerms[original]];
+            weights[i] = postingWeights[queryTerms[original]];
+            queryWeight[i] = queryWeights[original];
+            prefixBound[i] = bound[original] + (i > 0 ? prefixBound[i - 1] : 0);
+        }
+
+        int[] position = new int[m];
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(k + 1, Map.Entry.comparingByValue());
+        double threshold = 0;
+        int firstEssential = 0;
+
+        while (firstEssential < m) {
+            // Siguiente candidato: menor documento actual entre las listas esenciales
+            int candidate = Integer.MAX_VALUE;
+            for (int i = firstEssential; i < m; i++) {
+                if (position[i] < docs[i].length) {
+                    candidate = Math.min(candidate, docs[i][position[i]]);
+                }
+            }
+            if (candidate == Integer.MAX_VALUE) break;
+
+            double score = 0;
+            for (int i = firstEssential; i < m; i++) {
+                if (position[i] < docs[i].length && docs[i][position[i]] == candidate) {
+                    score += queryWeight[i] * weights[i][position[i]];
+                    position[i]++;
+                }
+            }
+
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                if (score + prefixBound[i] <= threshold) break;
+                int found = Arrays.binarySearch(docs[i], position[i], docs[i].length, candidate);
+                if (found >= 0) {
+                    score += queryWeight[i] * weights[i][found];
+                    position[i] = found + 1;
+                } else {
+                    position[i] = -found - 1;
+                }
+            }
+
+            if (candidate == excludedDoc || score <= 0) continue;
+
+            if (top.size() < k) {
+                top.offer(Map.entry(candidate, score));
+            } else if (score > threshold) {
+                top.poll();
+                top.offer(Map.entry(candidate, score));
+            }
+
+            if (top.size() == k) {
+                threshold = top.peek().getValue();
+                while (firstEssential < m && prefixBound[firstEssential] <= threshold) {
+                    firstEssential++;
+                }
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> result = new ArrayList<>(top);
+        result.sort(Map.Entry.<Integer, Double>comparingByValue().reversed());
+        return result;
+    }
+
+    private SparseVector vectorize(String text) {
+        Map<Integer, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(text)) {
+            Integer id = termIds.get(token);
+            if (id != null) {
+                frequencies.merge(id, 1, Integer::sum);
+            }
+        }
+        int[] ids = frequencies.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        float[] weights = new float[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            weights[i] = (float) ((1 + Math.log(frequencies.get(ids[i]))) * idf[ids[i]]);
+        }
+        normalize(weights);
+        return new SparseVector(ids, weights);
+    }
+
+    private static double dot(int[] termsA, float[] weightsA, int[] termsB, float[] weightsB) {
+        double sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < termsA.length && j < termsB.length) {
+            if (termsA[i] == termsB[j]) {
+                sum += (double) weightsA[i++] * weightsB[j++];
+            } else if (termsA[i] < termsB[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    private static void normalize(float[] weights) {
+        double norm = 0;
+        for (float weight : weights) norm += (double) weight * weight;
+        if (norm == 0) return;
+        float inverse = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < weights.length; i++) weights[i] *= inverse;
+    }
+
+    /**
+     * Palabras en minúsculas de letras/números, sin stopwords ni tokens de un carácter
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                String token = current.toString();
+                if (token.length() > 1 && !STOPWORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private record SparseVector(int[] terms, float[] weights) {}
+}
@@ -0,0 +1,161 @@
+package co.edu.uniquindio.proyectoAlgoritmos.http;
+
+import co.edu.uniquindio.proyectoAlgoritmos.exception.ApiHttpException;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.reader.ApiDatasetReader;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.HttpResponseCache;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SourceHealthRegistryTest {
+
+    private static final long OPEN_SECONDS = 1;
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger hits = new AtomicInteger();
+    private String baseUrl;
+    private String host;
+
+    private SourceHealthRegistry registry;
+    private ApiHttpClient httpClient;
+    private ApiDatasetReader reader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/works";
+        host = SourceHealthRegistry.hostOf(baseUrl);
+
+        HttpResponseCache cache = new HttpResponseCache(); // sin Spring queda deshabilitada
+        registry = new SourceHealthRegistry(cache, 1, OPEN_SECONDS, 300, 5_000);
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(1_000, 1_000, 1_000, 1, 0.5, 100);
+        httpClient = new ApiHttpClient(cache, registry, rateLimiter, 2_000, 2_000, 4, false, "test", 0, 1, 1);
+        reader = new ProbingReader();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void probeClosesCircuitAfterOpenPeriod() throws Exception {
+        openCircuit();
+
+        assertThat(registry.allowRequest(host)).isFalse();
+        assertThat(registry.isAvailable(reader)).isFalse();
+        assertThat(registry.stateOf(reader)).isEqualTo(SourceHealthRegistry.State.OPEN);
+
+        status.set(200);
+        waitOpenPeriod();
+        int before = hits.get();
+
+        assertThat(registry.isAvailable(reader)).isTrue();
+        assertThat(hits.get()).isEqualTo(before + 1); // el sondeo llegó al servidor
+        assertThat(registry.stateOf(reader)).isEqualTo(SourceHealthRegistry.State.CLOSED);
+        assertThat(registry.allowRequest(host)).isTrue();
+        assertThat(httpClient.getString(baseUrl)).isEqualTo("{}");
+    }
+
+    @Test
+    void failedProbeReopensCircuit() throws Exception {
+        openCircuit();
+        waitOpenPeriod();
+        int before = hits.get();
+
+        assertThat(registry.isAvailable(reader)).isFalse();
+        assertThat(hits.get()).isEqualTo(before + 1);
+        assertThat(registry.stateOf(reader)).isEqualTo(SourceHealthRegistry.State.OPEN);
+        assertThat(registry.allowRequest(host)).isFalse();
+    }
+
+    @Test
+    void halfOpenLetsSingleTrialThrough() throws Exception {
+        openCircuit();
+        waitOpenPeriod();
+
+        assertThat(registry.allowRequest(host)).isTrue();
+        assertThat(registry.stateOf(reader)).isEqualTo(SourceHealthRegistry.State.HALF_OPEN);
+        assertThat(registry.allowRequest(host)).isFalse();
+        assertThat(registry.isAvailable(reader)).isFalse();
+
+        registry.recordSuccess(host);
+
+        assertThat(registry.stateOf(reader)).isEqualTo(SourceHealthRegistry.State.CLOSED);
+        assertThat(registry.allowRequest(host)).isTrue();
+    }
+
+    @Test
+    void failedTrialReopensCircuit() throws Exception {
+        openCircuit();
+        waitOpenPeriod();
+
+        assertThatThrownBy(() -> httpClient.getString(baseUrl)).isInstanceOf(ApiHttpException.class);
+
+        assertThat(registry.stateOf(reader)).isEqualTo(SourceHealthRegistry.State.OPEN);
+        assertThatThrownBy(() -> httpClient.getString(baseUrl)).hasMessageContaining("Circuito abierto");
+    }
+
+    private void openCircuit() {
+        status.set(500);
+        assertThatThrownBy(() -> httpClient.getString(baseUrl)).isInstanceOf(ApiHttpException.class);
+        assertThat(registry.stateOf(reader)).isEqualTo(SourceHealthRegistry.State.OPEN);
+    }
+
+    private static void waitOpenPeriod() throws InterruptedException {
+        Thread.sleep(OPEN_SECONDS * 1000 + 100);
+    }
+
+    /**
+     * Reader cuyo sondeo usa {@link ApiHttpClient#probe}, como los readers reales
+     */
+    private final class ProbingReader implements ApiDatasetReader {
+        @Override
+        public List<ScientificRecord> downloadFromApi(String searchQuery, int maxResults) {
+            return List.of();
+        }
+
+        @Override
+        public String getSourceName() {
+            return "TEST";
+        }
+
+        @Override
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        @Override
+        public boolean isApiAvailable() {
+            try {
+                httpClient.probe(baseUrl + "?per-page=1");
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
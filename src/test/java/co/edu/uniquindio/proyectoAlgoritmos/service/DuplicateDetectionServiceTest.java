@@ -0,0 +1,67 @@
+package co.edu.uniquindio.proyectoAlgoritmos.service;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.util.StringSimilarityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateDetectionServiceTest {
+
+    private List<ScientificRecord> records;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(21);
+        records = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int paper = random.nextInt(4_000);
+            records.add(ScientificRecord.builder()
+                    .id("r" + i)
+                    .title(random.nextInt(20) == 0 ? null : (random.nextBoolean() ? "Paper " : "PAPER: ") + paper)
+                    .firstAuthor(random.nextInt(10) == 0 ? null : "Author " + paper % 50)
+                    .doi(random.nextInt(3) == 0 ? null : (random.nextBoolean() ? "10.1000/P" : " 10.1000/p") + paper)
+                    .build());
+        }
+        // Mismo DOI y hash único pero otro título: queda fuera del paso por título en ambos modos
+        records.add(ScientificRecord.builder().id("dup-doi").title("Paper 1").firstAuthor("Author 1").doi("10.1/z").build());
+        records.add(ScientificRecord.builder().id("dup-hash").title("Paper 1").firstAuthor("Author 1").build());
+    }
+
+    @Test
+    void parallelMatchesSequential() {
+        Map<String, List<ScientificRecord>> sequential = service(false, 1).detectDuplicates(records);
+
+        assertThat(sequential).isNotEmpty();
+        for (int shards : new int[]{1, 3, 64}) {
+            DuplicateDetectionService parallel = service(true, shards);
+            Map<String, List<ScientificRecord>> groups = parallel.detectDuplicatesParallel(records);
+
+            assertThat(groups).as("%d shards", shards).containsExactlyEntriesOf(sequential);
+            assertThat(parallel.getUniqueRecords(records, groups))
+                    .containsExactlyElementsOf(parallel.getUniqueRecords(records, sequential));
+        }
+    }
+
+    @Test
+    void largeInputDelegatesToParallel() {
+        Map<String, List<ScientificRecord>> sequential = service(false, 1).detectDuplicates(records);
+
+        assertThat(service(true, 8).detectDuplicates(records)).containsExactlyEntriesOf(sequential);
+    }
+
+    private static DuplicateDetectionService service(boolean parallelEnabled, int shards) {
+        DuplicateDetectionService service = new DuplicateDetectionService(new StringSimilarityUtils());
+        ReflectionTestUtils.setField(service, "parallelEnabled", parallelEnabled);
+        ReflectionTestUtils.setField(service, "parallelMinRecords", 1_000);
+        ReflectionTestUtils.setField(service, "parallelShards", shards);
+        return service;
+    }
+}
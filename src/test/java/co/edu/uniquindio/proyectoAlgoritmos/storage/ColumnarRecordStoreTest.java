@@ -0,0 +1,164 @@
+package co.edu.uniquindio.proyectoAlgoritmos.storage;
+
+import co.edu.uniquindio.proyectoAlgoritmos.exception.DataProcessingException;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.storage.ColumnarRecordStore.Column;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarRecordStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private OutputFileWriter outputFileWriter;
+    private ColumnarRecordStore store;
+
+    @BeforeEach
+    void setUp() {
+        outputFileWriter = new OutputFileWriter();
+        ReflectionTestUtils.setField(outputFileWriter, "bufferSizeKb", 64);
+        ReflectionTestUtils.setField(outputFileWriter, "compression", "none");
+        ReflectionTestUtils.setField(outputFileWriter, "writerThreads", 1);
+        outputFileWriter.init();
+        store = new ColumnarRecordStore(outputFileWriter);
+        ReflectionTestUtils.setField(store, "compressionLevel", 6);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outputFileWriter.shutdown();
+    }
+
+    @Test
+    void roundTripKeepsEveryColumn() {
+        List<ScientificRecord> records = sampleRecords();
+        String file = tempDir.resolve("records.cols").toString();
+
+        store.write(records, file);
+        List<ScientificRecord> read = store.read(file);
+
+        assertThat(read).hasSameSizeAs(records);
+        for (int i = 0; i < records.size(); i++) {
+            assertSameColumns(read.get(i), records.get(i));
+        }
+    }
+
+    @Test
+    void nullFieldsStayNull() {
+        ScientificRecord empty = ScientificRecord.builder().build();
+        String file = tempDir.resolve("empty.cols").toString();
+
+        store.write(List.of(empty), file);
+        ScientificRecord read = store.read(file).get(0);
+
+        assertThat(read.getId()).isNull();
+        assertThat(read.getTitle()).isNull();
+        assertThat(read.getJournal()).isNull();
+        assertThat(read.getPublicationDate()).isNull();
+        assertThat(read.getAuthors()).isEmpty();
+        assertThat(read.getKeywords()).isEmpty();
+        assertThat(read.getYear()).isZero();
+    }
+
+    @Test
+    void projectionOnlyFillsRequestedColumns() {
+        List<ScientificRecord> records = sampleRecords();
+        String file = tempDir.resolve("projected.cols").toString();
+        store.write(records, file);
+
+        List<ScientificRecord> read = store.read(file, EnumSet.of(Column.YEAR, Column.SOURCE, Column.AUTHORS));
+
+        for (int i = 0; i < records.size(); i++) {
+            assertThat(read.get(i).getYear()).isEqualTo(records.get(i).getYear());
+            assertThat(read.get(i).getSource()).isEqualTo(records.get(i).getSource());
+            assertThat(read.get(i).getAuthors()).isEqualTo(records.get(i).getAuthors());
+            assertThat(read.get(i).getTitle()).isNull();
+            assertThat(read.get(i).getJournal()).isNull();
+            assertThat(read.get(i).getPublicationDate()).isNull();
+        }
+    }
+
+    @Test
+    void writeReplacesPreviousFile() throws Exception {
+        String file = tempDir.resolve("replaced.cols").toString();
+        store.write(sampleRecords(), file);
+
+        store.write(sampleRecords().subList(0, 2), file);
+
+        assertThat(store.read(file)).hasSize(2);
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(Path.of(file));
+        }
+    }
+
+    @Test
+    void rejectsFilesInOtherFormats() throws Exception {
+        Path file = tempDir.resolve("other.cols");
+        Files.writeString(file, "ID,Title\n1,x\n");
+
+        assertThatThrownBy(() -> store.read(file.toString())).isInstanceOf(DataProcessingException.class);
+    }
+
+    private List<ScientificRecord> sampleRecords() {
+        List<ScientificRecord> records = new ArrayList<>();
+        String[] venues = {"Nature", "ACM Computing Surveys", null};
+        for (int i = 0; i < 500; i++) {
+            ScientificRecord record = ScientificRecord.builder()
+                    .id("https://openalex.org/W" + i)
+                    .title(i % 50 == 0 ? null : "Título " + i + " — generative ñ \"AI\"")
+                    .abstractText(i % 3 == 0 ? null : "Abstract " + i)
+                    .keywords(i % 4 == 0 ? null : new ArrayList<>(List.of("gan", "diffusion " + i % 5)))
+                    .journal(venues[i % venues.length])
+                    .conference(i % 2 == 0 ? "NeurIPS" : null)
+                    .year(i % 10 == 0 ? 0 : 1995 + i % 30)
+                    .publicationDate(i % 5 == 0 ? null : LocalDate.of(1960 + i % 60, 1 + i % 12, 1 + i % 28))
+                    .citationCount(i % 7 == 0 ? -1 : i * 13)
+                    .doi(i % 2 == 0 ? "10.1000/" + i : null)
+                    .url("https://example.org/" + i)
+                    .documentType(i % 2 == 0 ? "article" : "inproceedings")
+                    .source(i % 2 == 0 ? "OPENALEX" : "DBLP")
+                    .country(i % 6 == 0 ? "CO" : null)
+                    .language("en")
+                    .publisher(null)
+                    .build();
+            record.setAuthors(i % 9 == 0 ? List.of() : List.of("Author " + i % 40, "Shared Author"));
+            records.add(record);
+        }
+        return records;
+    }
+
+    private void assertSameColumns(ScientificRecord actual, ScientificRecord expected) {
+        assertThat(actual.getId()).isEqualTo(expected.getId());
+        assertThat(actual.getTitle()).isEqualTo(expected.getTitle());
+        assertThat(actual.getAuthors()).isEqualTo(expected.getAuthors());
+        assertThat(actual.getFirstAuthor()).isEqualTo(expected.getFirstAuthor());
+        assertThat(actual.getAbstractText()).isEqualTo(expected.getAbstractText());
+        assertThat(actual.getKeywords()).isEqualTo(expected.getKeywords() != null ? expected.getKeywords() : List.of());
+        assertThat(actual.getJournal()).isEqualTo(expected.getJournal());
+        assertThat(actual.getConference()).isEqualTo(expected.getConference());
+        assertThat(actual.getYear()).isEqualTo(expected.getYear());
+        assertThat(actual.getPublicationDate()).isEqualTo(expected.getPublicationDate());
+        assertThat(actual.getCitationCount()).isEqualTo(expected.getCitationCount());
+        assertThat(actual.getDoi()).isEqualTo(expected.getDoi());
+        assertThat(actual.getUrl()).isEqualTo(expected.getUrl());
+        assertThat(actual.getDocumentType()).isEqualTo(expected.getDocumentType());
+        assertThat(actual.getSource()).isEqualTo(expected.getSource());
+        assertThat(actual.getCountry()).isEqualTo(expected.getCountry());
+        assertThat(actual.getLanguage()).isEqualTo(expected.getLanguage());
+        assertThat(actual.getPublisher()).isEqualTo(expected.getPublisher());
+    }
+}
@@ -0,0 +1,115 @@
+package co.edu.uniquindio.proyectoAlgoritmos.storage;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownloadCheckpointStoreTest {
+
+    private static final String SHARD = "https://api.example.org/works?q=ai";
+
+    @TempDir
+    Path tempDir;
+
+    private DownloadCheckpointStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = openStore();
+    }
+
+    @Test
+    void resumeAfterTornPageKeepsConfirmedPages() throws Exception {
+        DownloadCheckpointStore.Checkpoint checkpoint = store.open("OpenAlex", SHARD);
+        checkpoint.appendPage(page(0, 3), "cursor-1");
+        checkpoint.appendPage(page(3, 3), "cursor-2");
+        // Página escrita a medias: llegó al spool pero no al .ckpt
+        Files.writeString(spoolFile(), "{\"id\":\"torn\",\"title\":\"Half", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        DownloadCheckpointStore.Checkpoint resumed = openStore().open("OpenAlex", SHARD);
+
+        assertThat(resumed.isResumed()).isTrue();
+        assertThat(resumed.getPosition()).isEqualTo("cursor-2");
+        assertThat(resumed.getRecordsWritten()).isEqualTo(6);
+        assertThat(ids(resumed.readSpooled())).containsExactly("r0", "r1", "r2", "r3", "r4", "r5");
+
+        resumed.appendPage(page(6, 2), "cursor-3");
+
+        DownloadCheckpointStore.Checkpoint reloaded = openStore().open("OpenAlex", SHARD);
+        assertThat(reloaded.getPosition()).isEqualTo("cursor-3");
+        assertThat(ids(reloaded.readSpooled())).containsExactly("r0", "r1", "r2", "r3", "r4", "r5", "r6", "r7");
+    }
+
+    @Test
+    void spoolShorterThanCheckpointIsDiscarded() throws Exception {
+        DownloadCheckpointStore.Checkpoint checkpoint = store.open("OpenAlex", SHARD);
+        checkpoint.appendPage(page(0, 3), "cursor-1");
+        long size = Files.size(spoolFile());
+        try (var channel = Files.newByteChannel(spoolFile(), StandardOpenOption.WRITE)) {
+            channel.truncate(size - 10);
+        }
+
+        DownloadCheckpointStore.Checkpoint restarted = openStore().open("OpenAlex", SHARD);
+
+        assertThat(restarted.isResumed()).isFalse();
+        assertThat(restarted.getPosition()).isNull();
+        assertThat(restarted.readSpooled()).isEmpty();
+        assertThat(listFiles()).isEmpty();
+    }
+
+    @Test
+    void completedShardIsReusedAndDeleteClearsIt() throws Exception {
+        DownloadCheckpointStore.Checkpoint checkpoint = store.open("OpenAlex", SHARD);
+        checkpoint.appendPage(page(0, 2), null);
+        checkpoint.markComplete();
+
+        DownloadCheckpointStore.Checkpoint resumed = openStore().open("OpenAlex", SHARD);
+        assertThat(resumed.isComplete()).isTrue();
+        assertThat(ids(resumed.readSpooled())).containsExactly("r0", "r1");
+        assertThat(openStore().open("OpenAlex", SHARD + "&page=2").isResumed()).isFalse();
+
+        resumed.delete();
+        assertThat(listFiles()).isEmpty();
+    }
+
+    private DownloadCheckpointStore openStore() {
+        DownloadCheckpointStore opened = new DownloadCheckpointStore();
+        ReflectionTestUtils.setField(opened, "enabled", true);
+        ReflectionTestUtils.setField(opened, "checkpointPath", tempDir.toString());
+        opened.open();
+        return opened;
+    }
+
+    private Path spoolFile() throws IOException {
+        return listFiles().stream().filter(file -> file.toString().endsWith(".jsonl")).findFirst().orElseThrow();
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.toList();
+        }
+    }
+
+    private static List<ScientificRecord> page(int from, int size) {
+        return IntStream.range(from, from + size)
+                .mapToObj(i -> ScientificRecord.builder().id("r" + i).title("Paper " + i).doi("10.1/" + i).build())
+                .toList();
+    }
+
+    private static List<String> ids(List<ScientificRecord> records) {
+        return records.stream().map(ScientificRecord::getId).toList();
+    }
+}
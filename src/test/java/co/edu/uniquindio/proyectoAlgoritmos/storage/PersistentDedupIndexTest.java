@@ -0,0 +1,126 @@
+package co.edu.uniquindio.proyectoAlgoritmos.storage;
+
+import co.edu.uniquindio.proyectoAlgoritmos.dto.IncrementalIndexResultDto;
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.util.StringSimilarityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentDedupIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path indexFile;
+    private PersistentDedupIndex index;
+
+    @BeforeEach
+    void setUp() {
+        indexFile = tempDir.resolve("dedup_index.bin");
+        index = openIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void titleMatchMergesClusterOfSameDoi() {
+        ScientificRecord first = record(null, "Deep Learning Survey");
+        ScientificRecord second = record("10.1/x", "Transformers Explained");
+        IncrementalIndexResultDto created = index.merge(List.of(first, second));
+
+        IncrementalIndexResultDto merged = index.merge(List.of(record("10.1/x", "Deep learning: survey")));
+
+        assertThat(created.getClustersCreated()).isEqualTo(2);
+        assertThat(created.getTotalClusters()).isEqualTo(2);
+        assertThat(merged.getClustersMerged()).isEqualTo(1);
+        assertThat(merged.getKnownRecords()).isEqualTo(1);
+        assertThat(merged.getTotalClusters()).isEqualTo(1);
+        assertThat(index.knownCluster(first)).isEqualTo(clusterOf(second));
+    }
+
+    @Test
+    void compactedReloadKeepsClustersAndIds() throws Exception {
+        ScientificRecord first = record(null, "Deep Learning Survey");
+        ScientificRecord second = record("10.1/x", "Transformers Explained");
+        index.merge(List.of(first, second));
+        ScientificRecord keyless = record(null, "");
+        index.merge(List.of(record("10.1/x", "Deep Learning Survey"), keyless));
+        long sizeBefore = Files.size(indexFile);
+
+        index.compactAsync().join();
+        index.close();
+        index = openIndex();
+
+        assertThat(Files.size(indexFile)).isLessThan(sizeBefore);
+        assertThat(index.knownCluster(record(null, "deep learning survey"))).isEqualTo(clusterOf(second));
+        assertThat(index.knownCluster(record("10.1/X", null))).isEqualTo(clusterOf(second));
+
+        ScientificRecord fresh = record("10.1/y", "Graph Networks");
+        IncrementalIndexResultDto result = index.merge(List.of(fresh));
+
+        assertThat(clusterOf(fresh)).isGreaterThan(Math.max(clusterOf(keyless), clusterOf(first)));
+        assertThat(result.getNewRecords()).isEqualTo(1);
+        assertThat(result.getTotalClusters()).isEqualTo(2);
+    }
+
+    @Test
+    void reloadWithoutCompactionDoesNotReuseKeylessIds() {
+        ScientificRecord keyless = record(null, null);
+        index.merge(List.of(record("10.1/x", "Transformers Explained"), keyless));
+
+        index.close();
+        index = openIndex();
+        ScientificRecord fresh = record("10.1/y", "Graph Networks");
+        IncrementalIndexResultDto result = index.merge(List.of(fresh));
+
+        assertThat(clusterOf(fresh)).isGreaterThan(clusterOf(keyless));
+        assertThat(result.getTotalClusters()).isEqualTo(2);
+    }
+
+    @Test
+    void tornTailIsDiscardedOnReload() throws Exception {
+        ScientificRecord known = record("10.1/x", "Transformers Explained");
+        index.merge(List.of(known));
+        index.close();
+        Files.write(indexFile, new byte[]{1, 0, 40, 'x'}, StandardOpenOption.APPEND);
+        long tornSize = Files.size(indexFile);
+
+        index = openIndex();
+
+        assertThat(Files.size(indexFile)).isEqualTo(tornSize - 4);
+        assertThat(index.knownCluster(record("10.1/x", null))).isEqualTo(clusterOf(known));
+        ScientificRecord fresh = record("10.1/y", "Graph Networks");
+        index.merge(List.of(fresh));
+        assertThat(clusterOf(fresh)).isGreaterThan(clusterOf(known));
+    }
+
+    private PersistentDedupIndex openIndex() {
+        PersistentDedupIndex opened = new PersistentDedupIndex(new StringSimilarityUtils());
+        ReflectionTestUtils.setField(opened, "enabled", true);
+        ReflectionTestUtils.setField(opened, "indexPath", indexFile.toString());
+        ReflectionTestUtils.setField(opened, "compactionMergeEntries", 1_000);
+        opened.open();
+        return opened;
+    }
+
+    private static ScientificRecord record(String doi, String title) {
+        return ScientificRecord.builder().doi(doi).title(title).build();
+    }
+
+    private static long clusterOf(ScientificRecord record) {
+        return Long.parseLong(record.getAdditionalFields().get(PersistentDedupIndex.CLUSTER_FIELD));
+    }
+}
@@ -0,0 +1,107 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import co.edu.uniquindio.proyectoAlgoritmos.service.DuplicateDetectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateScreenTest {
+
+    private final DuplicateDetectionService detectionService = new DuplicateDetectionService(new StringSimilarityUtils());
+    private List<ScientificRecord> records;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(13);
+        records = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int paper = random.nextInt(6_000);
+            records.add(ScientificRecord.builder()
+                    .id("r" + i)
+                    .title(random.nextInt(20) == 0 ? null : (random.nextBoolean() ? "Paper " : "PAPER: ") + paper)
+                    .firstAuthor(random.nextInt(10) == 0 ? null : "Author " + paper % 50)
+                    .doi(random.nextInt(3) == 0 ? null : " 10.1000/P" + paper)
+                    .build());
+        }
+    }
+
+    @Test
+    void groupedRecordsAreAlwaysCandidates() {
+        DuplicateScreen screen = screen(records);
+
+        Map<String, List<ScientificRecord>> groups = detectionService.detectDuplicates(records);
+
+        assertThat(groups).isNotEmpty();
+        groups.values().forEach(group -> assertThat(group).allMatch(screen::isCandidate));
+    }
+
+    @Test
+    void screenedDetectionMatchesExactDetection() {
+        assertSameOutcome(records);
+    }
+
+    @Test
+    void uniqueHashCollisionWithDoiRecordKeepsCandidates() {
+        // Mismo hash único ("abc") con títulos distintos: el registro sin DOI queda fuera del paso por título
+        ScientificRecord withDoi = ScientificRecord.builder().id("d").title("Ab").firstAuthor("C").doi("10.1/d").build();
+        ScientificRecord sameHash = ScientificRecord.builder().id("h").title("A").firstAuthor("BC").build();
+        ScientificRecord sameTitle = ScientificRecord.builder().id("t").title("a").firstAuthor("X").build();
+        List<ScientificRecord> input = List.of(withDoi, sameHash, sameTitle);
+
+        DuplicateScreen screen = screen(input);
+
+        assertThat(screen.isCandidate(withDoi)).isTrue();
+        assertThat(detectionService.detectDuplicates(input)).isEmpty();
+        assertSameOutcome(input);
+    }
+
+    @Test
+    void offerReportsRepeatedKeys() {
+        DuplicateScreen screen = new DuplicateScreen(10, 0.01);
+        ScientificRecord first = ScientificRecord.builder().title("Graph Networks").firstAuthor("Ana").doi("10.1/a").build();
+        ScientificRecord other = ScientificRecord.builder().title("Deep Learning").firstAuthor("Ana").doi("10.1/b").build();
+        ScientificRecord sameDoi = ScientificRecord.builder().title("Other").firstAuthor("Luis").doi("10.1/A ").build();
+
+        assertThat(screen.offer(first)).isFalse();
+        assertThat(screen.offer(other)).isFalse();
+        assertThat(screen.offer(sameDoi)).isTrue();
+        assertThat(screen.isCandidate(first)).isTrue();
+        assertThat(screen.isCandidate(other)).isFalse();
+    }
+
+    private void assertSameOutcome(List<ScientificRecord> input) {
+        DuplicateScreen screen = screen(input);
+        List<ScientificRecord> candidates = input.stream().filter(screen::isCandidate).toList();
+        List<ScientificRecord> definitelyUnique = input.stream().filter(record -> !screen.isCandidate(record)).toList();
+
+        Map<String, List<ScientificRecord>> exactGroups = detectionService.detectDuplicates(input);
+        Map<String, List<ScientificRecord>> screenedGroups = detectionService.detectDuplicates(candidates);
+        List<ScientificRecord> screenedUnique = new ArrayList<>(detectionService.getUniqueRecords(candidates, screenedGroups));
+        screenedUnique.addAll(definitelyUnique);
+
+        assertThat(groupIds(screenedGroups)).isEqualTo(groupIds(exactGroups));
+        assertThat(ids(screenedUnique)).isEqualTo(ids(detectionService.getUniqueRecords(input, exactGroups)));
+    }
+
+    private static DuplicateScreen screen(List<ScientificRecord> input) {
+        DuplicateScreen screen = new DuplicateScreen(input.size(), 0.01);
+        input.forEach(screen::offer);
+        return screen;
+    }
+
+    private static Set<List<String>> groupIds(Map<String, List<ScientificRecord>> groups) {
+        Set<List<String>> ids = new HashSet<>();
+        groups.values().forEach(group -> ids.add(group.stream().map(ScientificRecord::getId).toList()));
+        return ids;
+    }
+
+    private static Set<String> ids(List<ScientificRecord> input) {
+        Set<String> ids = new HashSet<>();
+        input.forEach(record -> ids.add(record.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,86 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalDuplicateIndexTest {
+
+    private final StringSimilarityUtils similarityUtils = new StringSimilarityUtils();
+    private List<List<ScientificRecord>> sources;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(3);
+        sources = new ArrayList<>();
+        for (int source = 0; source < 3; source++) {
+            List<ScientificRecord> records = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                int paper = random.nextInt(3_000);
+                boolean withDoi = random.nextInt(3) > 0;
+                records.add(ScientificRecord.builder()
+                        .id(source + "-" + i)
+                        .title((random.nextBoolean() ? "On Topic " : "on topic, ") + paper)
+                        .firstAuthor("Author " + paper % 97)
+                        .doi(withDoi ? "10.1000/" + (random.nextInt(10) == 0 ? "X" : "x") + paper : null)
+                        .build());
+            }
+            sources.add(records);
+        }
+    }
+
+    @Test
+    void screenKeepsSameGroups() {
+        IncrementalDuplicateIndex plain = new IncrementalDuplicateIndex(similarityUtils);
+        DuplicateScreen screen = new DuplicateScreen(1_000, 0.01);
+        IncrementalDuplicateIndex screened = new IncrementalDuplicateIndex(similarityUtils, record -> null, screen);
+        feed(plain);
+        feed(screened);
+
+        Map<String, List<ScientificRecord>> expected = plain.getDuplicateGroups();
+
+        assertThat(screened.getDuplicateGroups()).isEqualTo(expected);
+        assertThat(screened.getRecords()).isEqualTo(plain.getRecords());
+        assertThat(screened.getScreenedOut()).isPositive();
+        int grouped = expected.values().stream().mapToInt(List::size).sum();
+        assertThat(screened.getScreenedOut()).isLessThanOrEqualTo(plain.size() - grouped);
+    }
+
+    @Test
+    void knownClustersBypassScreen() {
+        DuplicateScreen screen = new DuplicateScreen(1_000, 0.01);
+        IncrementalDuplicateIndex index = new IncrementalDuplicateIndex(similarityUtils,
+                record -> inKnownCluster(record) ? 7L : null, screen);
+        feed(index);
+
+        Map<String, List<ScientificRecord>> groups = index.getDuplicateGroups();
+
+        long known = sources.stream().flatMap(List::stream).filter(IncrementalDuplicateIndexTest::inKnownCluster).count();
+        assertThat(screen.getStats().getRecordsOffered()).isEqualTo(index.size() - known);
+        assertThat(groups).hasEntrySatisfying(lastClusterGroup(groups), group -> assertThat(group).hasSize((int) known));
+    }
+
+    private void feed(IncrementalDuplicateIndex index) {
+        // Páginas intercaladas entre fuentes, como llegan en streaming
+        for (int start = 0; start < 2_000; start += 250) {
+            for (int source = 0; source < sources.size(); source++) {
+                index.add(source, sources.get(source).subList(start, start + 250));
+            }
+        }
+    }
+
+    private static boolean inKnownCluster(ScientificRecord record) {
+        return record.getDoi() != null && record.getDoi().endsWith("7");
+    }
+
+    private static String lastClusterGroup(Map<String, List<ScientificRecord>> groups) {
+        return groups.keySet().stream().filter(key -> key.startsWith("cluster_group_")).reduce((a, b) -> b).orElseThrow();
+    }
+}
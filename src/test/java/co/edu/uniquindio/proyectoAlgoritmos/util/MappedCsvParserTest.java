@@ -0,0 +1,186 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedCsvParserTest {
+
+    private static final String[] SCHEMA = {"ID", "Title", "Abstract", "Year"};
+    private static final int CHUNK_SIZE = 1 << 16; // mínimo del parser
+
+    @TempDir
+    Path tempDir;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void orderedMatchesCommonsCsvWithQuotedNewlinesAcrossChunks() throws IOException {
+        Path file = writeCsv("\n", 20_000);
+
+        List<List<String>> mapped = readMapped(file, true);
+
+        assertThat(Files.size(file)).isGreaterThan(10L * CHUNK_SIZE);
+        assertThat(mapped).hasSize(20_000).isEqualTo(readCommonsCsv(file));
+    }
+
+    @Test
+    void crlfInputMatchesCommonsCsv() throws IOException {
+        Path file = writeCsv("\r\n", 20_000);
+
+        List<List<String>> mapped = readMapped(file, true);
+
+        assertThat(mapped).isEqualTo(readCommonsCsv(file));
+        assertThat(mapped).allSatisfy(row -> assertThat(String.join("", row)).doesNotEndWith("\r"));
+    }
+
+    @Test
+    void unorderedReturnsSameRecords() throws IOException {
+        Path file = writeCsv("\n", 20_000);
+
+        List<List<String>> mapped = readMapped(file, false);
+
+        assertThat(mapped).containsExactlyInAnyOrderElementsOf(readCommonsCsv(file));
+    }
+
+    @Test
+    void fieldLongerThanChunkIsKeptInOneRecord() throws IOException {
+        String longAbstract = "x,\"y\"\n".repeat(CHUNK_SIZE / 2);
+        StringBuilder csv = new StringBuilder("ID,Title,Abstract,Year\n");
+        csv.append("a,first,short,2020\n");
+        csv.append("b,long,\"").append(longAbstract.replace("\"", "\"\"")).append("\",2021\n");
+        csv.append("c,last,short,2022\n");
+        Path file = tempDir.resolve("long.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+        List<List<String>> mapped = readMapped(file, true);
+
+        assertThat(mapped).hasSize(3);
+        assertThat(mapped.get(1)).containsExactly("b", "long", longAbstract, "2021");
+        assertThat(mapped.get(2)).containsExactly("c", "last", "short", "2022");
+    }
+
+    @Test
+    void resolvesColumnsByHeaderAndFillsMissingOnes() throws IOException {
+        Path file = tempDir.resolve("reordered.csv");
+        Files.writeString(file, "Year,Extra,ID\n2019,z,id1\n\n2020,z,id2\n", StandardCharsets.UTF_8);
+
+        List<List<String>> mapped = readMapped(file, true);
+
+        assertThat(mapped).containsExactly(List.of("id1", "", "", "2019"), List.of("id2", "", "", "2020"));
+    }
+
+    @Test
+    void csvUtilsReadModesReturnSameRecords() throws IOException {
+        CsvUtils csvUtils = new CsvUtils();
+        ReflectionTestUtils.setField(csvUtils, "mappedReadMinSizeMb", 0L);
+        ReflectionTestUtils.setField(csvUtils, "mappedReadChunkSizeMb", 0);
+        ReflectionTestUtils.setField(csvUtils, "mappedReadThreads", 4);
+        csvUtils.init();
+        try {
+            List<ScientificRecord> records = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                records.add(ScientificRecord.builder()
+                        .id("id" + i)
+                        .title("Title \"" + i + "\",\nsecond line")
+                        .authors(List.of("Author " + i, "Other, A."))
+                        .abstractText(i % 7 == 0 ? "" : "Abstract " + i + "\r\nwith CRLF")
+                        .year(2000 + i % 25)
+                        .source("OPENALEX")
+                        .build());
+            }
+            Path file = tempDir.resolve("records.csv");
+            csvUtils.writeRecordsToCsv(records, file.toString());
+
+            List<ScientificRecord> streaming = csvUtils.readRecordsFromCsv(file.toString(), CsvUtils.ReadMode.STREAMING);
+            List<ScientificRecord> ordered = csvUtils.readRecordsFromCsv(file.toString(), CsvUtils.ReadMode.MAPPED_ORDERED);
+            List<ScientificRecord> unordered = csvUtils.readRecordsFromCsv(file.toString(), CsvUtils.ReadMode.MAPPED_UNORDERED);
+
+            assertThat(ordered).extracting(this::describe).isEqualTo(streaming.stream().map(this::describe).toList());
+            assertThat(unordered).extracting(this::describe)
+                    .containsExactlyInAnyOrderElementsOf(streaming.stream().map(this::describe).toList());
+        } finally {
+            csvUtils.shutdown();
+        }
+    }
+
+    private String describe(ScientificRecord record) {
+        return String.join("|", record.getId(), record.getTitle(), String.valueOf(record.getAuthors()),
+                String.valueOf(record.getAbstractText()), String.valueOf(record.getYear()), record.getSource());
+    }
+
+    /**
+     * Registros con comillas escapadas y saltos de línea dentro de comillas de largo variable,
+     * para que varios límites de bloque caigan dentro de un campo entrecomillado
+     */
+    private Path writeCsv(String lineEnding, int rows) throws IOException {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder("ID,Title,Abstract,Year").append(lineEnding);
+        for (int i = 0; i < rows; i++) {
+            String abstractText = ("line " + i + " with \"\"quotes\"\", commas" + lineEnding).repeat(random.nextInt(8));
+            csv.append("id").append(i).append(',')
+                    .append("\"Title ").append(i).append(" – ñ\"").append(',')
+                    .append('"').append(abstractText).append('"').append(',')
+                    .append(1990 + i % 35).append(lineEnding);
+        }
+        Path file = tempDir.resolve("data.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private List<List<String>> readMapped(Path file, boolean ordered) throws IOException {
+        MappedCsvParser parser = MappedCsvParser.open(file, SCHEMA, CHUNK_SIZE);
+        try (Stream<List<String>> rows = parser.stream(executor, 4, ordered, row -> {
+            List<String> values = new ArrayList<>(SCHEMA.length);
+            for (int column = 0; column < SCHEMA.length; column++) {
+                values.add(row.get(column));
+            }
+            return values;
+        })) {
+            return rows.toList();
+        }
+    }
+
+    private List<List<String>> readCommonsCsv(Path file) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(reader)) {
+            for (CSVRecord record : parser) {
+                List<String> values = new ArrayList<>(SCHEMA.length);
+                for (String column : SCHEMA) {
+                    values.add(record.isMapped(column) ? record.get(column) : "");
+                }
+                rows.add(values);
+            }
+        }
+        return rows;
+    }
+}
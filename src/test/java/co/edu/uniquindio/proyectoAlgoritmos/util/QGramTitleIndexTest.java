@@ -0,0 +1,94 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QGramTitleIndexTest {
+
+    private static final String[] WORDS = {"deep", "learning", "neural", "graph", "networks", "survey", "model",
+            "generative", "ai", "ethics", "data", "vision", "language", "transformers", "review", "2023"};
+
+    private final StringSimilarityUtils similarityUtils = new StringSimilarityUtils();
+    private List<String> titles;
+    private QGramTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(5);
+        titles = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int w = 1 + random.nextInt(6); w > 0; w--) {
+                if (title.length() > 0) title.append(' ');
+                title.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            titles.add(random.nextInt(4) == 0 ? typo(title.toString(), random) : title.toString());
+        }
+        titles.add("Graph Networks");
+        List<ScientificRecord> records = titles.stream()
+                .map(title -> ScientificRecord.builder().title(title).build())
+                .toList();
+        index = new QGramTitleIndex(records, similarityUtils);
+    }
+
+    @Test
+    void oneTypoShortTitleIsCandidate() {
+        int target = titles.size() - 1;
+
+        for (String query : List.of("graph netwrks", "graph networks", "graph networkz", "grap networks")) {
+            double levenshtein = similarityUtils.calculateLevenshteinSimilarity(query, index.getNormalizedTitle(target));
+            assertThat(levenshtein).isGreaterThanOrEqualTo(0.85);
+
+            assertThat(index.candidates(query, 0.85)).extracting(Map.Entry::getKey).contains(target);
+        }
+    }
+
+    @Test
+    void candidatesCoverLevenshteinAndTrigramMatches() {
+        Random random = new Random(9);
+        for (int query = 0; query < 100; query++) {
+            String normalizedQuery = similarityUtils.normalizeTitle(typo(titles.get(random.nextInt(titles.size())), random));
+            double threshold = 0.7 + random.nextInt(4) * 0.1;
+
+            Set<Integer> candidates = new HashSet<>();
+            index.candidates(normalizedQuery, threshold).forEach(entry -> candidates.add(entry.getKey()));
+
+            for (int doc = 0; doc < index.size(); doc++) {
+                String title = index.getNormalizedTitle(doc);
+                boolean matches = similarityUtils.calculateLevenshteinSimilarity(normalizedQuery, title) >= threshold
+                        || trigramJaccard(normalizedQuery, title) >= threshold;
+                if (matches) {
+                    assertThat(candidates).as("'%s' ~ '%s' (umbral %.1f)", normalizedQuery, title, threshold)
+                            .contains(doc);
+                }
+            }
+        }
+    }
+
+    private static double trigramJaccard(String a, String b) {
+        Set<Integer> gramsA = new HashSet<>();
+        for (int gram : QGramTitleIndex.grams(a)) gramsA.add(gram);
+        Set<Integer> union = new HashSet<>(gramsA);
+        int common = 0;
+        for (int gram : QGramTitleIndex.grams(b)) {
+            if (gramsA.contains(gram)) common++;
+            union.add(gram);
+        }
+        return union.isEmpty() ? 0 : (double) common / union.size();
+    }
+
+    private static String typo(String title, Random random) {
+        int position = random.nextInt(title.length());
+        char replacement = (char) ('a' + random.nextInt(26));
+        return switch (random.nextInt(3)) {
+            case 0 -> title.substring(0, position) + title.substring(position + 1);
+            case 1 -> title.substring(0, position) + replacement + title.substring(position);
+            default -> title.substring(0, position) + replacement + title.substring(position + 1);
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package co.edu.uniquindio.proyectoAlgoritmos.util;
+
+import co.edu.uniquindio.proyectoAlgoritmos.model.ScientificRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordQueryIndexTest {
+
+    private static final String[] VENUES = {"Nature", "ACM Computing Surveys", "NeurIPS", null};
+    private static final String[] SOURCES = {"OPENALEX", "DBLP", "SCIENCEDIRECT"};
+    private static final String[] TYPES = {"article", "inproceedings", "review"};
+
+    private List<ScientificRecord> records;
+    private RecordQueryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        records = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            String venue = VENUES[random.nextInt(VENUES.length)];
+            boolean conference = "NeurIPS".equals(venue);
+            ScientificRecord record = ScientificRecord.builder()
+                    .id("id" + i)
+                    .journal(conference ? null : venue)
+                    .conference(conference ? venue : null)
+                    .source(SOURCES[random.nextInt(SOURCES.length)])
+                    .documentType(TYPES[random.nextInt(TYPES.length)])
+                    .year(random.nextInt(10) == 0 ? 0 : 1990 + random.nextInt(35))
+                    .build();
+            List<String> authors = new ArrayList<>();
+            for (int a = random.nextInt(4); a > 0; a--) {
+                authors.add("Author " + random.nextInt(300));
+            }
+            if (i % 11 == 0) authors.add("Shared Author");
+            record.setAuthors(authors);
+            records.add(record);
+        }
+        index = new RecordQueryIndex(records);
+    }
+
+    @Test
+    void filterMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int query = 0; query < 500; query++) {
+            Integer fromYear = random.nextBoolean() ? 1990 + random.nextInt(35) : null;
+            Integer toYear = random.nextBoolean() ? 1990 + random.nextInt(35) : null;
+            String venue = random.nextInt(3) == 0 ? VENUES[random.nextInt(VENUES.length - 1)] : null;
+            String source = random.nextInt(3) == 0 ? SOURCES[random.nextInt(SOURCES.length)] : null;
+            String type = random.nextInt(3) == 0 ? TYPES[random.nextInt(TYPES.length)] : null;
+            String author = random.nextInt(3) == 0 ? "Author " + random.nextInt(300) : null;
+
+            BitSet matches = index.filter(fromYear, toYear, venue, source, type, author);
+
+            assertThat(matches).isEqualTo(bruteForce(fromYear, toYear, venue, source, type, author));
+        }
+    }
+
+    @Test
+    void filterIgnoresCaseAndBlankFilters() {
+        BitSet expected = bruteForce(null, null, null, "DBLP", null, "Shared Author");
+
+        assertThat(index.filter(null, null, " ", "dblp", "", "  shared AUTHOR ")).isEqualTo(expected);
+        assertThat(expected.cardinality()).isPositive();
+    }
+
+    @Test
+    void unknownValueMatchesNothing() {
+        assertThat(index.filter(null, null, "Unknown Journal", null, null, null).isEmpty()).isTrue();
+        assertThat(index.filter(null, null, null, "OPENALEX", null, "Nobody").isEmpty()).isTrue();
+        assertThat(index.filter(2030, 2010, null, null, null, null).isEmpty()).isTrue();
+    }
+
+    @Test
+    void noFiltersMatchesEveryRecord() {
+        assertThat(index.filter(null, null, null, null, null, null).cardinality()).isEqualTo(records.size());
+    }
+
+    @Test
+    void intersectGallopsOverLongerList() {
+        int[] shorter = {3, 40, 41, 999, 5000};
+        int[] longer = new int[1000];
+        for (int i = 0; i < longer.length; i++) longer[i] = i;
+        int[] out = new int[shorter.length];
+
+        int found = RecordQueryIndex.intersect(shorter, shorter.length, longer, out);
+
+        assertThat(Arrays.copyOf(out, found)).containsExactly(3, 40, 41, 999);
+    }
+
+    @Test
+    void pageFollowsRequestedOrderAndOffset() {
+        BitSet matches = index.filter(2000, 2010, null, "OPENALEX", null, null);
+        List<Integer> corpus = matches.stream().boxed().toList();
+        List<Integer> ascending = new ArrayList<>(corpus);
+        ascending.sort(Comparator.comparingInt(doc -> records.get(doc).getYear()));
+        List<Integer> descending = new ArrayList<>(ascending);
+        Collections.reverse(descending);
+
+        assertThat(index.page(matches, RecordQueryIndex.Sort.CORPUS, 5, 20)).containsExactly(toArray(corpus.subList(5, 25)));
+        assertThat(yearsOf(index.page(matches, RecordQueryIndex.Sort.YEAR_ASC, 10, 30)))
+                .isEqualTo(yearsOf(ascending.subList(10, 40)));
+        assertThat(yearsOf(index.page(matches, RecordQueryIndex.Sort.YEAR_DESC, 0, 15)))
+                .isEqualTo(yearsOf(descending.subList(0, 15)));
+        assertThat(index.page(matches, RecordQueryIndex.Sort.CORPUS, corpus.size() - 3, 10)).hasSize(3);
+        assertThat(index.page(matches, RecordQueryIndex.Sort.CORPUS, corpus.size(), 10)).isEmpty();
+    }
+
+    @Test
+    void facetsCountResultDocuments() {
+        BitSet matches = index.filter(1995, null, null, null, "article", null);
+        Map<Integer, Integer> years = new TreeMap<>();
+        Map<String, Integer> sources = new HashMap<>();
+        Map<String, Integer> venues = new HashMap<>();
+        matches.stream().forEach(doc -> {
+            ScientificRecord record = records.get(doc);
+            years.merge(record.getYear(), 1, Integer::sum);
+            sources.merge(record.getSource(), 1, Integer::sum);
+            String venue = RecordQueryIndex.venueOf(record);
+            if (venue != null) venues.merge(venue, 1, Integer::sum);
+        });
+
+        assertThat(index.yearFacets(matches)).isEqualTo(years);
+        assertThat(index.sourceFacets(matches, 10)).isEqualTo(sources);
+        assertThat(index.venueFacets(matches, 10)).isEqualTo(venues);
+
+        Map<String, Integer> topVenues = index.venueFacets(matches, 2);
+        assertThat(topVenues).hasSize(2);
+        List<Integer> counts = new ArrayList<>(topVenues.values());
+        assertThat(counts.get(0)).isGreaterThanOrEqualTo(counts.get(1));
+        assertThat(counts.get(1)).isGreaterThanOrEqualTo(Collections.min(venues.values()));
+    }
+
+    private BitSet bruteForce(Integer fromYear, Integer toYear, String venue, String source, String type, String author) {
+        BitSet expected = new BitSet();
+        for (int doc = 0; doc < records.size(); doc++) {
+            ScientificRecord record = records.get(doc);
+            if (fromYear != null && record.getYear() < fromYear) continue;
+            if (toYear != null && record.getYear() > toYear) continue;
+            if (!matches(venue, RecordQueryIndex.venueOf(record))) continue;
+            if (!matches(source, record.getSource())) continue;
+            if (!matches(type, record.getDocumentType())) continue;
+            if (author != null && !author.isBlank()
+                    && record.getAuthors().stream().noneMatch(name -> matches(author, name))) continue;
+            expected.set(doc);
+        }
+        return expected;
+    }
+
+    private static boolean matches(String filter, String value) {
+        if (filter == null || filter.isBlank()) return true;
+        return value != null && value.trim().equalsIgnoreCase(filter.trim());
+    }
+
+    private List<Integer> yearsOf(int[] docs) {
+        return Arrays.stream(docs).map(doc -> records.get(doc).getYear()).boxed().toList();
+    }
+
+    private List<Integer> yearsOf(List<Integer> docs) {
+        return docs.stream().map(doc -> records.get(doc).getYear()).toList();
+    }
+
+    private static int[] toArray(List<Integer> docs) {
+        return docs.stream().mapToInt(Integer::intValue).toArray();
+    }
+}